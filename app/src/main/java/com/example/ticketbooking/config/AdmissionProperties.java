@@ -0,0 +1,36 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.admission")
+public class AdmissionProperties {
+    /**
+     * Require an admitted queue token to create a booking or hold, and refuse batch bookings.
+     * Meant for on-sales; the onsale profile turns it on.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Queue tickets admitted per event and second once the event's queue is busy.
+     */
+    private int admissionsPerSecond = 50;
+
+    /**
+     * Tickets an idle event's queue admits at once, so quiet events are not held back.
+     */
+    private int burst = 50;
+
+    /**
+     * Tickets that may wait in one event's queue; further joins are turned away.
+     */
+    private int maxQueueLength = 100_000;
+
+    /**
+     * How long a ticket survives without being looked at, whether still waiting or admitted.
+     */
+    private Duration ticketIdleTimeout = Duration.ofMinutes(5);
+}
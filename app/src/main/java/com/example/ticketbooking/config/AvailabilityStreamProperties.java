@@ -0,0 +1,31 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.availability-stream")
+public class AvailabilityStreamProperties {
+    /**
+     * Shortest gap between two availability updates for the same event; the seat changes in
+     * between are coalesced into one update.
+     */
+    private Duration interval = Duration.ofMillis(500);
+
+    /**
+     * Threads writing updates to subscribers, shared by all events.
+     */
+    private int senderThreads = 4;
+
+    /**
+     * A subscriber whose previous update is still being written after this long is disconnected.
+     */
+    private Duration slowClientTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long an availability stream connection stays open before the client has to reconnect.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,13 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "booking.batch")
+public class BatchProperties {
+    /**
+     * Largest number of bookings accepted in one batch request.
+     */
+    private int maxSize = 1000;
+}
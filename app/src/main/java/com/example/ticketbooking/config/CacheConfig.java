@@ -0,0 +1,18 @@
+package com.example.ticketbooking.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Read-through caches for event lookups. The cache manager itself comes from the
+ * {@code spring.cache.*} properties; {@code spring.cache.type=none} switches caching off.
+ */
+@Configuration
+// Ahead of the transaction interceptor, so a cache hit never opens a transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    public static final String EVENTS = "events";
+    public static final String EVENT_DETAILS = "eventDetails";
+    public static final String EVENT_PAGES = "eventPages";
+}
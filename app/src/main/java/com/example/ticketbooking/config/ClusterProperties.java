@@ -0,0 +1,53 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "booking.cluster")
+public class ClusterProperties {
+    /**
+     * Share events between several instances, each owning the seat inventory of its events.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Base URL the other instances reach this one at; defaults to http://localhost:{server port}.
+     */
+    private String advertisedUrl;
+
+    /**
+     * Base URLs of instances to join through. Members they know of are found from there.
+     */
+    private List<String> seeds = new ArrayList<>();
+
+    /**
+     * Points per instance on the hash ring; more spread events more evenly.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Pause between heartbeats to the other instances.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long an instance may miss heartbeats before its events move to the others.
+     */
+    private Duration failureTimeout = Duration.ofSeconds(5);
+
+    /**
+     * How long after an event moves here its seats are counted again, once its previous owner
+     * has committed the bookings it still had in flight.
+     */
+    private Duration handoverSettleTime = Duration.ofSeconds(5);
+
+    /**
+     * How long a forwarded request waits for the owning instance to start its response.
+     */
+    private Duration forwardTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,67 @@
+package com.example.ticketbooking.config;
+
+import com.example.ticketbooking.filter.CorrelationIdFilter;
+import com.example.ticketbooking.filter.EventOwnershipFilter;
+import com.example.ticketbooking.filter.IdempotencyFilter;
+import com.example.ticketbooking.filter.ReadYourWritesFilter;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.service.ClusterClient;
+import com.example.ticketbooking.service.ClusterMembership;
+import com.example.ticketbooking.service.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+/**
+ * Servlet filters of the blocking API, registered explicitly so their order is visible here.
+ */
+@Configuration
+@Profile("!reactive")
+public class FilterConfig {
+
+    // First, so that even other filters' log lines carry the id
+    @Bean
+    public FilterRegistrationBean<CorrelationIdFilter> correlationIdFilter() {
+        FilterRegistrationBean<CorrelationIdFilter> registration = new FilterRegistrationBean<>(new CorrelationIdFilter());
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Right after the correlation id, so a replay costs no more than a lookup
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store,
+                                                                       IdempotencyProperties properties) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(store, properties));
+        registration.addUrlPatterns("/api/bookings/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // After idempotency, so a retried request is answered where it arrives and a split batch is
+    // deduplicated as a whole; does nothing unless booking.cluster.enabled
+    @Bean
+    public FilterRegistrationBean<EventOwnershipFilter> eventOwnershipFilter(
+            ClusterMembership membership, ClusterClient client, BookingRepository bookingRepository,
+            BatchProperties batchProperties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<EventOwnershipFilter> registration = new FilterRegistrationBean<>(
+                new EventOwnershipFilter(membership, client, bookingRepository, batchProperties, objectMapper));
+        registration.addUrlPatterns("/api/bookings/*", "/api/events/*", "/api/queue/*", "/api/changes");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    // Innermost, around the requests served here; forwarded ones carry the header both ways.
+    // Does nothing unless booking.replicas.enabled
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.holds")
+public class HoldProperties {
+    /**
+     * How long held seats stay reserved before they are released unless confirmed.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Resolution of the expiry timer wheel; holds expire at most this much late.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Buckets per timer wheel level.
+     */
+    private int wheelSize = 64;
+
+    /**
+     * Timer wheel levels; the wheel covers tick * wheel-size ^ levels without re-placing holds.
+     */
+    private int wheelLevels = 4;
+
+    /**
+     * Maximum number of holds expired in one transaction.
+     */
+    private int expiryBatchSize = 500;
+}
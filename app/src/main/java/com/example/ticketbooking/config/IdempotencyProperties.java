@@ -0,0 +1,35 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.idempotency")
+public class IdempotencyProperties {
+    /**
+     * Honour the Idempotency-Key header on booking writes.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Responses kept in memory in front of the idempotency_key table.
+     */
+    private int cacheSize = 100_000;
+
+    /**
+     * How long a duplicate waits for the request it duplicates before being told to retry.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Pause between deletions of expired keys from the table.
+     */
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,38 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "booking.ledger")
+public class LedgerProperties {
+    /**
+     * Record every seat change in the append-only booking ledger. Off under the reactive
+     * profile, whose services do not append to it.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding the ledger's segment and snapshot files.
+     * Locked while open: every instance needs a directory of its own.
+     */
+    private Path directory = Path.of("data", "ledger");
+
+    /**
+     * Size of each memory-mapped segment file.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Records appended before the next snapshot is written; bounds how much a restart replays.
+     */
+    private int snapshotEvery = 100_000;
+
+    /**
+     * Force every record to disk before returning, rather than leaving write-back to the kernel.
+     */
+    private boolean forceOnAppend = false;
+}
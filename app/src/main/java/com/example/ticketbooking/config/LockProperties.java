@@ -0,0 +1,25 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.locks")
+public class LockProperties {
+    /**
+     * Number of lock stripes event ids are hashed onto.
+     */
+    private int stripes = 64;
+
+    /**
+     * Grant stripes to waiting threads in arrival order.
+     */
+    private boolean fair = false;
+
+    /**
+     * How long a request waits for its event's stripe before giving up.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
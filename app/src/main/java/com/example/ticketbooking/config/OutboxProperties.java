@@ -0,0 +1,45 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.outbox")
+public class OutboxProperties {
+    /**
+     * Write change messages to the outbox and relay them to the change sinks.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of messages published and deleted per relay transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between relay runs once the outbox is empty; a full batch is followed straight away.
+     */
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    /**
+     * Recent messages kept for change stream clients that reconnect with a Last-Event-ID.
+     */
+    private int streamReplaySize = 10_000;
+
+    /**
+     * How long a change stream connection stays open before the client has to reconnect.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Threads writing relayed changes to change stream clients.
+     */
+    private int streamSenderThreads = 2;
+
+    /**
+     * Change stream clients whose current write has taken longer than this are disconnected.
+     */
+    private Duration streamSlowClientTimeout = Duration.ofSeconds(10);
+}
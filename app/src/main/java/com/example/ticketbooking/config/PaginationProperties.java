@@ -0,0 +1,18 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "booking.pagination")
+public class PaginationProperties {
+    /**
+     * Page size used when a listing request does not ask for one.
+     */
+    private int defaultSize = 20;
+
+    /**
+     * Largest page size a listing request may ask for.
+     */
+    private int maxSize = 100;
+}
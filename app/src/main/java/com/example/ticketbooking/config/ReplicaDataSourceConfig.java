@@ -0,0 +1,67 @@
+package com.example.ticketbooking.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wiring for read replicas: the primary pool from spring.datasource, one pool per replica in
+ * {@code booking.replicas.urls}, and a {@link ReplicaRoutingDataSource} between them. JPA,
+ * Flyway and JDBC all use the lazy proxy in front of the router, so only read-only transactions
+ * ever reach a replica. The reactive variant keeps its own single datasource.
+ */
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "booking.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties dataSourceProperties,
+                                                             ReplicaProperties properties, MeterRegistry meterRegistry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            String name = "replica-" + i;
+            // Same pool settings as the primary, which is not started yet and so can still be copied
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName(name);
+            config.setJdbcUrl(properties.getUrls().get(i));
+            config.setUsername(properties.getUsername() != null
+                    ? properties.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(properties.getPassword() != null
+                    ? properties.getPassword() : dataSourceProperties.determinePassword());
+            if (config.getMetricsTrackerFactory() == null && config.getMetricRegistry() == null) {
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.getMaxLag().toMillis(),
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "booking.replicas")
+public class ReplicaProperties {
+    /**
+     * Send read-only transactions to the read replicas; everything else keeps using
+     * spring.datasource, the primary.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the read replicas. Their pools take over the settings of spring.datasource.hikari.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * User for the replicas; the primary's when not set.
+     */
+    private String username;
+
+    /**
+     * Password for the replicas; the primary's when not set.
+     */
+    private String password;
+
+    /**
+     * Replicas further behind the primary than this get no reads until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the primary's heartbeat is written and read back from every replica; a caller's
+     * reads go to the primary for about this long after each of their writes.
+     */
+    private Duration heartbeatInterval = Duration.ofMillis(200);
+
+    /**
+     * Local testing only: copy the primary onto the replicas this often, standing in for
+     * replication between in-memory databases. Off when not set.
+     */
+    private Duration simulatedReplicationInterval;
+}
@@ -0,0 +1,116 @@
+package com.example.ticketbooking.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state behind {@link ReplicaRoutingDataSource}: reads pinned to the primary, and the
+ * last write the caller has to be able to read back.
+ * <p>
+ * Writes are positioned by the wall-clock time their transaction committed at, in milliseconds.
+ * A thread's own commits are recorded as they happen; {@code ReadYourWritesFilter} resets the
+ * position for every request and takes over the one the client got from an earlier request, so
+ * across instances read-your-writes is as good as their clocks agree.
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> pinnedToPrimary = new ThreadLocal<>();
+    private static final ThreadLocal<Long> lastWrite = new ThreadLocal<>();
+    private static final ThreadLocal<LongConsumer> writeListener = new ThreadLocal<>();
+    // Bound as a transaction resource while the transaction reads from a replica
+    private static final Object REPLICA_TRANSACTION = new Object();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Runs {@code action} with reads on the primary, for loads that fill state kept in memory and
+     * checks that must see every committed write. Only takes effect if the surrounding
+     * transaction, if any, has not fetched its connection yet.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = pinnedToPrimary.get();
+        pinnedToPrimary.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                pinnedToPrimary.remove();
+            } else {
+                pinnedToPrimary.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return whether the current transaction reads from a replica, so what it read may be
+     * behind the primary and should not be kept
+     */
+    public static boolean isReplicaTransaction() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION);
+    }
+
+    /**
+     * Makes the current thread's reads wait for the write at {@code position} to reach a replica.
+     */
+    public static void readAfter(long position) {
+        Long current = lastWrite.get();
+        if (current == null || current < position) {
+            lastWrite.set(position);
+        }
+    }
+
+    /**
+     * Calls {@code listener} with the position of every write the current thread commits from
+     * now on, until {@link #clear}.
+     */
+    public static void onWrite(LongConsumer listener) {
+        writeListener.set(listener);
+    }
+
+    /**
+     * Forgets the current thread's writes and listener, so the next caller on this thread starts
+     * afresh.
+     */
+    public static void clear() {
+        pinnedToPrimary.remove();
+        lastWrite.remove();
+        writeListener.remove();
+    }
+
+    static boolean isPinnedToPrimary() {
+        return pinnedToPrimary.get() != null;
+    }
+
+    /**
+     * @return the position of the last write the current thread has to read back, or 0
+     */
+    static long lastWrite() {
+        Long position = lastWrite.get();
+        return position != null ? position : 0;
+    }
+
+    static void written(long position) {
+        readAfter(position);
+        LongConsumer listener = writeListener.get();
+        if (listener != null) {
+            listener.accept(position);
+        }
+    }
+
+    static void replicaTransactionStarted() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_TRANSACTION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_TRANSACTION, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_TRANSACTION);
+            }
+        });
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ticketbooking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary.
+ * <p>
+ * The choice is made when a transaction fetches its connection, which the
+ * {@link LazyConnectionDataSourceProxy} in front of this defers to the first statement, once the
+ * transaction's read-only flag is known. Replicas are taken in turn, skipping those whose last
+ * heartbeat seen by {@code ReplicaLagMonitor} is older than the maximum lag or older than the
+ * caller's last write (see {@link ReplicaRouting}); if none is left, the read goes to the
+ * primary. Every write transaction that commits moves the committing thread's last write on.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMillis,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMillis = maxLagMillis;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicaReads = Counter.builder("booking.replicas.reads").tag("target", "replica")
+                .description("Read-only transactions by the database they were sent to")
+                .register(meterRegistry);
+        this.primaryReads = Counter.builder("booking.replicas.reads").tag("target", "primary")
+                .description("Read-only transactions by the database they were sent to")
+                .register(meterRegistry);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return PRIMARY;
+        }
+        Replica replica = ReplicaRouting.isPinnedToPrimary() ? null : pick(ReplicaRouting.lastWrite());
+        if (replica == null) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.increment();
+        ReplicaRouting.replicaTransactionStarted();
+        return replica.getName();
+    }
+
+    private Replica pick(long lastWrite) {
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            long caughtUpTo = replica.caughtUpTo();
+            if (caughtUpTo >= lastWrite && now - caughtUpTo <= maxLagMillis) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Taken after the commit, so a heartbeat at or after this position is written after the write
+                ReplicaRouting.written(System.currentTimeMillis());
+            }
+        });
+    }
+
+    /**
+     * Closes the replica pools; the primary is a bean of its own.
+     */
+    public void close() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    /**
+     * One read replica and the latest primary heartbeat it is known to have.
+     */
+    public static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile long caughtUpTo;
+
+        public Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        /**
+         * @return the wall-clock time of the latest heartbeat seen on the replica, 0 before the first
+         */
+        public long caughtUpTo() {
+            return caughtUpTo;
+        }
+
+        public void heardFrom(long heartbeat) {
+            if (heartbeat > caughtUpTo) {
+                caughtUpTo = heartbeat;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ticketbooking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs, such as the hold expiry tick.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
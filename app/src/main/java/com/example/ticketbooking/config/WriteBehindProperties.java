@@ -0,0 +1,49 @@
+package com.example.ticketbooking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.write-behind")
+public class WriteBehindProperties {
+    /**
+     * Answer single general-admission bookings once they are in the local journal, and write
+     * them to the database in batches afterwards.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the journal's segment files.
+     * Locked while open: every instance needs a directory of its own.
+     */
+    private Path directory = Path.of("data", "journal");
+
+    /**
+     * Size at which the journal moves on to a new segment; flushed segments are deleted.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+    /**
+     * How long the first booking of a group waits for others before the group is forced to disk.
+     */
+    private Duration groupCommitInterval = Duration.ofMillis(2);
+
+    /**
+     * Maximum number of bookings forced to disk together.
+     */
+    private int maxGroupSize = 1000;
+
+    /**
+     * Pause between database flushes once no journaled booking is left to write.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * Maximum number of bookings inserted per flush transaction.
+     */
+    private int flushBatchSize = 1000;
+}
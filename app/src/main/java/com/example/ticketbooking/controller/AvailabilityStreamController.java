@@ -0,0 +1,32 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.service.AvailabilityStream;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/events")
+@Tag(name = "Event Management")
+public class AvailabilityStreamController {
+    private final AvailabilityStream availabilityStream;
+
+    public AvailabilityStreamController(AvailabilityStream availabilityStream) {
+        this.availabilityStream = availabilityStream;
+    }
+
+    @GetMapping(value = "/{eventId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream event availability",
+            description = "Server-sent events named availability: the current seats straight away, "
+                    + "then at most one update per booking.availability-stream.interval while seats change")
+    public SseEmitter streamAvailability(@PathVariable Long eventId) {
+        return availabilityStream.subscribe(eventId);
+    }
+}
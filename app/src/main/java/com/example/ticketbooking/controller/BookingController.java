@@ -0,0 +1,182 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.service.AdmissionService;
+import com.example.ticketbooking.service.BookingExporter;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import com.example.ticketbooking.service.WriteBehindBookings;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/bookings")
+@Tag(name = "Booking Management")
+public class BookingController {
+    private final BookingService bookingService;
+    private final EventService eventService;
+    private final AdmissionService admissionService;
+    private final BookingExporter bookingExporter;
+    private final WriteBehindBookings writeBehind;
+
+    public BookingController(BookingService bookingService, EventService eventService,
+                             AdmissionService admissionService, BookingExporter bookingExporter,
+                             WriteBehindBookings writeBehind) {
+        this.bookingService = bookingService;
+        this.eventService = eventService;
+        this.admissionService = admissionService;
+        this.bookingExporter = bookingExporter;
+        this.writeBehind = writeBehind;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new booking")
+    @ApiResponse(responseCode = "200", description = "Booking created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid booking request")
+    @ApiResponse(responseCode = "403", description = "No admitted waiting-room ticket")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    @ApiResponse(responseCode = "409", description = "User already has an active booking")
+    public ResponseEntity<Booking> createBooking(
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(name = AdmissionService.TOKEN_HEADER, required = false) String queueToken) {
+        admissionService.checkAdmitted(queueToken, request.getEventId(), request.getUserId());
+        Event event = eventService.getEventWithAvailability(request.getEventId());
+        // Outside any transaction: the write-behind path waits for its journal group commit
+        Booking booking = writeBehind.accepts(event, request.getUserId(), request.getSeatLabels())
+                ? writeBehind.createBooking(event, request.getUserId(), request.getSeats())
+                : bookingService.createBooking(event, request.getUserId(), request.getSeats(), request.getSeatLabels());
+        admissionService.complete(queueToken);
+        return ResponseEntity.ok(booking);
+    }
+
+    @PostMapping("/holds")
+    @Operation(summary = "Hold seats while the user pays", description = "The hold expires and releases its seats unless confirmed in time")
+    @ApiResponse(responseCode = "200", description = "Seats held")
+    @ApiResponse(responseCode = "400", description = "Invalid booking request")
+    @ApiResponse(responseCode = "403", description = "No admitted waiting-room ticket")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    @ApiResponse(responseCode = "409", description = "User already has an active booking or hold")
+    public ResponseEntity<Booking> placeHold(
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(name = AdmissionService.TOKEN_HEADER, required = false) String queueToken) {
+        admissionService.checkAdmitted(queueToken, request.getEventId(), request.getUserId());
+        Event event = eventService.getEventWithAvailability(request.getEventId());
+        Booking hold = bookingService.placeHold(
+                event, request.getUserId(), request.getSeats(), request.getSeatLabels());
+        admissionService.complete(queueToken);
+        return ResponseEntity.ok(hold);
+    }
+
+    @PostMapping("/{bookingId}/confirm")
+    @Operation(summary = "Confirm a hold as a booking")
+    @ApiResponse(responseCode = "200", description = "Hold confirmed")
+    @ApiResponse(responseCode = "404", description = "Booking not found")
+    public ResponseEntity<Booking> confirmHold(@PathVariable Long bookingId) {
+        return ResponseEntity.ok(bookingService.confirmHold(bookingId));
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create bookings in bulk")
+    @ApiResponse(responseCode = "200", description = "Batch processed; each item reports its own result")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    @ApiResponse(responseCode = "403", description = "Waiting room enabled")
+    public ResponseEntity<List<BatchBookingResult>> createBookings(@RequestBody List<BookingRequest> requests) {
+        admissionService.checkBatchAllowed();
+        return ResponseEntity.ok(bookingService.createBookings(requests));
+    }
+
+    @GetMapping("/{bookingId}")
+    @Operation(summary = "Get booking by ID")
+    @ApiResponse(responseCode = "200", description = "Booking found")
+    @ApiResponse(responseCode = "404", description = "Booking not found")
+    public ResponseEntity<Booking> getBooking(@PathVariable Long bookingId) {
+        return ResponseEntity.ok(bookingService.getBooking(bookingId));
+    }
+
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get user's bookings", description = "Paginated; pass nextCursor back as cursor for the following page")
+    @ApiResponse(responseCode = "200", description = "User bookings retrieved successfully")
+    public ResponseEntity<BookingPage> getUserBookings(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookingService.getUserBookings(userId, cursor, size));
+    }
+
+    @GetMapping("/event/{eventId}")
+    @Operation(summary = "Get all active bookings for an event", description = "Paginated; pass nextCursor back as cursor for the following page")
+    @ApiResponse(responseCode = "200", description = "Event bookings retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    public ResponseEntity<BookingPage> getEventBookings(
+            @PathVariable Long eventId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(bookingService.getEventBookings(eventId, cursor, size));
+    }
+
+    @GetMapping("/event/{eventId}/export")
+    @Operation(summary = "Export all active bookings for an event",
+            description = "Streams every booking as NDJSON (default) or CSV without holding them in memory")
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    public ResponseEntity<StreamingResponseBody> exportEventBookings(
+            @PathVariable Long eventId,
+            @RequestParam(required = false, defaultValue = "ndjson") String format) {
+        BookingExporter.Format exportFormat = BookingExporter.Format.of(format);
+        // Looked up first so an unknown event is a 404 rather than an empty export
+        Event event = eventService.getEventWithAvailability(eventId);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + event.getId() + "-bookings." + exportFormat.getExtension())
+                        .build().toString())
+                .body(out -> bookingExporter.exportEventBookings(event.getId(), exportFormat, out));
+    }
+
+    @GetMapping("/event/{eventId}/seats")
+    @Operation(summary = "Get total booked seats for an event")
+    @ApiResponse(responseCode = "200", description = "Total booked seats retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    public ResponseEntity<Map<String, Integer>> getEventBookedSeats(@PathVariable Long eventId) {
+        Event event = eventService.getEventWithAvailability(eventId);
+        int totalBookedSeats = bookingService.getTotalBookedSeats(event);
+        return ResponseEntity.ok(Map.of("totalBookedSeats", totalBookedSeats));
+    }
+
+    @GetMapping("/check")
+    @Operation(summary = "Check if user has active booking for an event")
+    @ApiResponse(responseCode = "200", description = "Booking status checked successfully")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    public ResponseEntity<Map<String, Boolean>> checkActiveBooking(
+            @RequestParam Long eventId,
+            @RequestParam String userId) {
+        Event event = eventService.getEventWithAvailability(eventId);
+        boolean hasBooking = bookingService.hasActiveBooking(event, userId);
+        return ResponseEntity.ok(Map.of("hasActiveBooking", hasBooking));
+    }
+
+    @DeleteMapping("/{bookingId}")
+    @Operation(summary = "Cancel a booking")
+    @ApiResponse(responseCode = "204", description = "Booking cancelled successfully")
+    @ApiResponse(responseCode = "404", description = "Booking not found")
+    public ResponseEntity<Void> cancelBooking(@PathVariable Long bookingId) {
+        bookingService.cancelBooking(bookingId);
+        return ResponseEntity.noContent().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.service.SseChangeSink;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/changes")
+@Tag(name = "Change Stream")
+public class ChangeStreamController {
+    private final SseChangeSink changeSink;
+
+    public ChangeStreamController(SseChangeSink changeSink) {
+        this.changeSink = changeSink;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream booking and event changes",
+            description = "Server-sent events, one per change, with the stream position as event id; "
+                    + "reconnect with Last-Event-ID to resume")
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeSink.subscribe(lastEventId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.ClusterHeartbeat;
+import com.example.ticketbooking.service.ClusterMembership;
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoints the cluster members call on each other; not part of the public API.
+ */
+@Hidden
+@RestController
+@Profile("!reactive")
+@RequestMapping("/internal/cluster")
+public class ClusterController {
+    private final ClusterMembership membership;
+
+    public ClusterController(ClusterMembership membership) {
+        this.membership = membership;
+    }
+
+    @PostMapping("/heartbeat")
+    public ResponseEntity<ClusterHeartbeat> heartbeat(@RequestBody ClusterHeartbeat heartbeat) {
+        if (membership.getSelf() == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(membership.onHeartbeat(heartbeat));
+    }
+
+    @GetMapping("/members")
+    public ResponseEntity<ClusterHeartbeat> members() {
+        return ResponseEntity.ok(new ClusterHeartbeat(membership.getSelf(), membership.getMembers()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.dto.SeatMapRequest;
+import com.example.ticketbooking.dto.SeatMapView;
+import com.example.ticketbooking.service.EventService;
+import com.example.ticketbooking.service.SeatMapService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/events")
+@Tag(name = "Event Management")
+public class EventController {
+    private final EventService eventService;
+    private final SeatMapService seatMapService;
+
+    public EventController(EventService eventService, SeatMapService seatMapService) {
+        this.eventService = eventService;
+        this.seatMapService = seatMapService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new event")
+    @ApiResponse(responseCode = "200", description = "Event created successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid event data")
+    public ResponseEntity<EventDetail> createEvent(@Valid @RequestBody EventRequest request) {
+        return ResponseEntity.ok(EventDetail.from(eventService.createEvent(request)));
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all events", description = "Keyset-paginated; pass nextCursor back as cursor for the following page")
+    public ResponseEntity<EventPage> getAllEvents(
+            @RequestParam(required = false, defaultValue = "date") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(eventService.getAllEvents(sortBy, cursor, size));
+    }
+
+    @GetMapping("/{eventId}/availability")
+    @Operation(summary = "Get event availability")
+    public ResponseEntity<Map<String, Object>> getEventAvailability(@PathVariable Long eventId) {
+        EventDetail event = eventService.getEventDetail(eventId);
+        // Live from SeatInventory: the cached detail's seat columns trail bookings
+        return ResponseEntity.ok(Map.of(
+                "event", event,
+                "availableSeats", eventService.getAvailableSeats(eventId)
+        ));
+    }
+
+    @PostMapping("/{eventId}/seat-map")
+    @Operation(summary = "Add reserved seating to an event",
+            description = "Layout lists sections best first as name:rows x seats per row, e.g. Floor:20x50;Balcony:10x30")
+    @ApiResponse(responseCode = "200", description = "Seat map created")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    public ResponseEntity<SeatMapView> createSeatMap(@PathVariable Long eventId,
+                                                     @Valid @RequestBody SeatMapRequest request) {
+        return ResponseEntity.ok(seatMapService.createSeatMap(eventId, request.getLayout()));
+    }
+
+    @GetMapping("/{eventId}/seat-map")
+    @Operation(summary = "Get an event's seat map", description = "Sold seats are returned as a base64 bitmap")
+    @ApiResponse(responseCode = "200", description = "Seat map found")
+    @ApiResponse(responseCode = "404", description = "Event has no seat map")
+    public ResponseEntity<SeatMapView> getSeatMap(@PathVariable Long eventId) {
+        return ResponseEntity.ok(seatMapService.getSeatMap(eventId));
+    }
+
+    @DeleteMapping("/{eventId}")
+    @Operation(summary = "Delete an event")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Event deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Event not found"),
+            @ApiResponse(responseCode = "400", description = "Cannot delete event with active bookings")
+    })
+    public ResponseEntity<Void> deleteEvent(@PathVariable Long eventId) {
+        eventService.deleteEvent(eventId);
+        return ResponseEntity.noContent().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.QueueRequest;
+import com.example.ticketbooking.dto.QueueStatus;
+import com.example.ticketbooking.service.AdmissionService;
+import com.example.ticketbooking.service.EventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/queue")
+@Tag(name = "Waiting Room")
+public class QueueController {
+    private final AdmissionService admissionService;
+    private final EventService eventService;
+
+    public QueueController(AdmissionService admissionService, EventService eventService) {
+        this.admissionService = admissionService;
+        this.eventService = eventService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Join an event's waiting room", description = "Joining again returns the same ticket")
+    @ApiResponse(responseCode = "200", description = "Ticket issued, possibly already admitted")
+    @ApiResponse(responseCode = "404", description = "Event not found")
+    @ApiResponse(responseCode = "503", description = "Waiting room is full")
+    public ResponseEntity<QueueStatus> join(@Valid @RequestBody QueueRequest request) {
+        // Cached, so a surge of joins does not reach the database
+        eventService.getEventWithAvailability(request.getEventId());
+        return ResponseEntity.ok(admissionService.join(request.getEventId(), request.getUserId()));
+    }
+
+    @GetMapping("/{token}")
+    @Operation(summary = "Get a ticket's position and estimated wait")
+    @ApiResponse(responseCode = "200", description = "Ticket found")
+    @ApiResponse(responseCode = "404", description = "Ticket not found or expired")
+    public ResponseEntity<QueueStatus> getStatus(@PathVariable String token) {
+        return ResponseEntity.ok(admissionService.getStatus(token));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.dto.BookingRow;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.service.BookingExporter;
+import com.example.ticketbooking.service.ReactiveBookingService;
+import com.example.ticketbooking.service.ReactiveEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux variant of {@link BookingController}: same routes and DTOs, served when the reactive profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/bookings")
+@Tag(name = "Booking Management")
+public class ReactiveBookingController {
+    private final ReactiveBookingService bookingService;
+    private final ReactiveEventService eventService;
+    private final BookingExporter bookingExporter;
+
+    public ReactiveBookingController(ReactiveBookingService bookingService, ReactiveEventService eventService,
+                                     BookingExporter bookingExporter) {
+        this.bookingService = bookingService;
+        this.eventService = eventService;
+        this.bookingExporter = bookingExporter;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new booking")
+    public Mono<Booking> createBooking(@Valid @RequestBody BookingRequest request) {
+        return bookingService.createBooking(request.getEventId(), request.getUserId(), request.getSeats());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create bookings in bulk")
+    public Flux<BatchBookingResult> createBookings(@RequestBody List<BookingRequest> requests) {
+        return bookingService.createBookings(requests);
+    }
+
+    @GetMapping("/{bookingId}")
+    @Operation(summary = "Get booking by ID")
+    public Mono<Booking> getBooking(@PathVariable Long bookingId) {
+        return bookingService.getBooking(bookingId);
+    }
+
+    @GetMapping("/user/{userId}")
+    @Operation(summary = "Get user's bookings", description = "Paginated; pass nextCursor back as cursor for the following page")
+    public Mono<BookingPage> getUserBookings(@PathVariable String userId,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
+        return bookingService.getUserBookings(userId, cursor, size);
+    }
+
+    @GetMapping("/event/{eventId}")
+    @Operation(summary = "Get all active bookings for an event", description = "Paginated; pass nextCursor back as cursor for the following page")
+    public Mono<BookingPage> getEventBookings(@PathVariable Long eventId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
+        return bookingService.getEventBookings(eventId, cursor, size);
+    }
+
+    @GetMapping("/event/{eventId}/export")
+    @Operation(summary = "Export all active bookings for an event",
+            description = "Streams every booking as NDJSON (default) or CSV without holding them in memory")
+    public ResponseEntity<Flux<String>> exportEventBookings(@PathVariable Long eventId,
+                                                            @RequestParam(required = false, defaultValue = "ndjson") String format) {
+        BookingExporter.Format exportFormat = BookingExporter.Format.of(format);
+        Flux<BookingRow> rows = bookingService.exportEventBookings(eventId);
+        // Lines are written as they come, each one its own buffer
+        Flux<String> body = exportFormat == BookingExporter.Format.CSV
+                ? Flux.concat(Flux.just(BookingExporter.CSV_HEADER), rows.map(BookingExporter::csvLine))
+                : rows.map(bookingExporter::ndjsonLine);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + eventId + "-bookings." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+
+    @GetMapping("/event/{eventId}/seats")
+    @Operation(summary = "Get total booked seats for an event")
+    public Mono<Map<String, Integer>> getEventBookedSeats(@PathVariable Long eventId) {
+        return eventService.getEventWithAvailability(eventId)
+                .map(event -> Map.of("totalBookedSeats", event.getBookedSeats()));
+    }
+
+    @GetMapping("/check")
+    @Operation(summary = "Check if user has active booking for an event")
+    public Mono<Map<String, Boolean>> checkActiveBooking(@RequestParam Long eventId, @RequestParam String userId) {
+        return bookingService.hasActiveBooking(eventId, userId)
+                .map(hasBooking -> Map.of("hasActiveBooking", hasBooking));
+    }
+
+    @DeleteMapping("/{bookingId}")
+    @Operation(summary = "Cancel a booking")
+    public Mono<ResponseEntity<Void>> cancelBooking(@PathVariable Long bookingId) {
+        return bookingService.cancelBooking(bookingId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+}
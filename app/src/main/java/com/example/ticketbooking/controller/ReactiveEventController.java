@@ -0,0 +1,61 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.service.ReactiveEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * WebFlux variant of {@link EventController}: same routes and DTOs, served when the reactive profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/events")
+@Tag(name = "Event Management")
+public class ReactiveEventController {
+    private final ReactiveEventService eventService;
+
+    public ReactiveEventController(ReactiveEventService eventService) {
+        this.eventService = eventService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a new event")
+    public Mono<EventDetail> createEvent(@Valid @RequestBody EventRequest request) {
+        return eventService.createEvent(request).map(EventDetail::from);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all events")
+    public Mono<EventPage> getAllEvents(@RequestParam(required = false, defaultValue = "date") String sortBy,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer size) {
+        return eventService.getAllEvents(sortBy, cursor, size);
+    }
+
+    @GetMapping("/{eventId}/availability")
+    @Operation(summary = "Get event availability")
+    public Mono<Map<String, Object>> getEventAvailability(@PathVariable Long eventId) {
+        return eventService.getEventWithAvailability(eventId)
+                .map(event -> Map.of(
+                        "event", EventDetail.from(event),
+                        "availableSeats", eventService.getAvailableSeats(event)
+                ));
+    }
+
+    @DeleteMapping("/{eventId}")
+    @Operation(summary = "Delete an event")
+    public Mono<ResponseEntity<Void>> deleteEvent(@PathVariable Long eventId) {
+        return eventService.deleteEvent(eventId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One message of the availability stream: the event's seats as of the latest update.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityUpdate {
+    private Long eventId;
+    private int totalSeats;
+    private int availableSeats;
+}
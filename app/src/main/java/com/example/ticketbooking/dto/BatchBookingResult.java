@@ -0,0 +1,27 @@
+package com.example.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResult {
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private int index;
+    private Status status;
+    private Long bookingId;
+    private String error;
+
+    public static BatchBookingResult created(int index, Long bookingId) {
+        return new BatchBookingResult(index, Status.CREATED, bookingId, null);
+    }
+
+    public static BatchBookingResult rejected(int index, String error) {
+        return new BatchBookingResult(index, Status.REJECTED, null, error);
+    }
+}
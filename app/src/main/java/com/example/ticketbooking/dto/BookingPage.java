@@ -0,0 +1,20 @@
+package com.example.ticketbooking.dto;
+
+import com.example.ticketbooking.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's or an event's bookings, oldest first. {@code nextCursor} is
+ * {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPage {
+    private List<Booking> bookings;
+    private String nextCursor;
+}
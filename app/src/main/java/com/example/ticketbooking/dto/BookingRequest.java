@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class BookingRequest {
     @NotNull(message = "Event ID is required")
@@ -16,4 +18,7 @@ public class BookingRequest {
     @NotNull(message = "Number of seats is required")
     @Min(value = 1, message = "Must book at least 1 seat")
     private Integer seats;
+
+    // Optional, for events with a seat map: the exact seats, e.g. ["Floor-3-12", "Floor-3-13"]
+    private List<String> seatLabels;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.ticketbooking.dto;
+
+import com.example.ticketbooking.entity.BookingStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A booking as written by the booking export: flat, with the event as an id, and read straight
+ * from the query so exported rows are never managed entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRow {
+    private Long bookingId;
+    private Long eventId;
+    private String userId;
+    private int seatsBooked;
+    private List<String> seatLabels;
+    private BookingStatus status;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime holdExpiresAt;
+}
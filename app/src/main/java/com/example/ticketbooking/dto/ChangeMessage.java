@@ -0,0 +1,30 @@
+package com.example.ticketbooking.dto;
+
+import com.example.ticketbooking.entity.ChangeType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A published change. {@code position} counts up by one per message in the change stream;
+ * {@code id} identifies the change itself, so a consumer that sees it twice after a relay
+ * restart can skip the repeat.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeMessage {
+    private long position;
+    private long id;
+    private ChangeType type;
+    private long aggregateId;
+    private long eventId;
+    @JsonRawValue
+    private String payload;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime createdAt;
+}
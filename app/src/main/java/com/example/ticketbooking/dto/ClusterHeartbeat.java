@@ -0,0 +1,18 @@
+package com.example.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Exchanged between cluster members: who is sending, and which members it currently sees.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterHeartbeat {
+    private String url;
+    private List<String> members;
+}
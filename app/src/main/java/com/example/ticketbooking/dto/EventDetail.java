@@ -0,0 +1,31 @@
+package com.example.ticketbooking.dto;
+
+import com.example.ticketbooking.entity.Event;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Single-event view with its seat counts; like {@link EventSummary} it never includes bookings.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventDetail {
+    private Long id;
+    private String name;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime date;
+    private String location;
+    private int totalSeats;
+    private int bookedSeats;
+    private int availableSeats;
+
+    public static EventDetail from(Event event) {
+        return new EventDetail(event.getId(), event.getName(), event.getDate(), event.getLocation(),
+                event.getTotalSeats(), event.getBookedSeats(), event.getAvailableSeats());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /api/events}. {@code nextCursor} is {@code null} on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPage {
+    private List<EventSummary> events;
+    private String nextCursor;
+}
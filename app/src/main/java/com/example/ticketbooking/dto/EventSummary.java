@@ -0,0 +1,30 @@
+package com.example.ticketbooking.dto;
+
+import com.example.ticketbooking.entity.Event;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Listing view of an event, selected column by column so the bookings collection is never loaded.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSummary {
+    private Long id;
+    private String name;
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime date;
+    private String location;
+    private int totalSeats;
+    private int availableSeats;
+
+    public static EventSummary from(Event event) {
+        return new EventSummary(event.getId(), event.getName(), event.getDate(), event.getLocation(),
+                event.getTotalSeats(), event.getAvailableSeats());
+    }
+}
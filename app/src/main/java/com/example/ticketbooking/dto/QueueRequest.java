@@ -0,0 +1,14 @@
+package com.example.ticketbooking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class QueueRequest {
+    @NotNull(message = "Event ID is required")
+    private Long eventId;
+
+    @NotBlank(message = "User ID is required")
+    private String userId;
+}
@@ -0,0 +1,20 @@
+package com.example.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A waiting-room ticket. Once {@code admitted}, send {@code token} in the {@code X-Queue-Token}
+ * header to book; until then {@code position} counts from 1 at the front of the queue.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueStatus {
+    private String token;
+    private Long eventId;
+    private boolean admitted;
+    private long position;
+    private long estimatedWaitSeconds;
+}
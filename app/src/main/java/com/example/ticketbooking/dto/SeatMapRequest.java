@@ -0,0 +1,11 @@
+package com.example.ticketbooking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class SeatMapRequest {
+    // Sections in best-first order as name:rows x seats per row, e.g. "Floor:20x50;Balcony:10x30"
+    @NotBlank(message = "Seat map layout is required")
+    private String layout;
+}
@@ -0,0 +1,21 @@
+package com.example.ticketbooking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seat map of an event. {@code sold} is the bitmap itself (base64 in JSON): little-endian
+ * {@code long} words where bit {@code i} is set when seat number {@code i} is taken, seats being
+ * numbered section by section and row by row in layout order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapView {
+    private Long eventId;
+    private String layout;
+    private int capacity;
+    private int availableSeats;
+    private byte[] sold;
+}
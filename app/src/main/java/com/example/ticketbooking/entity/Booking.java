@@ -0,0 +1,39 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Entity
+@Data
+public class Booking {
+    // Pooled sequence ids let Hibernate batch inserts, which IDENTITY columns prevent
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
+    private Long bookingId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @JsonBackReference
+    private Event event;
+
+    private String userId;
+    private int seatsBooked;
+
+    // Concrete seats for events with a seat map, null for general admission
+    @Convert(converter = SeatLabelsConverter.class)
+    @Column(length = 4000)
+    private List<String> seatLabels;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status = BookingStatus.ACTIVE;
+
+    // Set while the booking is a HOLD: its seats are released at this time unless confirmed
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime holdExpiresAt;
+}
\ No newline at end of file
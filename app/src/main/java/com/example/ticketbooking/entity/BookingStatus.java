@@ -0,0 +1,14 @@
+package com.example.ticketbooking.entity;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum BookingStatus {
+        ACTIVE, CANCELED, HOLD, EXPIRED;
+
+        /**
+         * Statuses whose seats are taken: confirmed bookings and holds that have not expired yet.
+         */
+        public static final Set<BookingStatus> SEAT_TAKING = Collections.unmodifiableSet(EnumSet.of(ACTIVE, HOLD));
+}
@@ -0,0 +1,9 @@
+package com.example.ticketbooking.entity;
+
+/**
+ * Kinds of change published through the outbox.
+ */
+public enum ChangeType {
+        BOOKING_CREATED, HOLD_PLACED, HOLD_CONFIRMED, HOLD_EXPIRED, BOOKING_CANCELED,
+        EVENT_CREATED, EVENT_UPDATED, EVENT_DELETED
+}
@@ -21,6 +21,14 @@ public class Event {
     private String location;
     private int totalSeats;
 
+    // Maintained only by guarded bulk updates in EventRepository, never by entity writes
+    @Column(nullable = false, updatable = false)
+    private int bookedSeats;
+
+    // totalSeats - bookedSeats, kept in the same guarded updates so availability sorts on an index
+    @Column(nullable = false, updatable = false)
+    private int availableSeats;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<Booking> bookings = new ArrayList<>();
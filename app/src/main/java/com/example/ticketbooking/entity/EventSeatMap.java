@@ -0,0 +1,28 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Persisted form of a {@link com.example.ticketbooking.service.SeatMap}: its layout text and
+ * the sold-seat bitmap, one bit per seat. The bitmap is only ever replaced whole, at the
+ * version it was read at.
+ */
+@Entity
+@Data
+@Table(name = "event_seat_map")
+public class EventSeatMap {
+    @Id
+    private Long eventId;
+
+    @Column(nullable = false, length = 4000)
+    private String layout;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] sold;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+}
@@ -0,0 +1,32 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The response first given to a request with a given {@code Idempotency-Key}, kept until it expires.
+ */
+@Entity
+@Data
+@Table(name = "idempotency_key")
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    // SHA-256 of method, path and body, so a key reused for a different request is caught
+    private String fingerprint;
+
+    private int status;
+
+    private String contentType;
+
+    @Lob
+    private String body;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+}
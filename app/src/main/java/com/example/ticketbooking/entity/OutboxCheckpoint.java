@@ -0,0 +1,23 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one outbox relay: the stream position it has published up to.
+ */
+@Entity
+@Data
+@Table(name = "outbox_checkpoint")
+public class OutboxCheckpoint {
+    @Id
+    private String relay;
+
+    private long position;
+
+    private long lastMessageId;
+
+    private LocalDateTime updatedAt;
+}
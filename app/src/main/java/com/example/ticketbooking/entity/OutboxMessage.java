@@ -0,0 +1,38 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change waiting to be published, written in the transaction that made it.
+ */
+@Entity
+@Data
+@Table(name = "outbox_message")
+public class OutboxMessage {
+    // Pooled like booking ids, so a batch booking's messages are inserted in JDBC batches too
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeType type;
+
+    // Booking id for booking changes, event id for event changes
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    // JSON snapshot of the changed booking or event
+    @Column(nullable = false, length = 8000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
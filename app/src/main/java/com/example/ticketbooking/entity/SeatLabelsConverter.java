@@ -0,0 +1,24 @@
+package com.example.ticketbooking.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores a booking's seat labels in one comma-separated column instead of a row per seat.
+ */
+@Converter
+public class SeatLabelsConverter implements AttributeConverter<List<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<String> labels) {
+        return labels == null || labels.isEmpty() ? null : String.join(",", labels);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        return column == null || column.isEmpty() ? null : List.copyOf(Arrays.asList(column.split(",")));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ticketbooking.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The user already holds an active booking for the event, whether caught by the service check
+ * or by the {@value #ACTIVE_BOOKING_CONSTRAINT} unique index behind it.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateBookingException extends IllegalStateException {
+    public static final String ACTIVE_BOOKING_CONSTRAINT = "uk_booking_active_user";
+
+    public DuplicateBookingException() {
+        super("User already has an active booking for this event");
+    }
+
+    public DuplicateBookingException(Throwable cause) {
+        super("User already has an active booking for this event", cause);
+    }
+
+    public static boolean isActiveBookingViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(ACTIVE_BOOKING_CONSTRAINT);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ticketbooking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A booking request without a queue token that has been admitted for its event and user.
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class NotAdmittedException extends IllegalStateException {
+    public NotAdmittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ticketbooking.exception;
+
+/**
+ * The event has already taken place, so its bookings can no longer change.
+ */
+public class PastEventException extends IllegalStateException {
+    public PastEventException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ticketbooking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The event's waiting room is at {@code booking.admission.max-queue-length}.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class QueueFullException extends IllegalStateException {
+    public QueueFullException(Long eventId) {
+        super("The waiting room for event " + eventId + " is full, try again later");
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ticketbooking.exception;
+
+/**
+ * The event does not have enough seats left for the request.
+ */
+public class SoldOutException extends IllegalStateException {
+    public SoldOutException(int requested, int available) {
+        super("Not enough seats available. Requested: " + requested + ", Available: " + available);
+    }
+}
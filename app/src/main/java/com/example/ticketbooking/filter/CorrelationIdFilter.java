@@ -0,0 +1,42 @@
+package com.example.ticketbooking.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Tags every log line of a request with a correlation id in the {@value #MDC_KEY} MDC entry.
+ * The caller's {@value #HEADER} header is reused when it looks like an id, so one id can follow
+ * a request across services; otherwise a random one is made up. Either way it is echoed back.
+ */
+public class CorrelationIdFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+    // Keeps caller-supplied ids from smuggling line breaks or markup into the logs
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(HEADER);
+        if (correlationId == null || !VALID_ID.matcher(correlationId).matches()) {
+            // Not a UUID: SecureRandom would be a shared point of contention on every request
+            correlationId = HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(HEADER, correlationId);
+        MDC.put(MDC_KEY, correlationId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
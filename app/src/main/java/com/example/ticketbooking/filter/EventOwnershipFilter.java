@@ -0,0 +1,285 @@
+package com.example.ticketbooking.filter;
+
+import com.example.ticketbooking.config.BatchProperties;
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.service.ClusterClient;
+import com.example.ticketbooking.service.ClusterMembership;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends requests that touch an event's seats on to the cluster member owning the event, so
+ * its seat inventory, duplicate checks, seat map and waiting room are only ever changed in one
+ * place. The event is found in the path, the {@code eventId} parameter or body field, the
+ * booking named in the path, or the prefix of a waiting-room token. A batch is split by owner
+ * and its results put back together in the original order. The change stream goes to the
+ * member that relays the outbox, the only one whose stream has every change.
+ * <p>
+ * A forwarded request carries {@value #FORWARDED_HEADER} and is served where it arrives, so
+ * members that briefly disagree about an owner cannot bounce it back and forth. Forwarded
+ * responses name the member that served them in {@value #SERVED_BY_HEADER}.
+ */
+@Slf4j
+public class EventOwnershipFilter extends OncePerRequestFilter {
+    public static final String FORWARDED_HEADER = "X-Booking-Forwarded-By";
+    public static final String SERVED_BY_HEADER = "X-Booking-Served-By";
+
+    private static final Pattern BOOKING_PATH = Pattern.compile("/api/bookings/(\\d+)(/confirm)?");
+    private static final Pattern EVENT_PATH = Pattern.compile("/api/events/(\\d+)(/availability|/availability/stream|/seat-map)?");
+    private static final Pattern QUEUE_TOKEN_PATH = Pattern.compile("/api/queue/(\\d+)-[^/]+");
+
+    private final ClusterMembership membership;
+    private final ClusterClient client;
+    private final BookingRepository bookingRepository;
+    private final BatchProperties batchProperties;
+    private final ObjectMapper objectMapper;
+
+    public EventOwnershipFilter(ClusterMembership membership, ClusterClient client, BookingRepository bookingRepository,
+                                BatchProperties batchProperties, ObjectMapper objectMapper) {
+        this.membership = membership;
+        this.client = client;
+        this.bookingRepository = bookingRepository;
+        this.batchProperties = batchProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return membership.getSelf() == null || request.getHeader(FORWARDED_HEADER) != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if ("GET".equals(method) && path.equals("/api/changes") && !membership.isRelay()) {
+            forward(membership.getRelay(), request, new byte[0], response);
+            return;
+        }
+
+        byte[] body = new byte[0];
+        HttpServletRequest local = request;
+        Long eventId = null;
+        if ("POST".equals(method) && (path.equals("/api/bookings") || path.equals("/api/bookings/holds")
+                || path.equals("/api/queue") || path.equals("/api/bookings/batch"))) {
+            body = request.getInputStream().readAllBytes();
+            local = new CachedBodyRequest(request, body);
+            if (path.equals("/api/bookings/batch")) {
+                splitBatch(local, body, response, chain);
+                return;
+            }
+            eventId = eventIdOf(readTree(body));
+        } else if ("GET".equals(method) && path.equals("/api/bookings/check")) {
+            eventId = parseId(request.getParameter("eventId"));
+        } else {
+            eventId = eventIdOf(method, path);
+        }
+
+        if (eventId == null || membership.isLocal(eventId)) {
+            chain.doFilter(local, response);
+            return;
+        }
+        forward(membership.ownerOf(eventId), request, body, response);
+    }
+
+    private Long eventIdOf(String method, String path) {
+        Matcher booking = BOOKING_PATH.matcher(path);
+        if (booking.matches() && ("DELETE".equals(method) || ("POST".equals(method) && booking.group(2) != null))) {
+            // An unknown booking is left to the local controller to answer with 404
+            Long bookingId = Long.valueOf(booking.group(1));
+            return ReplicaRouting.onPrimary(() -> bookingRepository.findEventIdByBookingId(bookingId)).orElse(null);
+        }
+        Matcher event = EVENT_PATH.matcher(path);
+        // Updates go to the owner too, whose seat inventory holds the capacity
+        if (event.matches() && (event.group(2) != null || "PUT".equals(method) || "DELETE".equals(method))) {
+            return Long.valueOf(event.group(1));
+        }
+        Matcher ticket = QUEUE_TOKEN_PATH.matcher(path);
+        if (ticket.matches() && "GET".equals(method)) {
+            return parseId(ticket.group(1));
+        }
+        return null;
+    }
+
+    private void forward(String owner, HttpServletRequest request, byte[] body, HttpServletResponse response)
+            throws IOException {
+        HttpResponse<InputStream> reply;
+        try {
+            reply = client.forward(owner, request.getMethod(), pathAndQuery(request), headers(request, true),
+                    body.length > 0 ? body : request.getInputStream().readAllBytes());
+        } catch (IOException e) {
+            unavailable(owner, e, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        response.setStatus(reply.statusCode());
+        reply.headers().map().forEach((name, values) -> {
+            if (ClusterClient.isForwarded(name) && !name.startsWith(":")) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        response.setHeader(SERVED_BY_HEADER, owner);
+        try (InputStream in = reply.body()) {
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            // Flushed as it arrives, so server-sent events reach the client one by one
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        }
+    }
+
+    private void splitBatch(HttpServletRequest request, byte[] body, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        JsonNode items = readTree(body);
+        // Malformed, empty and oversized batches are rejected as a whole by the local controller
+        if (items == null || !items.isArray() || items.isEmpty() || items.size() > batchProperties.getMaxSize()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Map<String, List<Integer>> indexesByOwner = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            Long eventId = eventIdOf(items.get(i));
+            String owner = eventId == null ? membership.getSelf() : membership.ownerOf(eventId);
+            indexesByOwner.computeIfAbsent(owner, key -> new ArrayList<>()).add(i);
+        }
+        if (indexesByOwner.size() == 1 && indexesByOwner.containsKey(membership.getSelf())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        BatchBookingResult[] results = new BatchBookingResult[items.size()];
+        for (Map.Entry<String, List<Integer>> group : indexesByOwner.entrySet()) {
+            String owner = group.getKey();
+            List<Integer> indexes = group.getValue();
+            ArrayNode part = objectMapper.createArrayNode();
+            indexes.forEach(i -> part.add(items.get(i)));
+            List<BatchBookingResult> partResults;
+            try {
+                partResults = owner.equals(membership.getSelf())
+                        ? runLocally(request, objectMapper.writeValueAsBytes(part), response, chain)
+                        : forwardPart(owner, request, objectMapper.writeValueAsBytes(part));
+            } catch (IOException e) {
+                log.warn("Cannot book {} batch items on {}: {}", indexes.size(), owner, e.toString());
+                indexes.forEach(i -> results[i] = BatchBookingResult.rejected(i, "Event owner is unavailable, retry shortly"));
+                continue;
+            }
+            for (int j = 0; j < indexes.size(); j++) {
+                BatchBookingResult result = partResults.get(j);
+                result.setIndex(indexes.get(j));
+                results[indexes.get(j)] = result;
+            }
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Arrays.asList(results));
+    }
+
+    private List<BatchBookingResult> runLocally(HttpServletRequest request, byte[] part, HttpServletResponse response,
+                                                FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper recording = new ContentCachingResponseWrapper(response);
+        chain.doFilter(new CachedBodyRequest(request, part), recording);
+        if (recording.getStatus() != HttpStatus.OK.value()) {
+            throw new IOException("Local batch part answered " + recording.getStatus());
+        }
+        return objectMapper.readValue(recording.getContentAsByteArray(), new TypeReference<>() { });
+    }
+
+    private List<BatchBookingResult> forwardPart(String owner, HttpServletRequest request, byte[] part)
+            throws IOException {
+        try {
+            // The whole batch is idempotent here already; its parts must not claim the key elsewhere
+            Map<String, List<String>> headers = headers(request, false);
+            HttpResponse<InputStream> reply = client.forward(owner, request.getMethod(), pathAndQuery(request), headers, part);
+            try (InputStream in = reply.body()) {
+                if (reply.statusCode() != HttpStatus.OK.value()) {
+                    throw new IOException("Batch part answered " + reply.statusCode());
+                }
+                return objectMapper.readValue(in, new TypeReference<>() { });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to " + owner, e);
+        }
+    }
+
+    private Map<String, List<String>> headers(HttpServletRequest request, boolean withIdempotencyKey) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (withIdempotencyKey || !IdempotencyFilter.HEADER.equalsIgnoreCase(name)) {
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+        headers.put(FORWARDED_HEADER, List.of(membership.getSelf()));
+        return headers;
+    }
+
+    private static String pathAndQuery(HttpServletRequest request) {
+        return request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+    }
+
+    private static void unavailable(String owner, IOException e, HttpServletResponse response) throws IOException {
+        log.warn("Cannot forward request to event owner {}: {}", owner, e.toString());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Event owner is unavailable, retry shortly");
+    }
+
+    private JsonNode readTree(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            // Left to the controller to reject
+            return null;
+        }
+    }
+
+    private static Long eventIdOf(JsonNode item) {
+        JsonNode eventId = item == null ? null : item.get("eventId");
+        return eventId != null && eventId.canConvertToLong() && eventId.isIntegralNumber() ? eventId.asLong() : null;
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ticketbooking.filter;
+
+import com.example.ticketbooking.config.IdempotencyProperties;
+import com.example.ticketbooking.entity.IdempotencyRecord;
+import com.example.ticketbooking.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Makes POSTs that carry an {@value #HEADER} header safe to retry: the first request with a key
+ * runs, and its response is replayed, marked with {@value #REPLAYED_HEADER}, to every later one
+ * without reaching the controller. A duplicate that arrives while the first is still running
+ * waits for it. Reusing a key for a different request is rejected with 422.
+ * <p>
+ * Responses a retry could change are not kept: server errors, and 403 and 429, which a client
+ * gets before it is admitted or while it should back off.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final Pattern VALID_KEY = Pattern.compile("[\\x21-\\x7E]{1,128}");
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!VALID_KEY.matcher(key).matches()) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), HEADER + " must be 1 to 128 visible ASCII characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+
+        while (true) {
+            Optional<IdempotencyRecord> stored = store.find(key);
+            if (stored.isPresent()) {
+                replay(stored.get(), fingerprint, response);
+                return;
+            }
+            CompletableFuture<IdempotencyRecord> running = store.claim(key);
+            if (running == null) {
+                execute(key, fingerprint, new CachedBodyRequest(request, body), response, chain);
+                return;
+            }
+            IdempotencyRecord record;
+            try {
+                record = running.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            } catch (ExecutionException e) {
+                // Not completed exceptionally by the store, but if it were, try the key again
+                continue;
+            }
+            if (record != null) {
+                replay(record, fingerprint, response);
+                return;
+            }
+            // The first request kept no response, so this one runs it again
+        }
+    }
+
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper recording = new ContentCachingResponseWrapper(response);
+        IdempotencyRecord record = null;
+        try {
+            chain.doFilter(request, recording);
+            if (keep(recording.getStatus())) {
+                record = store.newRecord(key, fingerprint, recording.getStatus(), recording.getContentType(),
+                        new String(recording.getContentAsByteArray(), StandardCharsets.UTF_8));
+            }
+        } finally {
+            store.complete(key, record);
+        }
+        recording.copyBodyToResponse();
+    }
+
+    private static boolean keep(int status) {
+        return status < 500 && status != HttpStatus.FORBIDDEN.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static void replay(IdempotencyRecord record, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        response.setStatus(record.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getBody() != null) {
+            byte[] body = record.getBody().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.ticketbooking.filter;
+
+import com.example.ticketbooking.config.ReplicaRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Carries read-your-writes across requests when reads go to replicas: a request that commits a
+ * write answers with the write's position in {@value #HEADER}, and a request that sends the
+ * header back has its reads served by the primary until a replica has caught up with that
+ * position. Clients echo the latest value they were given. Without replicas the header is
+ * never set and is ignored.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Last-Write";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Writes made on this thread by outer filters belong to earlier requests
+        ReplicaRouting.clear();
+        String lastWrite = request.getHeader(HEADER);
+        if (lastWrite != null) {
+            try {
+                ReplicaRouting.readAfter(Long.parseLong(lastWrite));
+            } catch (NumberFormatException e) {
+                // Not one of ours; read like any other caller
+            }
+        }
+        ReplicaRouting.onWrite(position -> {
+            // Writes commit before the controller returns, so the response is normally still open
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(position));
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.clear();
+        }
+    }
+}
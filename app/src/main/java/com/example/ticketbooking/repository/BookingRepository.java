@@ -0,0 +1,80 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.BookingRow;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    // Seat totals include holds that have not expired yet: their seats are taken until then
+
+    @Query("SELECT COALESCE(SUM(b.seatsBooked), 0) FROM Booking b WHERE b.event = :event AND b.status IN ('ACTIVE', 'HOLD')")
+    int sumSeatsBookedByEvent(@Param("event") Event event);
+
+    @Query("SELECT b.event.id, SUM(b.seatsBooked) FROM Booking b WHERE b.status IN ('ACTIVE', 'HOLD') GROUP BY b.event.id")
+    List<Object[]> sumActiveSeatsGroupedByEvent();
+
+    @Query("SELECT b.event.id FROM Booking b WHERE b.bookingId = :bookingId")
+    Optional<Long> findEventIdByBookingId(@Param("bookingId") Long bookingId);
+
+    boolean existsByEventAndUserIdAndStatus(Event event, String userId, BookingStatus status);
+
+    boolean existsByEventAndUserIdAndStatusIn(Event event, String userId, Collection<BookingStatus> statuses);
+
+    @Query("SELECT b.userId FROM Booking b WHERE b.event = :event AND b.status IN :statuses AND b.userId IN :userIds")
+    List<String> findUserIdsWithStatusIn(@Param("event") Event event, @Param("userIds") Collection<String> userIds,
+                                         @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("SELECT b.userId FROM Booking b WHERE b.event = :event AND b.status IN :statuses")
+    List<String> findUserIdsByEventAndStatusIn(@Param("event") Event event,
+                                               @Param("statuses") Collection<BookingStatus> statuses);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT b.event.id, b.userId FROM Booking b WHERE b.status IN :statuses")
+    Stream<Object[]> streamEventUserIdsWithStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("SELECT b FROM Booking b WHERE b.event = :event AND b.status = :status")
+    List<Booking> findByEventAndStatus(@Param("event") Event event, @Param("status") BookingStatus status);
+
+    // Listings page by booking id: each page starts after the last id of the previous one
+
+    @Query("SELECT b FROM Booking b WHERE b.userId = :userId AND b.bookingId > :afterId ORDER BY b.bookingId")
+    List<Booking> findPageByUserId(@Param("userId") String userId, @Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT b FROM Booking b WHERE b.event.id = :eventId AND b.status = :status AND b.bookingId > :afterId " +
+            "ORDER BY b.bookingId")
+    List<Booking> findPageByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") BookingStatus status,
+                                             @Param("afterId") long afterId, Limit limit);
+
+    // For exports: rows come off the cursor a fetch at a time and are never managed entities
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT new com.example.ticketbooking.dto.BookingRow(" +
+            "b.bookingId, b.event.id, b.userId, b.seatsBooked, b.seatLabels, b.status, b.holdExpiresAt) " +
+            "FROM Booking b WHERE b.event.id = :eventId AND b.status = :status ORDER BY b.bookingId")
+    Stream<BookingRow> streamByEventIdAndStatus(@Param("eventId") Long eventId, @Param("status") BookingStatus status);
+
+    @Query("SELECT DISTINCT b.event.id FROM Booking b WHERE b.bookingId IN :bookingIds")
+    List<Long> findEventIdsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.event WHERE b.bookingId IN :bookingIds AND b.status = 'HOLD'")
+    List<Booking> findHoldsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT b.bookingId, b.holdExpiresAt, b.event.id FROM Booking b WHERE b.status = 'HOLD'")
+    List<Object[]> findHoldDeadlines();
+
+    @Query("SELECT b.bookingId FROM Booking b WHERE b.bookingId IN :bookingIds")
+    List<Long> findExistingBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+}
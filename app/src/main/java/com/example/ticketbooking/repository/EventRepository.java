@@ -0,0 +1,77 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.dto.EventSummary;
+import com.example.ticketbooking.entity.Event;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventRepository extends JpaRepository<Event, Long> {
+    String SUMMARY = "SELECT new com.example.ticketbooking.dto.EventSummary(" +
+            "e.id, e.name, e.date, e.location, e.totalSeats, e.availableSeats) FROM Event e ";
+
+    @Query(SUMMARY + "ORDER BY e.date, e.id")
+    List<EventSummary> findPageByDate(Limit limit);
+
+    @Query(SUMMARY + "WHERE e.date >= :date AND (e.date > :date OR e.id > :id) " +
+            "ORDER BY e.date, e.id")
+    List<EventSummary> findPageByDateAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "ORDER BY e.location, e.id")
+    List<EventSummary> findPageByLocation(Limit limit);
+
+    @Query(SUMMARY + "WHERE e.location >= :location AND (e.location > :location OR e.id > :id) " +
+            "ORDER BY e.location, e.id")
+    List<EventSummary> findPageByLocationAfter(@Param("location") String location, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "ORDER BY e.availableSeats DESC, e.id")
+    List<EventSummary> findPageByAvailability(Limit limit);
+
+    @Query(SUMMARY + "WHERE e.availableSeats <= :seats AND (e.availableSeats < :seats OR e.id > :id) " +
+            "ORDER BY e.availableSeats DESC, e.id")
+    List<EventSummary> findPageByAvailabilityAfter(@Param("seats") int seats, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT new com.example.ticketbooking.dto.EventDetail(" +
+            "e.id, e.name, e.date, e.location, e.totalSeats, e.bookedSeats, e.availableSeats) " +
+            "FROM Event e WHERE e.id = :eventId")
+    Optional<EventDetail> findDetailById(@Param("eventId") Long eventId);
+
+    @Query("SELECT e.id, e.totalSeats FROM Event e")
+    List<Object[]> findAllCapacities();
+
+    @Query("SELECT e.id, e.totalSeats, e.bookedSeats FROM Event e")
+    List<Object[]> findAllSeatCounts();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.bookedSeats = e.bookedSeats + :seats, e.availableSeats = e.availableSeats - :seats " +
+            "WHERE e.id = :eventId AND e.availableSeats >= :seats")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.bookedSeats = e.bookedSeats - :seats, e.availableSeats = e.availableSeats + :seats " +
+            "WHERE e.id = :eventId AND e.bookedSeats >= :seats")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Event e SET e.totalSeats = :totalSeats, e.availableSeats = :totalSeats - e.bookedSeats " +
+            "WHERE e.id = :eventId AND e.bookedSeats <= :totalSeats")
+    int resizeSeats(@Param("eventId") Long eventId, @Param("totalSeats") int totalSeats);
+
+    /**
+     * Writes the seat counts recorded in the booking ledger back to the event, at startup.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Event e SET e.totalSeats = :totalSeats, e.bookedSeats = :bookedSeats, " +
+            "e.availableSeats = :totalSeats - :bookedSeats WHERE e.id = :eventId")
+    int restoreSeatCounts(@Param("eventId") Long eventId, @Param("totalSeats") int totalSeats,
+                          @Param("bookedSeats") int bookedSeats);
+}
@@ -0,0 +1,20 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.EventSeatMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EventSeatMapRepository extends JpaRepository<EventSeatMap, Long> {
+
+    /**
+     * Replaces the bitmap if the row is still at {@code version}.
+     *
+     * @return 0 if someone else wrote it since
+     */
+    @Modifying
+    @Query("UPDATE EventSeatMap m SET m.sold = :sold, m.version = m.version + 1 " +
+            "WHERE m.eventId = :eventId AND m.version = :version")
+    int updateSold(@Param("eventId") Long eventId, @Param("sold") byte[] sold, @Param("version") long version);
+}
@@ -0,0 +1,17 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.OutboxCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxCheckpointRepository extends JpaRepository<OutboxCheckpoint, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM OutboxCheckpoint c WHERE c.relay = :relay")
+    Optional<OutboxCheckpoint> lockByRelay(@Param("relay") String relay);
+}
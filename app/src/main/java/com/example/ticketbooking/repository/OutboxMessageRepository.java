@@ -0,0 +1,25 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.ChangeMessage;
+import com.example.ticketbooking.entity.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Straight into the published form: no managed entities to track for a batch that is only deleted
+    @Query("SELECT new com.example.ticketbooking.dto.ChangeMessage(" +
+            "0L, m.id, m.type, m.aggregateId, m.eventId, m.payload, m.createdAt) " +
+            "FROM OutboxMessage m ORDER BY m.id")
+    List<ChangeMessage> findOldest(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,144 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.dto.BookingRow;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.SeatLabelsConverter;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to the {@code booking} table for the reactive profile; mirrors {@link BookingRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveBookingRepository {
+    private static final String COLUMNS = "booking_id, event_id, user_id, seats_booked, status";
+    private static final SeatLabelsConverter SEAT_LABELS = new SeatLabelsConverter();
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveBookingRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Booking> findById(Long bookingId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM booking WHERE booking_id = :id")
+                .bind("id", bookingId)
+                .map((row, metadata) -> toBooking(row))
+                .one();
+    }
+
+    public Flux<Booking> findPageByUserId(String userId, long afterId, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM booking " +
+                        "WHERE user_id = :userId AND booking_id > :afterId ORDER BY booking_id LIMIT :limit")
+                .bind("userId", userId)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toBooking(row))
+                .all();
+    }
+
+    public Flux<Booking> findPageByEventIdAndStatus(Long eventId, BookingStatus status, long afterId, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM booking " +
+                        "WHERE event_id = :eventId AND status = :status AND booking_id > :afterId " +
+                        "ORDER BY booking_id LIMIT :limit")
+                .bind("eventId", eventId)
+                .bind("status", status.name())
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toBooking(row))
+                .all();
+    }
+
+    /**
+     * All of the event's bookings in the given status as export rows, emitted as the driver
+     * reads them.
+     */
+    public Flux<BookingRow> streamByEventIdAndStatus(Long eventId, BookingStatus status) {
+        return databaseClient.sql("SELECT " + COLUMNS + ", seat_labels, hold_expires_at FROM booking " +
+                        "WHERE event_id = :eventId AND status = :status ORDER BY booking_id")
+                .bind("eventId", eventId)
+                .bind("status", status.name())
+                .map((row, metadata) -> new BookingRow(
+                        row.get("booking_id", Long.class),
+                        row.get("event_id", Long.class),
+                        row.get("user_id", String.class),
+                        row.get("seats_booked", Integer.class),
+                        SEAT_LABELS.convertToEntityAttribute(row.get("seat_labels", String.class)),
+                        BookingStatus.valueOf(row.get("status", String.class)),
+                        row.get("hold_expires_at", LocalDateTime.class)))
+                .all();
+    }
+
+    public Mono<Boolean> existsByEventIdAndUserIdAndStatus(Long eventId, String userId, BookingStatus status) {
+        return databaseClient.sql("SELECT COUNT(*) AS matches FROM booking " +
+                        "WHERE event_id = :eventId AND user_id = :userId AND status = :status")
+                .bind("eventId", eventId)
+                .bind("userId", userId)
+                .bind("status", status.name())
+                .map((row, metadata) -> row.get("matches", Long.class) > 0)
+                .one();
+    }
+
+    /**
+     * Inserts an active booking. Ids are drawn straight from {@code booking_seq}; each draw
+     * advances the sequence by its increment, so they never collide with other draws.
+     */
+    public Mono<Booking> insert(Long eventId, String userId, int seats) {
+        return databaseClient.sql("SELECT NEXT VALUE FOR booking_seq AS id")
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .flatMap(bookingId -> databaseClient.sql("INSERT INTO booking (" + COLUMNS + ") " +
+                                "VALUES (:bookingId, :eventId, :userId, :seats, :status)")
+                        .bind("bookingId", bookingId)
+                        .bind("eventId", eventId)
+                        .bind("userId", userId)
+                        .bind("seats", seats)
+                        .bind("status", BookingStatus.ACTIVE.name())
+                        .fetch()
+                        .rowsUpdated()
+                        .map(inserted -> {
+                            Booking booking = new Booking();
+                            booking.setBookingId(bookingId);
+                            booking.setUserId(userId);
+                            booking.setSeatsBooked(seats);
+                            booking.setStatus(BookingStatus.ACTIVE);
+                            return booking;
+                        }));
+    }
+
+    /**
+     * Moves a booking from one status to another only if it is still in the expected one.
+     */
+    public Mono<Long> updateStatus(Long bookingId, BookingStatus from, BookingStatus to) {
+        return databaseClient.sql("UPDATE booking SET status = :to WHERE booking_id = :id AND status = :from")
+                .bind("to", to.name())
+                .bind("id", bookingId)
+                .bind("from", from.name())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> findEventIdByBookingId(Long bookingId) {
+        return databaseClient.sql("SELECT event_id FROM booking WHERE booking_id = :id")
+                .bind("id", bookingId)
+                .map((row, metadata) -> row.get("event_id", Long.class))
+                .one();
+    }
+
+    private static Booking toBooking(Row row) {
+        Booking booking = new Booking();
+        booking.setBookingId(row.get("booking_id", Long.class));
+        booking.setUserId(row.get("user_id", String.class));
+        booking.setSeatsBooked(row.get("seats_booked", Integer.class));
+        booking.setStatus(BookingStatus.valueOf(row.get("status", String.class)));
+        return booking;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.Event;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to the {@code event} table for the reactive profile; mirrors {@link EventRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEventRepository {
+    private static final String COLUMNS = "id, name, date, location, total_seats, booked_seats, available_seats";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEventRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<Event> findById(Long eventId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM event WHERE id = :id")
+                .bind("id", eventId)
+                .map((row, metadata) -> toEvent(row))
+                .one();
+    }
+
+    /**
+     * Keyset page in the order of the matching {@link EventRepository} {@code findPageBy*} query;
+     * {@code afterKey} and {@code afterId} come from the last event of the previous page, or are
+     * {@code null} for the first page.
+     */
+    public Flux<Event> findPage(String sortBy, Object afterKey, Long afterId, int limit) {
+        String column = switch (sortBy) {
+            case "availability" -> "available_seats";
+            case "location" -> "location";
+            default -> "date";
+        };
+        boolean descending = sortBy.equals("availability");
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM event ");
+        if (afterId != null) {
+            String past = descending ? " < " : " > ";
+            String pastOrEqual = descending ? " <= " : " >= ";
+            sql.append("WHERE ").append(column).append(pastOrEqual).append(":key AND (")
+                    .append(column).append(past).append(":key OR id > :id) ");
+        }
+        sql.append("ORDER BY ").append(column).append(descending ? " DESC" : "").append(", id LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("limit", limit);
+        if (afterId != null) {
+            spec = spec.bind("key", afterKey).bind("id", afterId);
+        }
+        return spec.map((row, metadata) -> toEvent(row)).all();
+    }
+
+    public Mono<Event> insert(Event event) {
+        return databaseClient.sql("INSERT INTO event (name, date, location, total_seats, booked_seats, available_seats) " +
+                        "VALUES (:name, :date, :location, :totalSeats, 0, :totalSeats)")
+                .bind("name", event.getName())
+                .bind("date", event.getDate())
+                .bind("location", event.getLocation())
+                .bind("totalSeats", event.getTotalSeats())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    event.setId(id);
+                    event.setAvailableSeats(event.getTotalSeats());
+                    return event;
+                });
+    }
+
+    /**
+     * Same guarded update as {@link EventRepository#reserveSeats}.
+     */
+    public Mono<Long> reserveSeats(Long eventId, int seats) {
+        return databaseClient.sql("UPDATE event SET booked_seats = booked_seats + :seats, available_seats = available_seats - :seats " +
+                        "WHERE id = :id AND available_seats >= :seats")
+                .bind("seats", seats)
+                .bind("id", eventId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> releaseSeats(Long eventId, int seats) {
+        return databaseClient.sql("UPDATE event SET booked_seats = booked_seats - :seats, available_seats = available_seats + :seats " +
+                        "WHERE id = :id AND booked_seats >= :seats")
+                .bind("seats", seats)
+                .bind("id", eventId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long eventId) {
+        return databaseClient.sql("DELETE FROM event WHERE id = :id")
+                .bind("id", eventId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Event toEvent(Row row) {
+        Event event = new Event();
+        event.setId(row.get("id", Long.class));
+        event.setName(row.get("name", String.class));
+        event.setDate(row.get("date", LocalDateTime.class));
+        event.setLocation(row.get("location", String.class));
+        event.setTotalSeats(row.get("total_seats", Integer.class));
+        event.setBookedSeats(row.get("booked_seats", Integer.class));
+        event.setAvailableSeats(row.get("available_seats", Integer.class));
+        return event;
+    }
+}
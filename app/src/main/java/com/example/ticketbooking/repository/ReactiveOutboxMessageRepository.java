@@ -0,0 +1,36 @@
+package com.example.ticketbooking.repository;
+
+import com.example.ticketbooking.entity.OutboxMessage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC inserts into the {@code outbox_message} table for the reactive profile; the relay still
+ * reads and deletes the rows through {@link OutboxMessageRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveOutboxMessageRepository {
+    private final DatabaseClient databaseClient;
+
+    public ReactiveOutboxMessageRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts the message. As in {@link ReactiveBookingRepository#insert}, its id is drawn straight
+     * from {@code outbox_seq}.
+     */
+    public Mono<Void> insert(OutboxMessage message) {
+        return databaseClient.sql("INSERT INTO outbox_message (id, type, aggregate_id, event_id, payload, created_at) " +
+                        "VALUES (NEXT VALUE FOR outbox_seq, :type, :aggregateId, :eventId, :payload, :createdAt)")
+                .bind("type", message.getType().name())
+                .bind("aggregateId", message.getAggregateId())
+                .bind("eventId", message.getEventId())
+                .bind("payload", message.getPayload())
+                .bind("createdAt", message.getCreatedAt())
+                .then();
+    }
+}
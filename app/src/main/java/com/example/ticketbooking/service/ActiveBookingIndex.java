@@ -0,0 +1,241 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of the users holding a seat-taking booking (ACTIVE or HOLD) per event, so the
+ * duplicate-booking check does not need a database round-trip for users who have none.
+ * <p>
+ * Users are kept as 64-bit hashes of their id. A miss is definite; a hit only means the user
+ * may have a booking and is confirmed against the database, which also covers hash collisions
+ * and the difference between ACTIVE and HOLD. The index may therefore hold too many users but
+ * never too few: users are added when their booking is inserted and dropped again if that
+ * transaction rolls back, while cancellations and expiries only remove them once committed.
+ * It is rebuilt at startup; events that are not loaded yet are read lazily. In a cluster only
+ * the events this instance owns are kept, like in {@link SeatInventory}.
+ */
+@Slf4j
+@Component
+public class ActiveBookingIndex {
+    private final ConcurrentMap<Long, UserHashSet> usersByEvent = new ConcurrentHashMap<>();
+    private final BookingRepository bookingRepository;
+    private final ClusterMembership membership;
+
+    public ActiveBookingIndex(BookingRepository bookingRepository, ClusterMembership membership) {
+        this.bookingRepository = bookingRepository;
+        this.membership = membership;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, UserHashSet> loaded = new HashMap<>();
+        long users = 0;
+        try (Stream<Object[]> rows = ReplicaRouting.onPrimary(
+                () -> bookingRepository.streamEventUserIdsWithStatusIn(BookingStatus.SEAT_TAKING))) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                loaded.computeIfAbsent((Long) row[0], id -> new UserHashSet()).add(hash((String) row[1]));
+                users++;
+            }
+        }
+        // Keep sets that were loaded lazily, and with them the bookings made since
+        loaded.forEach(usersByEvent::putIfAbsent);
+        log.info("Active booking index rebuilt with {} users across {} events", users, loaded.size());
+    }
+
+    /**
+     * @return {@code false} if the user has no ACTIVE or HOLD booking for the event; {@code true}
+     * if they may have one, which the caller has to confirm
+     */
+    public boolean mightHaveBooking(Event event, String userId) {
+        return users(event).contains(hash(userId));
+    }
+
+    /**
+     * Records a booking inserted in the current transaction; it is taken out again on rollback.
+     * Must be called under the event's lock stripe.
+     */
+    public void added(Event event, String userId) {
+        UserHashSet users = users(event);
+        long hash = hash(userId);
+        if (users.add(hash)) {
+            TransactionCallbacks.afterRollback(() -> users.remove(hash));
+        }
+    }
+
+    /**
+     * Drops a user whose booking stops taking seats, once the current transaction commits.
+     */
+    public void removed(Event event, String userId) {
+        UserHashSet users = users(event);
+        long hash = hash(userId);
+        TransactionCallbacks.afterCommit(() -> users.remove(hash));
+    }
+
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent change) {
+        usersByEvent.keySet().removeIf(change::moved);
+    }
+
+    private UserHashSet users(Event event) {
+        UserHashSet users = usersByEvent.get(event.getId());
+        if (users != null) {
+            return users;
+        }
+        // Loaded outside computeIfAbsent, like the seat counters in SeatInventory
+        UserHashSet loaded = new UserHashSet();
+        ReplicaRouting.onPrimary(() -> bookingRepository.findUserIdsByEventAndStatusIn(event, BookingStatus.SEAT_TAKING))
+                .forEach(userId -> loaded.add(hash(userId)));
+        // A set read from a replica may miss recent bookings, so it is only used once
+        if (!membership.isLocal(event.getId()) || ReplicaRouting.isReplicaTransaction()) {
+            return loaded;
+        }
+        users = usersByEvent.putIfAbsent(event.getId(), loaded);
+        return users != null ? users : loaded;
+    }
+
+    // FNV-1a over the UTF-16 code units, then MurmurHash3's finalizer to spread the bits
+    static long hash(String userId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < userId.length(); i++) {
+            h ^= userId.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        // Zero marks an empty slot
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Open-addressing set of non-zero longs with linear probing, 8 bytes per slot. Lookups are
+     * optimistic reads that only retry under the read lock if a write got in between.
+     */
+    static final class UserHashSet {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final StampedLock lock = new StampedLock();
+        private long[] slots = new long[INITIAL_CAPACITY];
+        private int size;
+
+        boolean contains(long hash) {
+            long stamp = lock.tryOptimisticRead();
+            boolean found = find(slots, hash) >= 0;
+            if (lock.validate(stamp)) {
+                return found;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(slots, hash) >= 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        boolean add(long hash) {
+            long stamp = lock.writeLock();
+            try {
+                if (find(slots, hash) >= 0) {
+                    return false;
+                }
+                // Keep the load factor at or below one half so probe sequences stay short
+                if ((size + 1) * 2 > slots.length) {
+                    long[] grown = new long[slots.length * 2];
+                    for (long existing : slots) {
+                        if (existing != 0) {
+                            insert(grown, existing);
+                        }
+                    }
+                    slots = grown;
+                }
+                insert(slots, hash);
+                size++;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        boolean remove(long hash) {
+            long stamp = lock.writeLock();
+            try {
+                int index = find(slots, hash);
+                if (index < 0) {
+                    return false;
+                }
+                // Backward-shift deletion: pull later entries of the probe run into the gap
+                int mask = slots.length - 1;
+                int gap = index;
+                int next = (gap + 1) & mask;
+                while (slots[next] != 0) {
+                    int home = home(slots[next], mask);
+                    if (((next - home) & mask) >= ((next - gap) & mask)) {
+                        slots[gap] = slots[next];
+                        gap = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                slots[gap] = 0;
+                size--;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private static int find(long[] slots, long hash) {
+            int mask = slots.length - 1;
+            // Bounded, so a torn optimistic read cannot loop forever
+            for (int probe = 0, index = home(hash, mask); probe < slots.length; probe++, index = (index + 1) & mask) {
+                long slot = slots[index];
+                if (slot == hash) {
+                    return index;
+                }
+                if (slot == 0) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        private static void insert(long[] slots, long hash) {
+            int mask = slots.length - 1;
+            int index = home(hash, mask);
+            while (slots[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = hash;
+        }
+
+        private static int home(long hash, int mask) {
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
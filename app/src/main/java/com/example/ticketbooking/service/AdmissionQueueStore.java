@@ -0,0 +1,44 @@
+package com.example.ticketbooking.service;
+
+import java.util.Optional;
+
+/**
+ * Shared state of the waiting rooms: the tickets and, per event, how many have been issued and
+ * admitted. Each operation must be atomic, so that several nodes sharing one store admit
+ * tickets in a single order and at the configured rate between them.
+ * <p>
+ * {@link InMemoryAdmissionQueueStore} keeps everything in process; a multi-node deployment
+ * declares a {@code @Primary} implementation backed by a store all nodes share.
+ */
+public interface AdmissionQueueStore {
+
+    /**
+     * Issues a ticket at the back of the event's queue, or returns the user's existing ticket.
+     *
+     * @return the ticket, or {@code null} if {@code maxWaiting} tickets are already waiting
+     */
+    QueueTicket join(Long eventId, String userId, int maxWaiting, long nowMillis);
+
+    /**
+     * Looks a ticket up and marks it as seen at {@code nowMillis}.
+     */
+    Optional<QueueTicket> find(String token, long nowMillis);
+
+    /**
+     * Admits waiting tickets of the event from a token bucket that refills at {@code perSecond}
+     * and holds at most {@code burst}.
+     *
+     * @return how many of the event's tickets have been admitted so far; a ticket is admitted
+     * when its sequence is below this
+     */
+    long admit(Long eventId, int perSecond, int burst, long nowMillis);
+
+    void remove(String token);
+
+    /**
+     * Drops tickets not seen since {@code idleSinceMillis}.
+     *
+     * @return the number of tickets dropped
+     */
+    int purge(long idleSinceMillis);
+}
@@ -0,0 +1,112 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.AdmissionProperties;
+import com.example.ticketbooking.dto.QueueStatus;
+import com.example.ticketbooking.exception.NotAdmittedException;
+import com.example.ticketbooking.exception.QueueFullException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Virtual waiting room in front of the booking path.
+ * <p>
+ * Clients join an event's FIFO queue and poll their ticket; the queue admits tickets at
+ * {@code booking.admission.admissions-per-second}, and only an admitted ticket for the same
+ * event and user may create a booking. However many clients arrive at once, bookings reach the
+ * database at the admission rate, and everyone else waits in memory rather than on a lock
+ * stripe or a connection. Admission is decided lazily whenever a queue is looked at, so there
+ * is no timer per event.
+ */
+@Slf4j
+@Service
+public class AdmissionService {
+    public static final String TOKEN_HEADER = "X-Queue-Token";
+
+    private final AdmissionQueueStore store;
+    private final AdmissionProperties properties;
+
+    public AdmissionService(AdmissionQueueStore store, AdmissionProperties properties) {
+        this.store = store;
+        this.properties = properties;
+    }
+
+    public QueueStatus join(Long eventId, String userId) {
+        QueueTicket ticket = store.join(eventId, userId, properties.getMaxQueueLength(), System.currentTimeMillis());
+        if (ticket == null) {
+            log.warn("Waiting room for event {} is full, turned away user {}", eventId, userId);
+            throw new QueueFullException(eventId);
+        }
+        return status(ticket, admit(eventId));
+    }
+
+    public QueueStatus getStatus(String token) {
+        QueueTicket ticket = store.find(token, System.currentTimeMillis())
+                .orElseThrow(() -> new EntityNotFoundException("Queue ticket not found or expired"));
+        return status(ticket, admit(ticket.getEventId()));
+    }
+
+    /**
+     * Lets a booking for {@code eventId} and {@code userId} through only with an admitted
+     * ticket. Does nothing when the waiting room is disabled.
+     */
+    public void checkAdmitted(String token, Long eventId, String userId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (token == null || token.isBlank()) {
+            throw new NotAdmittedException("Join the waiting room first and send its token in the " + TOKEN_HEADER + " header");
+        }
+        QueueTicket ticket = store.find(token, System.currentTimeMillis())
+                .orElseThrow(() -> new NotAdmittedException("Queue ticket not found or expired"));
+        if (!ticket.getEventId().equals(eventId) || !ticket.getUserId().equals(userId)) {
+            throw new NotAdmittedException("Queue ticket was issued for another event or user");
+        }
+        long admitted = admit(eventId);
+        if (ticket.getSequence() >= admitted) {
+            throw new NotAdmittedException("Not admitted yet, position " + (ticket.getSequence() - admitted + 1));
+        }
+    }
+
+    /**
+     * Refuses bulk bookings while the waiting room is enabled: a batch carries no tickets of its
+     * own, so letting it through would book any number of users past the queue.
+     */
+    public void checkBatchAllowed() {
+        if (properties.isEnabled()) {
+            throw new NotAdmittedException("Batch bookings are not accepted while the waiting room is enabled; "
+                    + "book one at a time with an admitted " + TOKEN_HEADER);
+        }
+    }
+
+    /**
+     * Retires the ticket once it has been used for a booking.
+     */
+    public void complete(String token) {
+        if (properties.isEnabled() && token != null) {
+            store.remove(token);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeIdleTickets() {
+        int purged = store.purge(System.currentTimeMillis() - properties.getTicketIdleTimeout().toMillis());
+        if (purged > 0) {
+            log.info("Dropped {} idle queue tickets", purged);
+        }
+    }
+
+    private long admit(Long eventId) {
+        return store.admit(eventId, properties.getAdmissionsPerSecond(), properties.getBurst(), System.currentTimeMillis());
+    }
+
+    private QueueStatus status(QueueTicket ticket, long admitted) {
+        if (ticket.getSequence() < admitted) {
+            return new QueueStatus(ticket.getToken(), ticket.getEventId(), true, 0, 0);
+        }
+        long position = ticket.getSequence() - admitted + 1;
+        long waitSeconds = (position + properties.getAdmissionsPerSecond() - 1) / properties.getAdmissionsPerSecond();
+        return new QueueStatus(ticket.getToken(), ticket.getEventId(), false, position, waitSeconds);
+    }
+}
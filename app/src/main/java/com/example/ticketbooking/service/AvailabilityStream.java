@@ -0,0 +1,280 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.AvailabilityStreamProperties;
+import com.example.ticketbooking.dto.AvailabilityUpdate;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes seat availability to the clients of {@code /api/events/{id}/availability/stream}
+ * instead of having them poll for it.
+ * <p>
+ * Every event with subscribers has one channel. Seat changes only mark it dirty once they have
+ * committed; every {@code booking.availability-stream.interval} each dirty channel reads the
+ * event's seats once, serializes one update and hands that same string to all its subscribers,
+ * so a burst of bookings costs one update however many clients are watching.
+ * <p>
+ * A subscriber holds at most one pending update. A client still busy with an earlier one skips
+ * straight to the newest, and one whose write has not finished within
+ * {@code booking.availability-stream.slow-client-timeout} is disconnected, so slow clients
+ * neither queue memory nor hold up the others.
+ */
+@Slf4j
+@Component
+public class AvailabilityStream implements SchedulingConfigurer {
+    public static final String EVENT_NAME = "availability";
+
+    private final SeatInventory seatInventory;
+    private final EventRepository eventRepository;
+    private final AvailabilityStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders;
+
+    public AvailabilityStream(SeatInventory seatInventory, EventRepository eventRepository,
+                              AvailabilityStreamProperties properties, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.seatInventory = seatInventory;
+        this.eventRepository = eventRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(),
+                new CustomizableThreadFactory("availability-sse-"));
+        Gauge.builder("booking.availability.subscribers", this, AvailabilityStream::subscriberCount)
+                .description("Clients connected to availability streams")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::publishDue, properties.getInterval());
+    }
+
+    /**
+     * Opens a stream for the event that starts with its current availability.
+     *
+     * @throws EntityNotFoundException if there is no such event
+     */
+    public SseEmitter subscribe(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        // Only the first subscriber of an event loads it
+        Event event = channels.containsKey(eventId) ? null : eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(eventId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        Channel channel = channels.compute(eventId, (id, existing) -> {
+            Channel joined = existing != null ? existing : new Channel(id, event != null ? event : load(id));
+            joined.subscribers.add(subscriber);
+            return joined;
+        });
+        subscriber.offer(channel.latest);
+        return emitter;
+    }
+
+    /**
+     * Marks the event's availability as changed; called once the change has committed.
+     */
+    public void seatsChanged(Long eventId) {
+        Channel channel = channels.get(eventId);
+        if (channel != null) {
+            channel.dirty = true;
+        }
+    }
+
+    /**
+     * Like {@link #seatsChanged}, for changes to the event itself, which is reloaded before
+     * the next update. Subscribers of a deleted event are disconnected.
+     */
+    public void eventChanged(Long eventId) {
+        Channel channel = channels.get(eventId);
+        if (channel != null) {
+            channel.reload = true;
+            channel.dirty = true;
+        }
+    }
+
+    /**
+     * Sends one update to the subscribers of each event whose seats changed since the last run.
+     */
+    public void publishDue() {
+        for (Channel channel : channels.values()) {
+            if (!channel.dirty) {
+                continue;
+            }
+            // Cleared before reading, so a change committed meanwhile is picked up next time
+            channel.dirty = false;
+            try {
+                publish(channel);
+            } catch (RuntimeException e) {
+                channel.dirty = true;
+                log.error("Cannot publish availability of event {}, retrying next interval", channel.eventId, e);
+            }
+        }
+    }
+
+    /**
+     * Disconnects the subscribers of events that moved to another instance; they reconnect
+     * through the new owner, which is the only one to hear about their seat changes.
+     */
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent change) {
+        channels.values().removeIf(channel -> {
+            if (!change.moved(channel.eventId)) {
+                return false;
+            }
+            channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+            return true;
+        });
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(channel -> channel.subscribers.size()).sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void publish(Channel channel) {
+        if (channel.reload) {
+            channel.reload = false;
+            Optional<Event> event = eventRepository.findById(channel.eventId);
+            if (event.isEmpty()) {
+                channels.remove(channel.eventId);
+                channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+                return;
+            }
+            channel.event = event.get();
+        }
+        String update = update(channel.event);
+        // Bookings and cancellations that cancel each other out are not worth a message
+        if (update.equals(channel.latest)) {
+            return;
+        }
+        channel.latest = update;
+        for (Subscriber subscriber : channel.subscribers) {
+            subscriber.offer(update);
+        }
+    }
+
+    private Event load(Long eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+    }
+
+    private String update(Event event) {
+        try {
+            return objectMapper.writeValueAsString(new AvailabilityUpdate(event.getId(), event.getTotalSeats(),
+                    seatInventory.getAvailableSeats(event)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.eventId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private final class Channel {
+        final Long eventId;
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        volatile Event event;
+        volatile String latest;
+        volatile boolean dirty;
+        volatile boolean reload;
+
+        Channel(Long eventId, Event event) {
+            this.eventId = eventId;
+            this.event = event;
+            this.latest = update(event);
+        }
+    }
+
+    private final class Subscriber {
+        final Long eventId;
+        final SseEmitter emitter;
+        final AtomicReference<String> pending = new AtomicReference<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        // System.nanoTime() when the current write started, 0 between writes
+        volatile long writingSince;
+
+        Subscriber(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+
+        void offer(String update) {
+            // Replaces an update the client has not got to yet
+            pending.set(update);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+                return;
+            }
+            long since = writingSince;
+            if (since != 0 && System.nanoTime() - since > properties.getSlowClientTimeout().toNanos()) {
+                log.debug("Disconnecting slow availability subscriber of event {}", eventId);
+                unsubscribe(this);
+                emitter.complete();
+            }
+        }
+
+        private void drain() {
+            do {
+                String update;
+                while ((update = pending.getAndSet(null)) != null) {
+                    writingSince = System.nanoTime();
+                    try {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(update, MediaType.APPLICATION_JSON));
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; it gets the current seats when it reconnects
+                        log.debug("Dropping availability subscriber of event {}: {}", eventId, e.getMessage());
+                        unsubscribe(this);
+                        emitter.completeWithError(e);
+                        return;
+                    } finally {
+                        writingSince = 0;
+                    }
+                }
+                draining.set(false);
+                // An update offered after the last poll but before the flag cleared is still ours
+            } while (pending.get() != null && draining.compareAndSet(false, true));
+        }
+    }
+}
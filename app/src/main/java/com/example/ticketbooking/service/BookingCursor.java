@@ -0,0 +1,37 @@
+package com.example.ticketbooking.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a booking listing: the id of the last booking returned, which clients
+ * only ever see as an opaque base64url token like the {@link EventCursor}.
+ */
+final class BookingCursor {
+
+    private BookingCursor() {
+    }
+
+    static String encode(Long lastBookingId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("b|" + lastBookingId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the booking id to continue after, or 0 to start from the beginning
+     */
+    static long decode(String token) {
+        if (token == null) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith("b|")) {
+                throw new IllegalArgumentException("Not a booking cursor");
+            }
+            return Long.parseLong(raw.substring(2));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid booking cursor", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.BookingRow;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes all of an event's active bookings for box-office exports. Rows are read from a
+ * database cursor a fetch at a time and written straight to the response, so memory use does
+ * not grow with the number of bookings.
+ */
+@Slf4j
+@Component
+public class BookingExporter {
+    public static final String CSV_HEADER = "booking_id,event_id,user_id,seats_booked,seat_labels,status,hold_expires_at\n";
+
+    private final BookingRepository bookingRepository;
+    private final ObjectWriter rowWriter;
+
+    public BookingExporter(BookingRepository bookingRepository, ObjectMapper objectMapper) {
+        this.bookingRepository = bookingRepository;
+        // Flushing after every row would send each one as its own chunk
+        this.rowWriter = objectMapper.writerFor(BookingRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid export format. Must be one of: ndjson, csv");
+            }
+        }
+    }
+
+    /**
+     * @return the number of bookings written
+     */
+    @Transactional(readOnly = true)
+    public long exportEventBookings(Long eventId, Format format, OutputStream out) throws IOException {
+        try (Stream<BookingRow> rows = bookingRepository.streamByEventIdAndStatus(eventId, BookingStatus.ACTIVE)) {
+            long written = format == Format.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+            log.debug("Exported {} bookings of event {} as {}", written, eventId, format);
+            return written;
+        }
+    }
+
+    private long writeNdjson(Iterator<BookingRow> rows, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = rowWriter.createGenerator(out)) {
+            // The response stream is closed by the container, not by us
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Newlines are written explicitly, so no separator between values
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private long writeCsv(Iterator<BookingRow> rows, OutputStream out) throws IOException {
+        long written = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            writer.write(csvLine(rows.next()));
+            written++;
+        }
+        writer.flush();
+        return written;
+    }
+
+    public String ndjsonLine(BookingRow row) {
+        try {
+            return rowWriter.writeValueAsString(row) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String csvLine(BookingRow row) {
+        return row.getBookingId() + "," + row.getEventId() + "," + csvField(row.getUserId()) + ","
+                + row.getSeatsBooked() + ","
+                + (row.getSeatLabels() == null ? "" : csvField(String.join(" ", row.getSeatLabels()))) + ","
+                + (row.getStatus() == null ? "" : row.getStatus().name()) + ","
+                + (row.getHoldExpiresAt() == null ? "" : row.getHoldExpiresAt().toString()) + "\n";
+    }
+
+    // RFC 4180: quote fields with separators, quotes or line breaks, doubling inner quotes
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
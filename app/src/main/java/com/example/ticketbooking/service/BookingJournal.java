@@ -0,0 +1,355 @@
+package com.example.ticketbooking.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead journal of the bookings {@link WriteBehindBookings} has accepted but not yet
+ * written to the database.
+ * <p>
+ * Records are variable length: payload length and CRC32C checksum, then sequence, booking id,
+ * event id, seats, timestamp and the user id in UTF-8. Appends are plain channel writes and only
+ * become durable with {@link #force}, which the caller issues once for a whole group of records;
+ * a group that cannot be forced is taken back with {@link #discardLastAppend}.
+ * A segment is named after the sequence of its first record; once every record in a segment is
+ * in the database, {@link #discardThrough} deletes it. On open the records of the remaining
+ * segments are read back up to the first one that is torn or out of sequence, the segment is
+ * cut off there, and appending carries on after it.
+ * The directory is locked until {@link #close}, so a second instance pointed at it fails to open
+ * rather than replaying and discarding this one's records.
+ * <p>
+ * Not thread-safe: {@link WriteBehindBookings} serialises all calls.
+ */
+@Slf4j
+public final class BookingJournal {
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 38;
+    private static final int MAX_USER_ID_BYTES = 0xFFFF;
+    private static final Pattern SEGMENT = Pattern.compile("journal-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final DirectoryLock directoryLock;
+    private final long segmentSize;
+    private final CRC32C crc = new CRC32C();
+    private final List<Entry> recovered = new ArrayList<>();
+    // First sequence of every segment still on disk, the one being appended to last
+    private final List<Long> segments = new ArrayList<>();
+    private FileChannel channel;
+    private long size;
+    private long lastSequence;
+    // Where the last append started, for discardLastAppend
+    private long appendOffset;
+    private long appendPreviousSequence;
+
+    private BookingJournal(Path directory, DirectoryLock directoryLock, long segmentSize) {
+        this.directory = directory;
+        this.directoryLock = directoryLock;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed, and reads back the records
+     * still in it.
+     *
+     * @throws IOException also if another instance has the directory open
+     */
+    public static BookingJournal open(Path directory, long segmentSize) throws IOException {
+        BookingJournal journal = new BookingJournal(directory, DirectoryLock.acquire(directory), segmentSize);
+        try {
+            journal.recover();
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    /**
+     * @return the records found on open, in sequence order; some may be in the database already
+     */
+    public List<Entry> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Writes {@code entries}, whose sequences must follow on from {@link #lastSequence}, without
+     * forcing them to disk.
+     */
+    public void append(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        int bytes = 0;
+        for (Entry entry : entries) {
+            bytes += HEADER_SIZE + FIXED_PAYLOAD_SIZE + entry.userIdBytes().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        long sequence = lastSequence;
+        for (Entry entry : entries) {
+            if (entry.sequence() != ++sequence) {
+                throw new IllegalArgumentException("Journal record " + entry.sequence() + " does not follow " + (sequence - 1));
+            }
+            encode(entry, buffer);
+        }
+        buffer.flip();
+
+        appendPreviousSequence = lastSequence;
+        // Groups are never split, so a segment only ever ends on a group commit
+        if (channel == null || (size > 0 && size + bytes > segmentSize)) {
+            startSegment(entries.get(0).sequence());
+        }
+        appendOffset = size;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        size += bytes;
+        lastSequence = sequence;
+    }
+
+    /**
+     * Makes everything appended so far durable.
+     */
+    public void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Cuts the records of the last {@link #append} off the journal, so that records which could
+     * not be forced, and whose bookings were turned down, do not come back on the next open.
+     * Also undoes an append that failed part way.
+     */
+    public void discardLastAppend() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        channel.truncate(appendOffset);
+        channel.force(true);
+        size = appendOffset;
+        lastSequence = appendPreviousSequence;
+    }
+
+    /**
+     * Deletes the segments whose records all have a sequence up to {@code sequence}; the segment
+     * being appended to is kept.
+     */
+    public void discardThrough(long sequence) throws IOException {
+        while (segments.size() > 1 && segments.get(1) <= sequence + 1) {
+            Files.deleteIfExists(segmentPath(segments.remove(0)));
+        }
+    }
+
+    /**
+     * Forces and closes the current segment and releases the directory.
+     */
+    public void close() throws IOException {
+        try {
+            closeSegment();
+        } finally {
+            directoryLock.close();
+        }
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths = list();
+        for (int i = 0; i < paths.size(); i++) {
+            Path path = paths.get(i);
+            long first = firstSequence(path);
+            if (!recovered.isEmpty() && first != lastSequence + 1) {
+                setAside(paths.subList(i, paths.size()));
+                break;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            long sequence = first - 1;
+            int at = 0;
+            Entry entry;
+            while ((entry = decode(buffer, at)) != null && entry.sequence() == sequence + 1) {
+                recovered.add(entry);
+                sequence = entry.sequence();
+                at += HEADER_SIZE + FIXED_PAYLOAD_SIZE + entry.userIdBytes().length;
+            }
+            segments.add(first);
+            lastSequence = Math.max(lastSequence, sequence);
+            if (at < buffer.capacity()) {
+                // The journal ends inside this segment: cut off the torn tail and append after it
+                log.warn("Booking journal segment {} ends in a torn record at byte {}; truncating it",
+                        path.getFileName(), at);
+                channel = FileChannel.open(path, StandardOpenOption.WRITE);
+                channel.truncate(at);
+                channel.position(at);
+                size = at;
+                setAside(paths.subList(i + 1, paths.size()));
+                break;
+            }
+            if (i == paths.size() - 1) {
+                channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                size = at;
+            }
+        }
+        log.info("Booking journal opened at sequence {} with {} records not yet known to be written",
+                lastSequence, recovered.size());
+    }
+
+    private void setAside(List<Path> orphans) throws IOException {
+        for (Path orphan : orphans) {
+            log.warn("Booking journal segment {} follows a gap in the journal and is set aside", orphan.getFileName());
+            Files.move(orphan, orphan.resolveSibling(orphan.getFileName() + ".orphan"));
+        }
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        closeSegment();
+        channel = FileChannel.open(segmentPath(firstSequence), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segments.add(firstSequence);
+        size = 0;
+    }
+
+    private void encode(Entry entry, ByteBuffer buffer) {
+        byte[] userId = entry.userIdBytes();
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.putLong(entry.sequence());
+        buffer.putLong(entry.bookingId());
+        buffer.putLong(entry.eventId());
+        buffer.putInt(entry.seats());
+        buffer.putLong(entry.timestampMillis());
+        buffer.putShort((short) userId.length);
+        buffer.put(userId);
+        int payloadSize = FIXED_PAYLOAD_SIZE + userId.length;
+        buffer.putInt(start, payloadSize);
+        buffer.putInt(start + 4, checksum(buffer, start + HEADER_SIZE, payloadSize));
+    }
+
+    private Entry decode(ByteBuffer buffer, int at) {
+        if (at + HEADER_SIZE + FIXED_PAYLOAD_SIZE > buffer.capacity()) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(at);
+        if (payloadSize < FIXED_PAYLOAD_SIZE || payloadSize > FIXED_PAYLOAD_SIZE + MAX_USER_ID_BYTES
+                || at + HEADER_SIZE + payloadSize > buffer.capacity()
+                || buffer.getInt(at + 4) != checksum(buffer, at + HEADER_SIZE, payloadSize)) {
+            return null;
+        }
+        int payload = at + HEADER_SIZE;
+        int userIdLength = Short.toUnsignedInt(buffer.getShort(payload + 36));
+        if (userIdLength != payloadSize - FIXED_PAYLOAD_SIZE) {
+            return null;
+        }
+        byte[] userId = new byte[userIdLength];
+        buffer.get(payload + FIXED_PAYLOAD_SIZE, userId);
+        return new Entry(buffer.getLong(payload), buffer.getLong(payload + 8), buffer.getLong(payload + 16),
+                new String(userId, StandardCharsets.UTF_8), buffer.getInt(payload + 24), buffer.getLong(payload + 28));
+    }
+
+    private int checksum(ByteBuffer buffer, int at, int length) {
+        crc.reset();
+        crc.update(buffer.slice(at, length));
+        return (int) crc.getValue();
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("journal-%020d.log", firstSequence));
+    }
+
+    private List<Path> list() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> SEGMENT.matcher(path.getFileName().toString()).matches()).forEach(paths::add);
+        }
+        paths.sort(Comparator.comparingLong(BookingJournal::firstSequence));
+        return paths;
+    }
+
+    private static long firstSequence(Path path) {
+        Matcher matcher = SEGMENT.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * One journaled booking: an ACTIVE general-admission booking with its id already assigned.
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final long bookingId;
+        private final long eventId;
+        private final String userId;
+        private final int seats;
+        private final long timestampMillis;
+        private final byte[] userIdBytes;
+
+        public Entry(long sequence, long bookingId, long eventId, String userId, int seats, long timestampMillis) {
+            this.sequence = sequence;
+            this.bookingId = bookingId;
+            this.eventId = eventId;
+            this.userId = userId;
+            this.seats = seats;
+            this.timestampMillis = timestampMillis;
+            this.userIdBytes = userId.getBytes(StandardCharsets.UTF_8);
+            if (userIdBytes.length > MAX_USER_ID_BYTES) {
+                throw new IllegalArgumentException("User ID is too long for the booking journal");
+            }
+        }
+
+        public long sequence() {
+            return sequence;
+        }
+
+        public long bookingId() {
+            return bookingId;
+        }
+
+        public long eventId() {
+            return eventId;
+        }
+
+        public String userId() {
+            return userId;
+        }
+
+        public int seats() {
+            return seats;
+        }
+
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        byte[] userIdBytes() {
+            return userIdBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Entry[sequence=" + sequence + ", bookingId=" + bookingId + ", eventId=" + eventId
+                    + ", userId=" + userId + ", seats=" + seats + "]";
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.LedgerProperties;
+import com.example.ticketbooking.entity.Booking;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only history of every seat change: bookings and holds, cancellations and expiries, and
+ * capacity changes are recorded in a {@link LedgerLog} as their transaction commits, and the
+ * seats of each event are derived from it. The JPA tables are the queryable projection of it.
+ * <p>
+ * Records are appended just before commit, while the event's lock stripe is held, so each
+ * event's records are in commit order and the ledger is never behind the tables: a change whose
+ * record cannot be appended is rolled back, and one that fails to commit after its record was
+ * appended gets a compensating record. Only a crash in between leaves the ledger ahead, with
+ * seats taken that no booking holds, and {@link #reconcile} restores the event table from the
+ * ledger at startup.
+ */
+@Slf4j
+@Component
+public class BookingLedger {
+    private final LedgerProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LedgerLog ledgerLog;
+
+    public BookingLedger(LedgerProperties properties) {
+        this.properties = properties;
+        this.ledgerLog = properties.isEnabled() ? open(properties) : null;
+    }
+
+    private static LedgerLog open(LedgerProperties properties) {
+        try {
+            return LedgerLog.open(properties.getDirectory(), (int) properties.getSegmentSize().toBytes(),
+                    properties.isForceOnAppend());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open booking ledger in " + properties.getDirectory(), e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return ledgerLog != null;
+    }
+
+    public void bookingCreated(Booking booking) {
+        record(LedgerLog.RecordType.BOOKING_CREATED, booking.getEvent().getId(), booking.getBookingId(),
+                booking.getSeatsBooked());
+    }
+
+    /**
+     * Records seats handed back by a booking, whether it was cancelled or was a hold that expired.
+     */
+    public void bookingCanceled(Booking booking) {
+        record(LedgerLog.RecordType.BOOKING_CANCELED, booking.getEvent().getId(), booking.getBookingId(),
+                booking.getSeatsBooked());
+    }
+
+    /**
+     * Records a change of an event's capacity; creating an event adds all its seats and deleting
+     * it takes them all away.
+     */
+    public void seatsAdjusted(Long eventId, int delta) {
+        if (delta != 0) {
+            record(LedgerLog.RecordType.SEATS_ADJUSTED, eventId, 0, delta);
+        }
+    }
+
+    /**
+     * Derives each event's remaining seats from the ledger, checked against {@code seatCounts},
+     * rows of event id, total seats and booked seats from the event table. Where the two disagree
+     * on an event the ledger is right, and its counts are handed to {@code repair} to be written
+     * back to the table. Events the ledger has not seen, because it is new, are taken into it from
+     * the table, and events no longer in the table, for instance after the in-memory database
+     * restarted, are dropped from it.
+     * <p>
+     * With a {@code null} repair the ledger is rebased onto the table instead, for when it has
+     * not seen every change, as in a cluster where other instances book some of its events.
+     *
+     * @return remaining seats per event
+     */
+    public Map<Long, Integer> reconcile(List<Object[]> seatCounts, SeatCountRepair repair) {
+        Map<Long, LedgerLog.Totals> database = new HashMap<>();
+        for (Object[] row : seatCounts) {
+            database.put((Long) row[0], new LedgerLog.Totals((Integer) row[1], (Integer) row[2]));
+        }
+        Map<Long, LedgerLog.Totals> reconciled = new HashMap<>();
+        Map<Long, LedgerLog.Totals> repairs = new HashMap<>();
+        lock.lock();
+        try {
+            Map<Long, LedgerLog.Totals> recorded = ledgerLog.totals();
+            database.forEach((eventId, counted) -> {
+                LedgerLog.Totals totals = recorded.get(eventId);
+                if (totals == null || repair == null) {
+                    reconciled.put(eventId, counted);
+                } else {
+                    reconciled.put(eventId, totals);
+                    if (!totals.equals(counted)) {
+                        repairs.put(eventId, totals);
+                    }
+                }
+            });
+            if (!reconciled.equals(recorded)) {
+                if (recorded.isEmpty()) {
+                    log.info("Starting booking ledger from {} events in the database", database.size());
+                } else {
+                    log.warn("Rebasing booking ledger at sequence {} onto {} events in the database",
+                            ledgerLog.lastSequence(), database.size());
+                }
+                ledgerLog.rebase(reconciled);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rebase booking ledger", e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (!repairs.isEmpty()) {
+            log.warn("Event table disagrees with the booking ledger on {} events; restoring their seat counts",
+                    repairs.size());
+            repairs.forEach((eventId, totals) -> repair.restore(eventId, totals.capacity(), totals.booked()));
+        }
+        Map<Long, Integer> remaining = new HashMap<>();
+        reconciled.forEach((eventId, totals) -> remaining.put(eventId, totals.remaining()));
+        return remaining;
+    }
+
+    @Scheduled(fixedDelay = 10_000)
+    public void snapshotIfDue() {
+        if (isEnabled() && recordsSinceSnapshot() >= properties.getSnapshotEvery()) {
+            snapshot();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!isEnabled()) {
+            return;
+        }
+        if (recordsSinceSnapshot() > 0) {
+            snapshot();
+        }
+        lock.lock();
+        try {
+            ledgerLog.close();
+        } catch (IOException e) {
+            log.error("Cannot close booking ledger", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long recordsSinceSnapshot() {
+        lock.lock();
+        try {
+            return ledgerLog.recordsSinceSnapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void snapshot() {
+        long sequence;
+        Map<Long, LedgerLog.Totals> totals;
+        lock.lock();
+        try {
+            // Everything up to the snapshot must be on disk before the snapshot says so
+            ledgerLog.force();
+            sequence = ledgerLog.lastSequence();
+            totals = ledgerLog.totals();
+        } finally {
+            lock.unlock();
+        }
+        // Written outside the lock, so bookings keep appending meanwhile
+        try {
+            ledgerLog.writeSnapshot(sequence, totals);
+        } catch (IOException e) {
+            log.error("Cannot write booking ledger snapshot at sequence {}", sequence, e);
+            return;
+        }
+        lock.lock();
+        try {
+            ledgerLog.snapshotTaken(sequence);
+        } finally {
+            lock.unlock();
+        }
+        log.info("Booking ledger snapshot written at sequence {} for {} events", sequence, totals.size());
+    }
+
+    private void record(LedgerLog.RecordType type, long eventId, long bookingId, int seats) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(type, eventId, bookingId, seats);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean appended;
+
+            // Ahead of the lock stripe's synchronization, so a compensating record is appended before it unlocks
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                append(type, eventId, bookingId, seats);
+                appended = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (appended && status == STATUS_ROLLED_BACK) {
+                    compensate(type, eventId, bookingId, seats);
+                }
+            }
+        });
+    }
+
+    private void append(LedgerLog.RecordType type, long eventId, long bookingId, int seats) {
+        lock.lock();
+        try {
+            ledgerLog.append(type, eventId, bookingId, seats, System.currentTimeMillis());
+        } catch (IOException e) {
+            // Thrown before commit, so the change rolls back rather than get ahead of the ledger
+            throw new UncheckedIOException("Cannot append " + type + " for event " + eventId + " to the booking ledger", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Undoes a record whose transaction failed to commit after it was appended
+    private void compensate(LedgerLog.RecordType type, long eventId, long bookingId, int seats) {
+        try {
+            switch (type) {
+                case BOOKING_CREATED -> append(LedgerLog.RecordType.BOOKING_CANCELED, eventId, bookingId, seats);
+                case BOOKING_CANCELED -> append(LedgerLog.RecordType.BOOKING_CREATED, eventId, bookingId, seats);
+                case SEATS_ADJUSTED -> append(LedgerLog.RecordType.SEATS_ADJUSTED, eventId, bookingId, -seats);
+            }
+        } catch (UncheckedIOException e) {
+            log.error("Cannot undo {} for event {} in the booking ledger; it stays ahead of the database",
+                    type, eventId, e);
+        }
+    }
+
+    /**
+     * Writes an event's seat counts, as the ledger has them, back to the event table.
+     */
+    @FunctionalInterface
+    public interface SeatCountRepair {
+        void restore(Long eventId, int totalSeats, int bookedSeats);
+    }
+}
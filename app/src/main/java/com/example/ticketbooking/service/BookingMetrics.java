@@ -0,0 +1,119 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.exception.PastEventException;
+import com.example.ticketbooking.exception.SoldOutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the booking hot paths, tagged with the outcome of each call, plus seat counters.
+ * Timers publish percentile histograms, so latency percentiles can be aggregated across
+ * instances from the Prometheus scrape.
+ */
+@Component
+public class BookingMetrics {
+    public static final String CREATE = "booking.create";
+    public static final String CANCEL = "booking.cancel";
+    public static final String AVAILABILITY = "booking.availability";
+    public static final String EVENT_PAGE_QUERY = "booking.events.page.query";
+
+    public static final String SUCCESS = "success";
+    public static final String SOLD_OUT = "sold_out";
+    public static final String DUPLICATE = "duplicate";
+    public static final String PAST_EVENT = "past_event";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID = "invalid";
+    public static final String REJECTED = "rejected";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+    private final Counter seatsBooked;
+    private final Counter seatsReleased;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.seatsBooked = Counter.builder("booking.seats")
+                .description("Seats taken by bookings and holds")
+                .tag("change", "booked")
+                .register(meterRegistry);
+        this.seatsReleased = Counter.builder("booking.seats")
+                .description("Seats given back by cancellations and expired holds")
+                .tag("change", "released")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} and records its duration under {@code name}, tagged with how it ended.
+     */
+    public <T> T record(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        String outcome = ERROR;
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            timer(name, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void record(String name, Runnable action) {
+        record(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Counts seats taken by the current transaction once it commits.
+     */
+    public void seatsBooked(int seats) {
+        TransactionCallbacks.afterCommit(() -> seatsBooked.increment(seats));
+    }
+
+    public void seatsReleased(int seats) {
+        TransactionCallbacks.afterCommit(() -> seatsReleased.increment(seats));
+    }
+
+    static String outcome(RuntimeException e) {
+        if (e instanceof SoldOutException) {
+            return SOLD_OUT;
+        }
+        if (e instanceof DuplicateBookingException) {
+            return DUPLICATE;
+        }
+        if (e instanceof PastEventException) {
+            return PAST_EVENT;
+        }
+        if (e instanceof EntityNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return INVALID;
+        }
+        // Business rules such as a taken seat or an already cancelled booking
+        return e instanceof IllegalStateException ? REJECTED : ERROR;
+    }
+
+
+    private Timer timer(String name, String outcome) {
+        return timers.computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, o -> Timer.builder(name)
+                        .tag("outcome", o)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+}
@@ -0,0 +1,593 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.BatchProperties;
+import com.example.ticketbooking.config.HoldProperties;
+import com.example.ticketbooking.config.PaginationProperties;
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.exception.PastEventException;
+import com.example.ticketbooking.exception.SoldOutException;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class BookingService {
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final SeatInventory seatInventory;
+    private final StripedLockManager lockManager;
+    private final BatchProperties batchProperties;
+    private final EventCacheInvalidator cacheInvalidator;
+    private final SeatMapService seatMapService;
+    private final HoldTimer holdTimer;
+    private final HoldProperties holdProperties;
+    private final BookingMetrics metrics;
+    private final BookingLedger ledger;
+    private final ChangeOutbox changeOutbox;
+    private final PaginationProperties paginationProperties;
+    private final ActiveBookingIndex activeBookings;
+    private final ClusterMembership membership;
+    private final WriteBehindBookings writeBehind;
+    private final TransactionOperations transactions;
+
+    public BookingService(BookingRepository bookingRepository, EventRepository eventRepository,
+                          EventService eventService, SeatInventory seatInventory,
+                          StripedLockManager lockManager, BatchProperties batchProperties,
+                          EventCacheInvalidator cacheInvalidator, SeatMapService seatMapService,
+                          HoldTimer holdTimer, HoldProperties holdProperties, BookingMetrics metrics,
+                          BookingLedger ledger, ChangeOutbox changeOutbox,
+                          PaginationProperties paginationProperties, ActiveBookingIndex activeBookings,
+                          ClusterMembership membership, WriteBehindBookings writeBehind,
+                          TransactionOperations transactions) {
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.seatInventory = seatInventory;
+        this.lockManager = lockManager;
+        this.batchProperties = batchProperties;
+        this.cacheInvalidator = cacheInvalidator;
+        this.seatMapService = seatMapService;
+        this.holdTimer = holdTimer;
+        this.holdProperties = holdProperties;
+        this.metrics = metrics;
+        this.ledger = ledger;
+        this.changeOutbox = changeOutbox;
+        this.paginationProperties = paginationProperties;
+        this.activeBookings = activeBookings;
+        this.membership = membership;
+        this.writeBehind = writeBehind;
+        this.transactions = transactions;
+    }
+
+    @Transactional
+    public Booking createBooking(Event event, String userId, int seats) {
+        return createBooking(event, userId, seats, null);
+    }
+
+    /**
+     * Books {@code seats} for the user. For an event with a seat map, {@code seatLabels} names
+     * the seats to take; without it the best adjacent seats are assigned.
+     */
+    @Transactional
+    public Booking createBooking(Event event, String userId, int seats, List<String> seatLabels) {
+        return metrics.record(BookingMetrics.CREATE, () -> {
+            // Per-request lines are DEBUG; outcomes are counted by BookingMetrics instead
+            if (log.isDebugEnabled()) {
+                log.debug("Attempting to create booking - Event: {}, User: {}, Seats: {}",
+                        event.getId(), userId, seats);
+            }
+            validateBooking(event, userId, seats);
+
+            // Everything from the duplicate check to the insert runs under the event's lock stripe
+            return lockManager.callLocked(event.getId(),
+                    () -> reserveAndSave(event, userId, seats, seatLabels, BookingStatus.ACTIVE));
+        });
+    }
+
+    /**
+     * Takes seats like {@link #createBooking} but as a HOLD, which releases them again after the
+     * configured hold TTL unless {@link #confirmHold confirmed} first. Held seats count as taken.
+     */
+    @Transactional
+    public Booking placeHold(Event event, String userId, int seats, List<String> seatLabels) {
+        if (log.isDebugEnabled()) {
+            log.debug("Attempting to hold seats - Event: {}, User: {}, Seats: {}", event.getId(), userId, seats);
+        }
+        validateBooking(event, userId, seats);
+
+        Booking hold = lockManager.callLocked(event.getId(),
+                () -> reserveAndSave(event, userId, seats, seatLabels, BookingStatus.HOLD));
+        holdTimer.schedule(hold.getBookingId(), hold.getHoldExpiresAt());
+        return hold;
+    }
+
+    static void validateBooking(Event event, String userId, int seats) {
+        // Validate input
+        if (userId == null || userId.trim().isEmpty()) {
+            log.debug("Booking creation failed: Empty user ID");
+            throw new IllegalArgumentException("User ID cannot be empty");
+        }
+        if (seats <= 0) {
+            log.debug("Booking creation failed: Invalid number of seats requested: {}", seats);
+            throw new IllegalArgumentException("Number of seats must be greater than 0");
+        }
+
+        // Validate event date
+        if (event.getDate().isBefore(LocalDateTime.now())) {
+            log.debug("Cannot book tickets for past event: {}, Date: {}", event.getId(), event.getDate());
+            throw new PastEventException("Cannot book tickets for past events");
+        }
+    }
+
+    private Booking reserveAndSave(Event event, String userId, int seats, List<String> seatLabels,
+                                   BookingStatus status) {
+        // Validate user doesn't have existing booking or hold; only a possible match in the index is queried.
+        // Write-behind bookings still waiting in the journal are not in the database yet.
+        if (writeBehind.isPending(event.getId(), userId) || (activeBookings.mightHaveBooking(event, userId)
+                && bookingRepository.existsByEventAndUserIdAndStatusIn(event, userId, BookingStatus.SEAT_TAKING))) {
+            log.debug("User {} already has an active booking for event {}", userId, event.getId());
+            throw new DuplicateBookingException();
+        }
+
+        // Reserve seats in memory first, then with a guarded update so the database can never oversell.
+        // The in-memory reservation is released again if this transaction rolls back.
+        boolean reserved = seatInventory.tryReserve(event, seats);
+        if (reserved && eventRepository.reserveSeats(event.getId(), seats) == 0) {
+            seatInventory.recount(event.getId());
+            reserved = false;
+        }
+        if (!reserved) {
+            int availableSeats = seatInventory.getAvailableSeats(event);
+            if (log.isDebugEnabled()) {
+                log.debug("Insufficient seats available. Event: {}, Requested: {}, Available: {}",
+                        event.getId(), seats, availableSeats);
+            }
+            throw new SoldOutException(seats, availableSeats);
+        }
+
+        // Create and save booking
+        Booking booking = new Booking();
+        booking.setEvent(event);
+        booking.setUserId(userId);
+        booking.setSeatsBooked(seats);
+        booking.setSeatLabels(seatMapService.hold(event.getId(), seats, seatLabels));
+        booking.setStatus(status);
+        if (status == BookingStatus.HOLD) {
+            booking.setHoldExpiresAt(LocalDateTime.now().plus(holdProperties.getTtl()));
+        }
+
+        Booking savedBooking = saveAndFlush(List.of(booking)).get(0);
+        activeBookings.added(event, userId);
+        ledger.bookingCreated(savedBooking);
+        changeOutbox.bookingChanged(status == BookingStatus.HOLD ? ChangeType.HOLD_PLACED : ChangeType.BOOKING_CREATED,
+                savedBooking);
+        cacheInvalidator.seatsChanged(event.getId());
+        metrics.seatsBooked(seats);
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully created {} booking {} for event {} - User: {}, Seats: {}",
+                    status, savedBooking.getBookingId(), event.getId(), userId, seats);
+        }
+        return savedBooking;
+    }
+
+    /**
+     * Turns an unexpired hold into an ACTIVE booking; its seats stay taken.
+     */
+    @Transactional
+    public Booking confirmHold(Long bookingId) {
+        Long eventId = bookingRepository.findEventIdByBookingId(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found with id: " + bookingId));
+        // Under the event's stripe, so confirmation and expiry of the same hold cannot interleave
+        return lockManager.callLocked(eventId, () -> confirmLocked(bookingId));
+    }
+
+    private Booking confirmLocked(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found with id: " + bookingId));
+        if (booking.getStatus() != BookingStatus.HOLD) {
+            log.debug("Cannot confirm booking {}: status is {}", bookingId, booking.getStatus());
+            throw new IllegalStateException("Only held bookings can be confirmed. Current status: " + booking.getStatus());
+        }
+        if (!booking.getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+            log.debug("Cannot confirm booking {}: hold expired at {}", bookingId, booking.getHoldExpiresAt());
+            throw new IllegalStateException("Hold has expired");
+        }
+
+        booking.setStatus(BookingStatus.ACTIVE);
+        booking.setHoldExpiresAt(null);
+        Booking confirmed = bookingRepository.save(booking);
+        changeOutbox.bookingChanged(ChangeType.HOLD_CONFIRMED, confirmed);
+        log.debug("Confirmed hold {} for event {}", bookingId, booking.getEvent().getId());
+        return confirmed;
+    }
+
+    /**
+     * Releases the seats of the given holds whose deadline has passed. Holds that were confirmed,
+     * cancelled or already expired in the meantime are skipped, and so are holds of events
+     * another cluster member owns now: it expires them itself, keeping its seat count right.
+     */
+    @Transactional
+    public int expireHolds(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        // Same stripe order as batch booking, and load the holds only once all their events are locked
+        List<Long> eventIds = new ArrayList<>(bookingRepository.findEventIdsByBookingIds(bookingIds));
+        eventIds.sort(Comparator.comparingInt(lockManager::stripeFor).thenComparing(Comparator.naturalOrder()));
+        eventIds.forEach(eventId -> lockManager.runLocked(eventId, () -> { }));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Event> events = new HashMap<>();
+        Map<Long, Integer> releasedSeats = new HashMap<>();
+        List<Booking> expired = new ArrayList<>();
+        for (Booking hold : bookingRepository.findHoldsByBookingIds(bookingIds)) {
+            if (hold.getHoldExpiresAt().isAfter(now) || !membership.isLocal(hold.getEvent().getId())) {
+                continue;
+            }
+            hold.setStatus(BookingStatus.EXPIRED);
+            hold.setHoldExpiresAt(null);
+            seatMapService.release(hold.getEvent().getId(), hold.getSeatLabels());
+            activeBookings.removed(hold.getEvent(), hold.getUserId());
+            ledger.bookingCanceled(hold);
+            events.put(hold.getEvent().getId(), hold.getEvent());
+            releasedSeats.merge(hold.getEvent().getId(), hold.getSeatsBooked(), Integer::sum);
+            expired.add(hold);
+        }
+        changeOutbox.bookingsChanged(ChangeType.HOLD_EXPIRED, expired);
+        releasedSeats.forEach((eventId, seats) -> {
+            eventRepository.releaseSeats(eventId, seats);
+            seatInventory.release(events.get(eventId), seats);
+            cacheInvalidator.seatsChanged(eventId);
+            metrics.seatsReleased(seats);
+        });
+        if (!expired.isEmpty()) {
+            log.info("Expired {} holds across {} events", expired.size(), releasedSeats.size());
+        }
+        return expired.size();
+    }
+
+    @Transactional
+    public void cancelBooking(Long bookingId) {
+        metrics.record(BookingMetrics.CANCEL, () -> {
+            writeBehind.awaitWritten(bookingId);
+            Long eventId = bookingRepository.findEventIdByBookingId(bookingId)
+                    .orElseThrow(() -> {
+                        log.debug("Booking not found with ID: {}", bookingId);
+                        return new EntityNotFoundException("Booking not found with id: " + bookingId);
+                    });
+            // Load the booking only once its event is locked, so concurrent cancels see each other's result
+            lockManager.runLocked(eventId, () -> cancelLocked(bookingId));
+        });
+    }
+
+    private void cancelLocked(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found with id: " + bookingId));
+        // Validate if booking can be cancelled
+        if (booking.getStatus() == BookingStatus.CANCELED) {
+            log.debug("Cannot cancel booking {}: already canceled", bookingId);
+            throw new IllegalStateException("Booking is already canceled");
+        }
+        if (booking.getStatus() == BookingStatus.EXPIRED) {
+            log.debug("Cannot cancel booking {}: hold already expired", bookingId);
+            throw new IllegalStateException("Hold has already expired");
+        }
+
+        if (booking.getEvent().getDate().isBefore(LocalDateTime.now())) {
+            log.debug("Cannot cancel booking {} for past event. Event date: {}",
+                    bookingId, booking.getEvent().getDate());
+            throw new PastEventException("Cannot cancel bookings for past events");
+        }
+
+        booking.setStatus(BookingStatus.CANCELED);
+        booking.setHoldExpiresAt(null);
+        bookingRepository.save(booking);
+        activeBookings.removed(booking.getEvent(), booking.getUserId());
+        ledger.bookingCanceled(booking);
+        changeOutbox.bookingChanged(ChangeType.BOOKING_CANCELED, booking);
+        eventRepository.releaseSeats(booking.getEvent().getId(), booking.getSeatsBooked());
+        seatInventory.release(booking.getEvent(), booking.getSeatsBooked());
+        seatMapService.release(booking.getEvent().getId(), booking.getSeatLabels());
+        cacheInvalidator.seatsChanged(booking.getEvent().getId());
+        metrics.seatsReleased(booking.getSeatsBooked());
+    }
+
+    /**
+     * Books a group of requests in one transaction with per-item results.
+     * <p>
+     * Requests are grouped per event; each group is checked with one duplicate query, admitted
+     * with one guarded seat update and inserted through JDBC batching. Items that fail
+     * validation, duplicate an existing booking or do not fit are rejected individually.
+     * <p>
+     * Should the unique active-booking index still reject the insert, because a path that does
+     * not take the event's stripe booked one of the users meanwhile, the batch transaction rolls
+     * back as a whole and every item is booked again in a transaction of its own, so only the
+     * offending items are rejected. The same goes for a seat map that another instance wrote
+     * meanwhile.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchBookingResult> createBookings(List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one booking");
+        }
+        if (requests.size() > batchProperties.getMaxSize()) {
+            log.error("Batch booking rejected: {} items exceeds limit of {}", requests.size(), batchProperties.getMaxSize());
+            throw new IllegalArgumentException("Batch cannot contain more than " + batchProperties.getMaxSize() + " bookings");
+        }
+        log.info("Attempting to create {} bookings in batch", requests.size());
+        try {
+            return transactions.execute(status -> bookBatch(requests));
+        } catch (DuplicateBookingException | OptimisticLockingFailureException e) {
+            log.info("Batch of {} bookings rejected at commit ({}), booking them one at a time",
+                    requests.size(), e.getMessage());
+        }
+
+        List<BatchBookingResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            List<BookingRequest> single = List.of(requests.get(i));
+            BatchBookingResult result;
+            try {
+                result = transactions.execute(status -> bookBatch(single)).get(0);
+            } catch (DuplicateBookingException | OptimisticLockingFailureException e) {
+                result = BatchBookingResult.rejected(0, e.getMessage());
+            }
+            result.setIndex(i);
+            results.add(result);
+        }
+        return results;
+    }
+
+    private List<BatchBookingResult> bookBatch(List<BookingRequest> requests) {
+        BatchBookingResult[] results = new BatchBookingResult[requests.size()];
+        Map<Long, List<Integer>> itemsByEvent = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = BatchBookingResult.rejected(i, error);
+            } else {
+                itemsByEvent.computeIfAbsent(requests.get(i).getEventId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<Long, Event> events = new HashMap<>();
+        eventRepository.findAllById(itemsByEvent.keySet()).forEach(event -> events.put(event.getId(), event));
+
+        // Take stripes in a fixed order so two batches touching the same events cannot deadlock
+        List<Long> eventIds = new ArrayList<>(itemsByEvent.keySet());
+        eventIds.sort(Comparator.comparingInt(lockManager::stripeFor).thenComparing(Comparator.naturalOrder()));
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Integer> bookingIndexes = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            List<Integer> items = itemsByEvent.get(eventId);
+            Event event = events.get(eventId);
+            if (event == null) {
+                items.forEach(i -> results[i] = BatchBookingResult.rejected(i, "Event not found with id: " + eventId));
+                continue;
+            }
+            if (event.getDate().isBefore(LocalDateTime.now())) {
+                items.forEach(i -> results[i] = BatchBookingResult.rejected(i, "Cannot book tickets for past events"));
+                continue;
+            }
+            try {
+                lockManager.runLocked(eventId, () ->
+                        admitGroup(event, items, requests, results, bookings, bookingIndexes));
+            } catch (IllegalStateException e) {
+                items.forEach(i -> results[i] = BatchBookingResult.rejected(i, e.getMessage()));
+            }
+        }
+
+        List<Booking> savedBookings = saveAndFlush(bookings);
+        for (int i = 0; i < savedBookings.size(); i++) {
+            int index = bookingIndexes.get(i);
+            results[index] = BatchBookingResult.created(index, savedBookings.get(i).getBookingId());
+            ledger.bookingCreated(savedBookings.get(i));
+        }
+        changeOutbox.bookingsChanged(ChangeType.BOOKING_CREATED, savedBookings);
+        log.info("Batch booking finished - Created: {}, Rejected: {}",
+                savedBookings.size(), requests.size() - savedBookings.size());
+        return Arrays.asList(results);
+    }
+
+    private void admitGroup(Event event, List<Integer> items, List<BookingRequest> requests,
+                            BatchBookingResult[] results, List<Booking> bookings, List<Integer> bookingIndexes) {
+        // Only users the index may know are looked up; usually none are
+        Set<String> userIds = new HashSet<>();
+        Set<String> pendingUsers = new HashSet<>();
+        items.forEach(i -> {
+            String userId = requests.get(i).getUserId();
+            if (writeBehind.isPending(event.getId(), userId)) {
+                pendingUsers.add(userId);
+            } else if (activeBookings.mightHaveBooking(event, userId)) {
+                userIds.add(userId);
+            }
+        });
+        Set<String> bookedUsers = userIds.isEmpty() ? new HashSet<>() : new HashSet<>(
+                bookingRepository.findUserIdsWithStatusIn(event, userIds, BookingStatus.SEAT_TAKING));
+        bookedUsers.addAll(pendingUsers);
+
+        List<Integer> admitted = new ArrayList<>();
+        Map<Integer, List<String>> seatLabels = new HashMap<>();
+        int admittedSeats = 0;
+        for (int i : items) {
+            BookingRequest request = requests.get(i);
+            if (!bookedUsers.add(request.getUserId())) {
+                results[i] = BatchBookingResult.rejected(i, "User already has an active booking for this event");
+            } else if (!seatInventory.tryReserve(event, request.getSeats())) {
+                bookedUsers.remove(request.getUserId());
+                results[i] = BatchBookingResult.rejected(i, "Not enough seats available. Requested: "
+                        + request.getSeats() + ", Available: " + seatInventory.getAvailableSeats(event));
+            } else {
+                try {
+                    seatLabels.put(i, seatMapService.hold(event.getId(), request.getSeats(), request.getSeatLabels()));
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    seatInventory.release(event, request.getSeats());
+                    bookedUsers.remove(request.getUserId());
+                    results[i] = BatchBookingResult.rejected(i, e.getMessage());
+                    continue;
+                }
+                admitted.add(i);
+                admittedSeats += request.getSeats();
+            }
+        }
+        if (admitted.isEmpty()) {
+            return;
+        }
+
+        // One guarded update admits the whole group; if the database disagrees, nothing in it is booked
+        if (eventRepository.reserveSeats(event.getId(), admittedSeats) == 0) {
+            log.debug("Guarded seat update rejected batch group. Event: {}, Seats: {}", event.getId(), admittedSeats);
+            seatInventory.release(event, admittedSeats);
+            seatInventory.recount(event.getId());
+            admitted.forEach(i -> seatMapService.release(event.getId(), seatLabels.get(i)));
+            admitted.forEach(i -> results[i] = BatchBookingResult.rejected(i, "Not enough seats available"));
+            return;
+        }
+        cacheInvalidator.seatsChanged(event.getId());
+        metrics.seatsBooked(admittedSeats);
+
+        for (int i : admitted) {
+            BookingRequest request = requests.get(i);
+            Booking booking = new Booking();
+            booking.setEvent(event);
+            booking.setUserId(request.getUserId());
+            booking.setSeatsBooked(request.getSeats());
+            booking.setSeatLabels(seatLabels.get(i));
+            booking.setStatus(BookingStatus.ACTIVE);
+            activeBookings.added(event, request.getUserId());
+            bookings.add(booking);
+            bookingIndexes.add(i);
+        }
+    }
+
+    /**
+     * Flushes inside the service so that the unique active-booking index, which backs up the
+     * duplicate checks, fails here as a {@link DuplicateBookingException} rather than at commit.
+     */
+    private List<Booking> saveAndFlush(List<Booking> bookings) {
+        try {
+            return bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateBookingException.isActiveBookingViolation(e)) {
+                log.debug("Active booking constraint rejected insert of {} bookings", bookings.size());
+                throw new DuplicateBookingException(e);
+            }
+            throw e;
+        }
+    }
+
+    private static String validate(BookingRequest request) {
+        if (request == null) {
+            return "Booking request is required";
+        }
+        if (request.getEventId() == null) {
+            return "Event ID is required";
+        }
+        if (request.getUserId() == null || request.getUserId().trim().isEmpty()) {
+            return "User ID is required";
+        }
+        if (request.getSeats() == null || request.getSeats() < 1) {
+            return "Must book at least 1 seat";
+        }
+        return null;
+    }
+
+    /**
+     * One page of the user's bookings in booking id order; {@code cursor} is the previous page's
+     * {@code nextCursor}, or {@code null} for the first one.
+     */
+    public BookingPage getUserBookings(String userId, String cursor, Integer size) {
+        log.debug("Fetching bookings for user: {}", userId);
+
+        if (userId == null || userId.trim().isEmpty()) {
+            log.debug("Attempted to fetch bookings with empty user ID");
+            throw new IllegalArgumentException("User ID cannot be empty");
+        }
+        int pageSize = pageSize(size);
+        long afterId = BookingCursor.decode(cursor);
+        // One extra row tells whether another page follows
+        return page(bookingRepository.findPageByUserId(userId, afterId, Limit.of(pageSize + 1)), pageSize);
+    }
+
+    public Booking getBooking(Long bookingId) {
+        log.debug("Fetching booking: {}", bookingId);
+        writeBehind.awaitWritten(bookingId);
+        return bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found with id: " + bookingId));
+    }
+
+    /**
+     * One page of the event's active bookings in booking id order, paged like
+     * {@link #getUserBookings}; {@link BookingExporter} writes all of them at once.
+     */
+    public BookingPage getEventBookings(Long eventId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        long afterId = BookingCursor.decode(cursor);
+        Event event = eventService.getEventWithAvailability(eventId);
+        List<Booking> bookings = bookingRepository.findPageByEventIdAndStatus(
+                event.getId(), BookingStatus.ACTIVE, afterId, Limit.of(pageSize + 1));
+
+        log.debug("Found {} active bookings for event {} after booking {}", bookings.size(), eventId, afterId);
+        return page(bookings, pageSize);
+    }
+
+    private int pageSize(Integer size) {
+        int pageSize = size == null ? paginationProperties.getDefaultSize() : size;
+        if (pageSize < 1 || pageSize > paginationProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", paginationProperties.getMaxSize()));
+        }
+        return pageSize;
+    }
+
+    private static BookingPage page(List<Booking> bookings, int pageSize) {
+        if (bookings.size() <= pageSize) {
+            return new BookingPage(bookings, null);
+        }
+        List<Booking> page = List.copyOf(bookings.subList(0, pageSize));
+        return new BookingPage(page, BookingCursor.encode(page.get(pageSize - 1).getBookingId()));
+    }
+
+    public boolean hasActiveBooking(Event event, String userId) {
+        log.debug("Checking active booking - Event: {}, User: {}", event.getId(), userId);
+        // The index also holds HOLDs and may collide, so a hit is confirmed for ACTIVE in the database
+        boolean hasBooking = writeBehind.isPending(event.getId(), userId) || (activeBookings.mightHaveBooking(event, userId)
+                && bookingRepository.existsByEventAndUserIdAndStatus(event, userId, BookingStatus.ACTIVE));
+        log.debug("User {} {} an active booking for event {}",
+                userId, hasBooking ? "has" : "does not have", event.getId());
+
+        return hasBooking;    }
+
+    public int getTotalBookedSeats(Event event) {
+        int bookedSeats = bookingRepository.sumSeatsBookedByEvent(event);
+        log.debug("Event {} has {} seats booked", event.getId(), bookedSeats);
+        return bookedSeats;    }
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.OutboxProperties;
+import com.example.ticketbooking.dto.ChangeMessage;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.OutboxCheckpoint;
+import com.example.ticketbooking.entity.OutboxMessage;
+import com.example.ticketbooking.repository.OutboxCheckpointRepository;
+import com.example.ticketbooking.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transactional outbox for booking and event changes.
+ * <p>
+ * Each change is written as an {@link OutboxMessage} in the transaction that makes it, so it is
+ * published if and only if that transaction commits. The rows are plain inserts with pooled ids,
+ * batched with the rest of the transaction's statements at flush; nothing is sent from the
+ * booking transaction itself. {@link OutboxRelay} later hands them to the {@link ChangeSink}s
+ * through {@link #relayBatch}.
+ */
+@Component
+public class ChangeOutbox {
+    static final String RELAY = "default";
+
+    private final OutboxMessageRepository messageRepository;
+    private final OutboxCheckpointRepository checkpointRepository;
+    private final List<ChangeSink> sinks;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ChangeOutbox(OutboxMessageRepository messageRepository, OutboxCheckpointRepository checkpointRepository,
+                        List<ChangeSink> sinks, OutboxProperties properties, ObjectMapper objectMapper) {
+        this.messageRepository = messageRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.sinks = sinks;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingChanged(ChangeType type, Booking booking) {
+        bookingsChanged(type, List.of(booking));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingsChanged(ChangeType type, List<Booking> bookings) {
+        if (!properties.isEnabled() || bookings.isEmpty()) {
+            return;
+        }
+        List<OutboxMessage> messages = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            messages.add(bookingMessage(type, booking));
+        }
+        messageRepository.saveAll(messages);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventChanged(ChangeType type, Event event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        messageRepository.save(eventMessage(type, event));
+    }
+
+    /**
+     * Hands the oldest pending messages to every sink, then deletes them and moves the
+     * checkpoint on, all in one transaction that holds the checkpoint row's lock; a relay on
+     * another instance waits for it instead of publishing the same messages. Sinks only take
+     * the batch over, so the lock is held for the reads and writes, not for delivery.
+     *
+     * @return the number of messages published
+     */
+    @Transactional
+    public int relayBatch() {
+        OutboxCheckpoint checkpoint = checkpointRepository.lockByRelay(RELAY)
+                .orElseThrow(() -> new IllegalStateException("No outbox checkpoint for relay " + RELAY));
+        List<ChangeMessage> batch = messageRepository.findOldest(PageRequest.of(0, properties.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long position = checkpoint.getPosition();
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (ChangeMessage message : batch) {
+            message.setPosition(++position);
+            ids.add(message.getId());
+        }
+        for (ChangeSink sink : sinks) {
+            sink.publish(batch);
+        }
+
+        messageRepository.deleteByIds(ids);
+        checkpoint.setPosition(position);
+        checkpoint.setLastMessageId(ids.get(ids.size() - 1));
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return batch.size();
+    }
+
+    // Shared with ReactiveChangeOutbox, so both profiles publish the same payloads
+    OutboxMessage bookingMessage(ChangeType type, Booking booking) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getBookingId());
+        payload.put("eventId", booking.getEvent().getId());
+        payload.put("userId", booking.getUserId());
+        payload.put("seats", booking.getSeatsBooked());
+        payload.put("status", booking.getStatus());
+        payload.put("seatLabels", booking.getSeatLabels());
+        payload.put("holdExpiresAt", booking.getHoldExpiresAt());
+        return message(type, booking.getBookingId(), booking.getEvent().getId(), payload);
+    }
+
+    OutboxMessage eventMessage(ChangeType type, Event event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("eventId", event.getId());
+        payload.put("name", event.getName());
+        payload.put("date", event.getDate());
+        payload.put("location", event.getLocation());
+        payload.put("totalSeats", event.getTotalSeats());
+        return message(type, event.getId(), event.getId(), payload);
+    }
+
+    private OutboxMessage message(ChangeType type, Long aggregateId, Long eventId, Map<String, Object> payload) {
+        OutboxMessage message = new OutboxMessage();
+        message.setType(type);
+        message.setAggregateId(aggregateId);
+        message.setEventId(eventId);
+        try {
+            message.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise " + type + " change", e);
+        }
+        message.setCreatedAt(LocalDateTime.now());
+        return message;
+    }
+}
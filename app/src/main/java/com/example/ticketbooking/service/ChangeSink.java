@@ -0,0 +1,18 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.ChangeMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the changes relayed from the outbox. Batches arrive in stream order, at least
+ * once: if a sink throws, or the relay stops before its checkpoint commits, the same messages are
+ * delivered again and their ids tell the repeats apart.
+ * <p>
+ * {@link #publish} runs inside the relay transaction, which holds the outbox checkpoint lock
+ * until it returns; sinks that deliver to slow destinations buffer the batch and deliver it on
+ * their own threads.
+ */
+public interface ChangeSink {
+    void publish(List<ChangeMessage> messages);
+}
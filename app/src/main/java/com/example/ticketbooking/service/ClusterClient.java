@@ -0,0 +1,81 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ClusterProperties;
+import com.example.ticketbooking.dto.ClusterHeartbeat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HTTP between cluster members: heartbeats, and requests forwarded to the owner of their event.
+ */
+@Component
+public class ClusterClient {
+    public static final String HEARTBEAT_PATH = "/internal/cluster/heartbeat";
+
+    // Set by the client itself, or only meaningful for one hop
+    private static final Set<String> UNFORWARDED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "keep-alive", "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade");
+
+    private final ClusterProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public ClusterClient(ClusterProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getHeartbeatInterval())
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    public ClusterHeartbeat heartbeat(String member, ClusterHeartbeat heartbeat) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(member + HEARTBEAT_PATH))
+                .timeout(properties.getHeartbeatInterval())
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(heartbeat)))
+                .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Heartbeat to " + member + " answered " + response.statusCode());
+        }
+        return objectMapper.readValue(response.body(), ClusterHeartbeat.class);
+    }
+
+    /**
+     * Sends a request on to {@code owner} as it was received. The response body is streamed, so
+     * long-lived responses such as event streams are passed through as they arrive.
+     */
+    public HttpResponse<InputStream> forward(String owner, String method, String pathAndQuery,
+                                             Map<String, List<String>> headers, byte[] body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(properties.getForwardTimeout())
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach((name, values) -> {
+            if (isForwarded(name)) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    public static boolean isForwarded(String header) {
+        return !UNFORWARDED_HEADERS.contains(header.toLowerCase(Locale.ROOT));
+    }
+}
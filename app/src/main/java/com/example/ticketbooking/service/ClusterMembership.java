@@ -0,0 +1,193 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ClusterProperties;
+import com.example.ticketbooking.dto.ClusterHeartbeat;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Which instance owns which event when several share the database.
+ * <p>
+ * Members find each other through {@code booking.cluster.seeds} and heartbeats: every
+ * {@code booking.cluster.heartbeat-interval} each instance calls every member it knows of and
+ * learns theirs in return. A member that has not been heard from within
+ * {@code booking.cluster.failure-timeout} is dropped. Events are spread over the live members
+ * with a {@link ConsistentHashRing}, and every change of members is published as an
+ * {@link OwnershipChangedEvent} so per-event state in memory follows its event.
+ * <p>
+ * Ownership decides which instance serves an event's seat changes; the database stays the
+ * backstop while members disagree about it, during the heartbeats after a join or a failure:
+ * seat counts through the guarded seat update, reserved seats through the seat map's version.
+ * Without clustering, or before the web server is up, every event is local.
+ * <p>
+ * The first live member in URL order is the relay: the one instance that drains the outbox and
+ * serves the change stream, so the stream's positions all pass through one buffer.
+ */
+@Slf4j
+@Component
+public class ClusterMembership implements SchedulingConfigurer {
+    private final ClusterProperties properties;
+    private final ClusterClient client;
+    private final ApplicationEventPublisher publisher;
+    // Member URL to the System.nanoTime() it was last heard from
+    private final ConcurrentMap<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final Set<String> discovered = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock ringLock = new ReentrantLock();
+    private volatile String self;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties properties, ClusterClient client, ApplicationEventPublisher publisher,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.client = client;
+        this.publisher = publisher;
+        Gauge.builder("booking.cluster.members", this, membership -> membership.getMembers().size())
+                .description("Live instances sharing the events, this one included")
+                .register(meterRegistry);
+    }
+
+    @EventListener(WebServerInitializedEvent.class)
+    public void start(WebServerInitializedEvent event) {
+        // Only the application's own server, not a separate management port
+        if (!properties.isEnabled() || event.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+        self = properties.getAdvertisedUrl() != null
+                ? properties.getAdvertisedUrl()
+                : "http://localhost:" + event.getWebServer().getPort();
+        ring = new ConsistentHashRing(List.of(self), properties.getVirtualNodes());
+        log.info("Cluster member {} joining through {}", self, properties.getSeeds());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(this::heartbeat, properties.getHeartbeatInterval());
+        }
+    }
+
+    public boolean isLocal(Long eventId) {
+        return self == null || self.equals(ring.ownerOf(eventId));
+    }
+
+    /**
+     * @return the base URL of the event's owner, this instance's own included
+     */
+    public String ownerOf(Long eventId) {
+        return self == null ? null : ring.ownerOf(eventId);
+    }
+
+    /**
+     * @return whether this instance relays the outbox; always without clustering
+     */
+    public boolean isRelay() {
+        return self == null || self.equals(getRelay());
+    }
+
+    /**
+     * @return the base URL of the member relaying the outbox, this instance's own included
+     */
+    public String getRelay() {
+        return self == null ? null : ring.getMembers().get(0);
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public List<String> getMembers() {
+        ConsistentHashRing current = ring;
+        return current == null ? List.of() : current.getMembers();
+    }
+
+    public void heartbeat() {
+        if (self == null) {
+            return;
+        }
+        Set<String> targets = new LinkedHashSet<>(properties.getSeeds());
+        targets.addAll(discovered);
+        targets.addAll(lastSeen.keySet());
+        targets.remove(self);
+        targets.remove("");
+        ClusterHeartbeat beat = new ClusterHeartbeat(self, getMembers());
+        for (String member : targets) {
+            try {
+                ClusterHeartbeat reply = client.heartbeat(member, beat);
+                lastSeen.put(member, System.nanoTime());
+                reply.getMembers().forEach(this::discover);
+            } catch (IOException e) {
+                log.debug("No heartbeat from {}: {}", member, e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long deadline = System.nanoTime() - properties.getFailureTimeout().toNanos();
+        lastSeen.entrySet().removeIf(entry -> {
+            if (entry.getValue() - deadline >= 0) {
+                return false;
+            }
+            log.warn("Cluster member {} missed its heartbeats, moving its events", entry.getKey());
+            // Seeds are kept trying so the member can come back; others rejoin on their own
+            discovered.remove(entry.getKey());
+            return true;
+        });
+        updateRing();
+    }
+
+    /**
+     * Records a heartbeat from another member.
+     *
+     * @return this instance's own heartbeat in reply
+     */
+    public ClusterHeartbeat onHeartbeat(ClusterHeartbeat heartbeat) {
+        if (self != null && !self.equals(heartbeat.getUrl())) {
+            lastSeen.put(heartbeat.getUrl(), System.nanoTime());
+            if (heartbeat.getMembers() != null) {
+                heartbeat.getMembers().forEach(this::discover);
+            }
+            updateRing();
+        }
+        return new ClusterHeartbeat(self, getMembers());
+    }
+
+    private void discover(String member) {
+        if (!member.equals(self)) {
+            discovered.add(member);
+        }
+    }
+
+    private void updateRing() {
+        ringLock.lock();
+        try {
+            List<String> members = new ArrayList<>(lastSeen.keySet());
+            members.add(self);
+            ConsistentHashRing previous = ring;
+            if (members.stream().sorted().toList().equals(previous.getMembers())) {
+                return;
+            }
+            ring = new ConsistentHashRing(members, properties.getVirtualNodes());
+            log.info("Cluster members changed from {} to {}", previous.getMembers(), ring.getMembers());
+            // Published under the lock so listeners see changes in order
+            publisher.publishEvent(new OwnershipChangedEvent(previous, ring, self));
+        } finally {
+            ringLock.unlock();
+        }
+    }
+}
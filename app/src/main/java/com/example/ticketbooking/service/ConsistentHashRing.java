@@ -0,0 +1,61 @@
+package com.example.ticketbooking.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps event ids onto cluster members. Every member is placed at {@code virtualNodes} points on
+ * a ring of 64-bit hashes and owns the events hashing up to each of its points, so a member
+ * joining or leaving only moves about its share of the events. Immutable.
+ */
+public final class ConsistentHashRing {
+    private final List<String> members;
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    public ConsistentHashRing(List<String> members, int virtualNodes) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one member");
+        }
+        this.members = members.stream().sorted().toList();
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // On the rare collision the smaller member wins, the same on every instance
+                points.merge(pointOf(member + "#" + i), member, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    public List<String> getMembers() {
+        return members;
+    }
+
+    public String ownerOf(Long eventId) {
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(eventId));
+        return point != null ? point.getValue() : points.firstEntry().getValue();
+    }
+
+    private static long pointOf(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    // MurmurHash3's finalizer, so consecutive ids land far apart on the ring
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ticketbooking.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exclusive hold on a data directory, so that two instances pointed at the same directory cannot
+ * both append to the files in it. The lock is taken on a {@value #FILE_NAME} file in the
+ * directory and is released by {@link #close}, or by the operating system when the process dies.
+ */
+final class DirectoryLock implements Closeable {
+    static final String FILE_NAME = ".lock";
+
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private DirectoryLock(FileChannel channel, FileLock lock) {
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /**
+     * Creates {@code directory} if needed and locks it.
+     *
+     * @throws IOException if another instance, in this process or another, holds the directory
+     */
+    static DirectoryLock acquire(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(FILE_NAME),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new IOException(directory.toAbsolutePath() + " is in use by another instance; "
+                    + "give every instance a directory of its own");
+        }
+        return new DirectoryLock(channel, lock);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            channel.close();
+        }
+    }
+}
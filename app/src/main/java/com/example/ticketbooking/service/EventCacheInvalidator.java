@@ -0,0 +1,78 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached event data once the change that made it stale has committed, so a concurrent
+ * reader cannot put the pre-commit state straight back.
+ * <p>
+ * Bookings only change seat counts, which the cached {@code Event} entity is never trusted for,
+ * so they leave the {@value CacheConfig#EVENTS} cache alone. Of the listings they only evict the
+ * pages in availability order, which seat counts can reorder; the counts shown on pages in date
+ * or location order may trail by up to the cache's expiry.
+ * The same commits tell the {@link AvailabilityStream} which events to push updates for.
+ */
+@Component
+public class EventCacheInvalidator {
+    // Page keys start with the sort order, see EventService.getAllEvents
+    private static final String AVAILABILITY_PAGES = "availability:";
+
+    private final CacheManager cacheManager;
+    private final AvailabilityStream availabilityStream;
+
+    public EventCacheInvalidator(CacheManager cacheManager, AvailabilityStream availabilityStream) {
+        this.cacheManager = cacheManager;
+        this.availabilityStream = availabilityStream;
+    }
+
+    public void seatsChanged(Long eventId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evict(CacheConfig.EVENT_DETAILS, eventId);
+            evictAvailabilityPages();
+            availabilityStream.seatsChanged(eventId);
+        });
+    }
+
+    public void eventChanged(Long eventId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evict(CacheConfig.EVENTS, eventId);
+            evict(CacheConfig.EVENT_DETAILS, eventId);
+            clear(CacheConfig.EVENT_PAGES);
+            availabilityStream.eventChanged(eventId);
+        });
+    }
+
+    public void listingsChanged() {
+        TransactionCallbacks.afterCommit(() -> clear(CacheConfig.EVENT_PAGES));
+    }
+
+    private void evict(String cacheName, Long eventId) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(eventId);
+        }
+    }
+
+    private void evictAvailabilityPages() {
+        Cache cache = cacheManager.getCache(CacheConfig.EVENT_PAGES);
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> pages) {
+            pages.asMap().keySet().removeIf(key -> key instanceof String page && page.startsWith(AVAILABILITY_PAGES));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+}
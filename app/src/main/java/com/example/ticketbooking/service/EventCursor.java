@@ -0,0 +1,66 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventSummary;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Keyset position in the event listing: the sort mode plus the sort key and id of the last
+ * event returned. Clients only ever see it as an opaque base64url token.
+ */
+@Getter
+final class EventCursor {
+    static final Set<String> SORT_OPTIONS = Set.of("date", "location", "availability");
+
+    private final String sortBy;
+    private final Long id;
+    private final String key;
+
+    private EventCursor(String sortBy, Long id, String key) {
+        this.sortBy = sortBy;
+        this.id = id;
+        this.key = key;
+    }
+
+    static String encode(String sortBy, EventSummary last) {
+        String key = switch (sortBy) {
+            case "availability" -> String.valueOf(last.getAvailableSeats());
+            case "location" -> last.getLocation();
+            default -> last.getDate().toString();
+        };
+        String raw = sortBy + "|" + last.getId() + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EventCursor decode(String token, String expectedSortBy) {
+        EventCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The key goes last so locations containing the separator survive the split
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(expectedSortBy)) {
+                throw new IllegalArgumentException("Cursor does not match sort: " + expectedSortBy);
+            }
+            cursor = new EventCursor(parts[0], Long.valueOf(parts[1]), parts[2]);
+            // Parse eagerly so a tampered key fails here rather than in the query
+            cursor.dateKey();
+            cursor.availabilityKey();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor for sort: " + expectedSortBy, e);
+        }
+        return cursor;
+    }
+
+    LocalDateTime dateKey() {
+        return sortBy.equals("date") ? LocalDateTime.parse(key) : null;
+    }
+
+    int availabilityKey() {
+        return sortBy.equals("availability") ? Integer.parseInt(key) : 0;
+    }
+}
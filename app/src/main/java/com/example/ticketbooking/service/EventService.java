@@ -0,0 +1,266 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.CacheConfig;
+import com.example.ticketbooking.config.PaginationProperties;
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.dto.EventSummary;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class EventService {
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final SeatInventory seatInventory;
+    private final StripedLockManager lockManager;
+    private final PaginationProperties paginationProperties;
+    private final EventCacheInvalidator cacheInvalidator;
+    private final SeatMapService seatMapService;
+    private final BookingMetrics metrics;
+    private final BookingLedger ledger;
+    private final ChangeOutbox changeOutbox;
+    private final WriteBehindBookings writeBehind;
+
+    public EventService(EventRepository eventRepository, BookingRepository bookingRepository,
+                        SeatInventory seatInventory, StripedLockManager lockManager,
+                        PaginationProperties paginationProperties, EventCacheInvalidator cacheInvalidator,
+                        SeatMapService seatMapService, BookingMetrics metrics, BookingLedger ledger,
+                        ChangeOutbox changeOutbox, WriteBehindBookings writeBehind) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.seatInventory = seatInventory;
+        this.lockManager = lockManager;
+        this.paginationProperties = paginationProperties;
+        this.cacheInvalidator = cacheInvalidator;
+        this.seatMapService = seatMapService;
+        this.metrics = metrics;
+        this.ledger = ledger;
+        this.changeOutbox = changeOutbox;
+        this.writeBehind = writeBehind;
+    }
+
+    @Transactional
+    public Event createEvent(EventRequest request) {
+        // Validate date is not in the past
+        if (request.getDate().isBefore(LocalDateTime.now())) {
+            log.error("Attempted to create event with past date: {}", request.getDate());
+            throw new IllegalArgumentException("Event date cannot be in the past");
+        }
+
+        Event event = new Event();
+        event.setName(request.getName());
+        event.setDate(request.getDate());
+        event.setLocation(request.getLocation());
+        event.setTotalSeats(request.getTotalSeats());
+        event.setAvailableSeats(request.getTotalSeats());
+
+        Event savedEvent = eventRepository.save(event);
+        seatInventory.register(savedEvent);
+        ledger.seatsAdjusted(savedEvent.getId(), savedEvent.getTotalSeats());
+        changeOutbox.eventChanged(ChangeType.EVENT_CREATED, savedEvent);
+        cacheInvalidator.listingsChanged();
+        log.info("Successfully created event with ID: {}", savedEvent.getId());
+        return savedEvent;
+    }
+
+    /**
+     * Returns one keyset page of events. {@code cursor} is the {@code nextCursor} of the previous
+     * page, or {@code null} for the first one.
+     */
+    @Cacheable(cacheNames = CacheConfig.EVENT_PAGES, key = "#sortBy + ':' + #cursor + ':' + #size")
+    public EventPage getAllEvents(String sortBy, String cursor, Integer size) {
+        if (sortBy == null) {
+            //default sort
+            sortBy = "date";
+        }
+
+        // Validate sort parameter
+        if (!EventCursor.SORT_OPTIONS.contains(sortBy)) {
+            log.debug("Invalid sort parameter provided: {}", sortBy);
+            throw new IllegalArgumentException("Invalid sort parameter. Must be one of: date, location, availability");
+        }
+
+        int pageSize = size == null ? paginationProperties.getDefaultSize() : size;
+        if (pageSize < 1 || pageSize > paginationProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", paginationProperties.getMaxSize()));
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        Limit limit = Limit.of(pageSize + 1);
+        EventCursor after = cursor == null ? null : EventCursor.decode(cursor, sortBy);
+        String sort = sortBy;
+        // Kept in the cache, so read from the primary rather than a replica that may be behind
+        List<EventSummary> events = ReplicaRouting.onPrimary(() -> metrics.record(BookingMetrics.EVENT_PAGE_QUERY,
+                () -> after == null ? findFirstPage(sort, limit) : findPageAfter(after, limit)));
+
+        if (events.size() <= pageSize) {
+            return new EventPage(events, null);
+        }
+        List<EventSummary> page = List.copyOf(events.subList(0, pageSize));
+        return new EventPage(page, EventCursor.encode(sortBy, page.get(pageSize - 1)));
+    }
+
+    private List<EventSummary> findFirstPage(String sortBy, Limit limit) {
+        return switch (sortBy) {
+            case "availability" -> eventRepository.findPageByAvailability(limit);
+            case "location" -> eventRepository.findPageByLocation(limit);
+            default -> eventRepository.findPageByDate(limit);
+        };
+    }
+
+    private List<EventSummary> findPageAfter(EventCursor cursor, Limit limit) {
+        return switch (cursor.getSortBy()) {
+            case "availability" -> eventRepository.findPageByAvailabilityAfter(cursor.availabilityKey(), cursor.getId(), limit);
+            case "location" -> eventRepository.findPageByLocationAfter(cursor.getKey(), cursor.getId(), limit);
+            default -> eventRepository.findPageByDateAfter(cursor.dateKey(), cursor.getId(), limit);
+        };
+    }
+
+    @Cacheable(CacheConfig.EVENT_DETAILS)
+    public EventDetail getEventDetail(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        return ReplicaRouting.onPrimary(() -> eventRepository.findDetailById(eventId))
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+    }
+
+    /**
+     * Cached, detached copy of the event, loaded from the primary. Its seat columns may lag
+     * behind bookings; seat decisions go through {@link SeatInventory} and the guarded updates
+     * instead.
+     */
+    @Cacheable(CacheConfig.EVENTS)
+    public Event getEventWithAvailability(Long eventId) {
+        return ReplicaRouting.onPrimary(() -> findEvent(eventId));
+    }
+
+    // Writers load through here: a managed instance from this transaction, never the cached copy
+    private Event findEvent(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+    }
+
+    public int getAvailableSeats(Event event) {
+        return metrics.record(BookingMetrics.AVAILABILITY, () -> {
+            if (event == null) {
+                throw new IllegalArgumentException("Event cannot be null");
+            }
+            int availableSeats = seatInventory.getAvailableSeats(event);
+            if (log.isDebugEnabled()) {
+                log.debug("Event {} has {} seats available (total: {})",
+                        event.getId(), availableSeats, event.getTotalSeats());
+            }
+            return availableSeats;
+        });
+    }
+
+    /**
+     * Like {@link #getAvailableSeats(Event)} for callers holding only the id: the counter is read
+     * through a reference, which only loads the event if its counter is not in memory yet.
+     */
+    public int getAvailableSeats(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        return getAvailableSeats(eventRepository.getReferenceById(eventId));
+    }
+
+    @Transactional
+    public Event updateEvent(Long eventId, EventRequest request) {
+        log.info("Updating event {} with new details - name: {}, date: {}, location: {}, seats: {}",
+                eventId, request.getName(), request.getDate(), request.getLocation(), request.getTotalSeats());
+
+        // Seat changes must not interleave with bookings for the same event
+        return lockManager.callLocked(eventId, () -> updateLocked(eventId, request));
+    }
+
+    private Event updateLocked(Long eventId, EventRequest request) {
+        Event event = findEvent(eventId);
+
+        // Validate date is not in the past
+        if (request.getDate().isBefore(LocalDateTime.now())) {
+            log.error("Attempted to update event {} with past date: {}", eventId, request.getDate());
+            throw new IllegalArgumentException("Event date cannot be in the past");
+        }
+
+        // A seat map fixes the capacity to the seats in its layout
+        if (request.getTotalSeats() != event.getTotalSeats() && seatMapService.hasSeatMap(eventId)) {
+            log.error("Cannot change total seats of event {}: capacity is fixed by its seat map", eventId);
+            throw new IllegalStateException("Cannot change total seats of an event with a seat map");
+        }
+
+        // Check if reducing seats would conflict with existing bookings
+        if (!seatInventory.resize(event, request.getTotalSeats())
+                || eventRepository.resizeSeats(eventId, request.getTotalSeats()) == 0) {
+            int currentlyBooked = event.getTotalSeats() - seatInventory.getAvailableSeats(event);
+            log.error("Cannot reduce seats for event {} below current bookings. Requested: {}, Currently booked: {}",
+                    eventId, request.getTotalSeats(), currentlyBooked);
+            throw new IllegalStateException(
+                    String.format("Cannot reduce total seats below current bookings. Current bookings: %d", currentlyBooked)
+            );
+        }
+
+        ledger.seatsAdjusted(eventId, request.getTotalSeats() - event.getTotalSeats());
+        event.setName(request.getName());
+        event.setDate(request.getDate());
+        event.setLocation(request.getLocation());
+        event.setTotalSeats(request.getTotalSeats());
+        // Mirror the bulk update, which does not touch the managed instance
+        event.setAvailableSeats(request.getTotalSeats() - event.getBookedSeats());
+
+        Event updatedEvent = eventRepository.save(event);
+        changeOutbox.eventChanged(ChangeType.EVENT_UPDATED, updatedEvent);
+        cacheInvalidator.eventChanged(eventId);
+        log.info("Successfully updated event: {}", eventId);
+        return updatedEvent;
+    }
+
+    @Transactional
+    public void deleteEvent(Long eventId) {
+        // Before the stripe: a flush may have to take the stripes of bookings it drops
+        writeBehind.flush();
+        lockManager.runLocked(eventId, () -> deleteLocked(eventId));
+    }
+
+    private void deleteLocked(Long eventId) {
+        Event event = findEvent(eventId);
+
+        // Check if there are any active bookings; journaled ones count too
+        int activeBookings = bookingRepository.sumSeatsBookedByEvent(event) + writeBehind.pendingSeats(eventId);
+        if (activeBookings > 0) {
+            log.error("Cannot delete event {} - has {} active bookings", eventId, activeBookings);
+
+            throw new IllegalStateException(
+                    String.format("Cannot delete event with active bookings. Current bookings: %d", activeBookings)
+            );
+        }
+
+        eventRepository.delete(event);
+        seatInventory.remove(eventId);
+        ledger.seatsAdjusted(eventId, -event.getTotalSeats());
+        changeOutbox.eventChanged(ChangeType.EVENT_DELETED, event);
+        seatMapService.remove(eventId);
+        cacheInvalidator.eventChanged(eventId);
+        log.info("Successfully deleted event: {}", eventId);
+    }
+}
\ No newline at end of file
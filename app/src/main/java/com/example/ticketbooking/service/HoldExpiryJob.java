@@ -0,0 +1,85 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.HoldProperties;
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.repository.BookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the {@link HoldTimer}'s ticks into expired holds. Each tick only looks at the holds
+ * whose deadline has passed; nothing scans the booking table after startup. The tick runs
+ * every {@code booking.holds.tick}, registered here because {@code @Scheduled} only takes
+ * plain milliseconds or ISO-8601 durations.
+ */
+@Slf4j
+@Component
+public class HoldExpiryJob implements SchedulingConfigurer {
+    private final HoldTimer holdTimer;
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final HoldProperties properties;
+
+    public HoldExpiryJob(HoldTimer holdTimer, BookingService bookingService, BookingRepository bookingRepository,
+                         HoldProperties properties) {
+        this.holdTimer = holdTimer;
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleOutstandingHolds() {
+        List<Object[]> holds = ReplicaRouting.onPrimary(bookingRepository::findHoldDeadlines);
+        for (Object[] row : holds) {
+            holdTimer.schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+        log.info("Rescheduled {} outstanding seat holds", holds.size());
+    }
+
+    /**
+     * Schedules the holds of events this instance has taken over; those of events it lost are
+     * left to their new owner when they come due here.
+     */
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent change) {
+        int taken = 0;
+        for (Object[] row : ReplicaRouting.onPrimary(bookingRepository::findHoldDeadlines)) {
+            if (change.gained((Long) row[2])) {
+                holdTimer.schedule((Long) row[0], (LocalDateTime) row[1]);
+                taken++;
+            }
+        }
+        if (taken > 0) {
+            log.info("Took over {} outstanding seat holds", taken);
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::expireDueHolds, properties.getTick());
+    }
+
+    public void expireDueHolds() {
+        List<Long> due = new ArrayList<>();
+        holdTimer.advance(due::add);
+        for (int from = 0; from < due.size(); from += properties.getExpiryBatchSize()) {
+            List<Long> batch = due.subList(from, Math.min(due.size(), from + properties.getExpiryBatchSize()));
+            try {
+                bookingService.expireHolds(batch);
+            } catch (RuntimeException e) {
+                // Put them back for the next tick rather than losing them
+                log.error("Failed to expire {} holds, retrying next tick", batch.size(), e);
+                batch.forEach(bookingId -> holdTimer.schedule(bookingId, LocalDateTime.now()));
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.HoldProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.LongConsumer;
+
+/**
+ * Deadlines of outstanding holds, on a {@link HoldTimerWheel} sized from {@link HoldProperties}.
+ */
+@Component
+public class HoldTimer {
+    private final HoldTimerWheel wheel;
+
+    public HoldTimer(HoldProperties properties) {
+        this.wheel = new HoldTimerWheel(properties.getTick().toMillis(), properties.getWheelSize(),
+                properties.getWheelLevels(), System.currentTimeMillis());
+    }
+
+    /**
+     * Schedules the hold's expiry once the surrounding transaction commits, so a rolled-back
+     * hold never fires.
+     */
+    public void schedule(Long bookingId, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        TransactionCallbacks.afterCommit(() -> wheel.schedule(bookingId, deadline));
+    }
+
+    public void advance(LongConsumer expired) {
+        wheel.advance(System.currentTimeMillis(), expired);
+    }
+
+    public long pending() {
+        return wheel.size();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.ticketbooking.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel for hold deadlines.
+ * <p>
+ * Level 0 has one bucket per tick; every higher level has buckets {@code wheelSize} times as
+ * wide. A deadline goes into the finest level whose range covers it, and when time reaches a
+ * coarse bucket its entries are re-added and fall down a level. Scheduling is O(1), and each
+ * tick only touches the bucket that is due, however many holds are outstanding. Entries are
+ * kept as pairs of primitive longs, and are never removed: a hold that is confirmed or
+ * cancelled simply finds nothing to do when its deadline fires.
+ * <p>
+ * Deadlines fire no earlier than requested and at most one tick late. Deadlines beyond the
+ * top level's range wait in its furthest bucket and are placed again when it comes round.
+ */
+public final class HoldTimerWheel {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final Bucket[][] levels;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Bucket due = new Bucket();
+    // Ticks before this one have fired
+    private long currentTick;
+    private long size;
+
+    public HoldTimerWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Timer wheel needs a positive tick, at least 2 buckets and 1 level");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = new Bucket[levelCount][wheelSize];
+        for (Bucket[] level : levels) {
+            for (int i = 0; i < wheelSize; i++) {
+                level[i] = new Bucket();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void schedule(long id, long deadlineMillis) {
+        lock.lock();
+        try {
+            place(id, deadlineMillis);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and hands every id whose deadline has passed to
+     * {@code expired}, which runs under the wheel's lock and must not block.
+     */
+    public void advance(long nowMillis, LongConsumer expired) {
+        lock.lock();
+        try {
+            size -= due.drain(expired);
+            while ((currentTick + 1) * tickMillis <= nowMillis) {
+                size -= levels[0][(int) (currentTick % wheelSize)].drain(expired);
+                currentTick++;
+                cascade();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Top level first, so entries coming down from it can land in a bucket that is cascaded next
+    private void cascade() {
+        for (int level = levels.length - 1; level > 0; level--) {
+            long unit = unit(level);
+            if (unit < Long.MAX_VALUE && currentTick % unit == 0) {
+                levels[level][(int) ((currentTick / unit) % wheelSize)].drain(this::place);
+            }
+        }
+    }
+
+    private void place(long id, long deadlineMillis) {
+        long tick = deadlineMillis / tickMillis;
+        if (tick < currentTick) {
+            due.add(id, deadlineMillis);
+            return;
+        }
+        for (int level = 0; level < levels.length; level++) {
+            long unit = unit(level);
+            long slot = tick / unit;
+            if (slot < currentTick / unit + wheelSize) {
+                levels[level][(int) (slot % wheelSize)].add(id, deadlineMillis);
+                return;
+            }
+        }
+        int top = levels.length - 1;
+        long furthest = currentTick / unit(top) + wheelSize - 1;
+        levels[top][(int) (furthest % wheelSize)].add(id, deadlineMillis);
+    }
+
+    // Ticks per bucket on a level, saturating instead of overflowing on very deep wheels
+    private long unit(int level) {
+        long unit = 1;
+        for (int i = 0; i < level; i++) {
+            if (unit > Long.MAX_VALUE / wheelSize) {
+                return Long.MAX_VALUE;
+            }
+            unit *= wheelSize;
+        }
+        return unit;
+    }
+
+    private interface Entries {
+        void accept(long id, long deadlineMillis);
+    }
+
+    // Growable list of (id, deadline) pairs
+    private static final class Bucket {
+        private long[] entries = new long[0];
+        private int length;
+
+        void add(long id, long deadlineMillis) {
+            if (length + 2 > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(8, entries.length * 2));
+            }
+            entries[length++] = id;
+            entries[length++] = deadlineMillis;
+        }
+
+        int drain(LongConsumer ids) {
+            int count = length / 2;
+            for (int i = 0; i < length; i += 2) {
+                ids.accept(entries[i]);
+            }
+            clear();
+            return count;
+        }
+
+        void drain(Entries target) {
+            // Detach first: re-adding may land entries in this very bucket
+            long[] drained = entries;
+            int drainedLength = length;
+            entries = new long[0];
+            length = 0;
+            for (int i = 0; i < drainedLength; i += 2) {
+                target.accept(drained[i], drained[i + 1]);
+            }
+        }
+
+        private void clear() {
+            // Let a bucket that absorbed a spike shrink back
+            entries = entries.length > 1024 ? new long[0] : entries;
+            length = 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.IdempotencyProperties;
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.entity.IdempotencyRecord;
+import com.example.ticketbooking.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Responses to requests sent with an {@code Idempotency-Key}, looked up in a bounded in-memory
+ * cache and then in the {@code idempotency_key} table, which every instance shares and which is
+ * cleared of expired keys every {@code booking.idempotency.cleanup-interval}.
+ * <p>
+ * A key being worked on is claimed in memory first, so duplicates arriving meanwhile wait for
+ * that one execution instead of running the request again.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore implements SchedulingConfigurer {
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+    private final Cache<String, IdempotencyRecord> recent;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyStore(IdempotencyRecordRepository repository, IdempotencyProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(this::deleteExpired, properties.getCleanupInterval());
+        }
+    }
+
+    public Optional<IdempotencyRecord> find(String key) {
+        IdempotencyRecord record = recent.getIfPresent(key);
+        if (record != null) {
+            return Optional.of(record);
+        }
+        Optional<IdempotencyRecord> stored = ReplicaRouting.onPrimary(() -> repository.findById(key))
+                .filter(found -> found.getExpiresAt().isAfter(LocalDateTime.now()));
+        stored.ifPresent(found -> recent.put(key, found));
+        return stored;
+    }
+
+    /**
+     * Claims {@code key} for the caller, who must then run the request and {@link #complete} it.
+     *
+     * @return {@code null} if the key is now the caller's; otherwise the pending result of the
+     * request holding it, which completes with {@code null} if that request kept no response
+     */
+    public CompletableFuture<IdempotencyRecord> claim(String key) {
+        CompletableFuture<IdempotencyRecord> claimed = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, claimed);
+        if (running != null) {
+            return running;
+        }
+        // The previous holder may have finished between the caller's lookup and this claim
+        IdempotencyRecord finished = recent.getIfPresent(key);
+        if (finished != null) {
+            inFlight.remove(key, claimed);
+            claimed.complete(finished);
+            return claimed;
+        }
+        return null;
+    }
+
+    /**
+     * Keeps the response of a claimed key, or with {@code null} releases the key so the next
+     * duplicate runs the request again, and wakes up the duplicates waiting for it.
+     */
+    public void complete(String key, IdempotencyRecord record) {
+        CompletableFuture<IdempotencyRecord> claimed = inFlight.get(key);
+        try {
+            if (record != null) {
+                recent.put(key, record);
+                repository.save(record);
+            }
+        } catch (DataAccessException e) {
+            // Still replayed from memory here; another instance may run the request again
+            log.error("Cannot store response for idempotency key {}", key, e);
+        } finally {
+            if (claimed != null) {
+                inFlight.remove(key, claimed);
+                claimed.complete(record);
+            }
+        }
+    }
+
+    public IdempotencyRecord newRecord(String key, String fingerprint, int status, String contentType, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setFingerprint(fingerprint);
+        record.setStatus(status);
+        record.setContentType(contentType);
+        record.setBody(body);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(properties.getTtl()));
+        return record;
+    }
+
+    public void deleteExpired() {
+        try {
+            int deleted = repository.deleteExpired(LocalDateTime.now());
+            if (deleted > 0) {
+                log.info("Deleted {} expired idempotency keys", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.error("Cannot delete expired idempotency keys, retrying next interval", e);
+        }
+    }
+}
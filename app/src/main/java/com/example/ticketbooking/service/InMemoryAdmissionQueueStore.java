@@ -0,0 +1,128 @@
+package com.example.ticketbooking.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node {@link AdmissionQueueStore}. A queue is two counters and a token bucket, so
+ * joining, admitting and computing a position are O(1) whatever the queue length; the only
+ * per-ticket state is the ticket itself, bounded by each queue's maximum length.
+ */
+@Component
+public class InMemoryAdmissionQueueStore implements AdmissionQueueStore {
+    private final ConcurrentMap<String, Entry> tickets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    @Override
+    public QueueTicket join(Long eventId, String userId, int maxWaiting, long nowMillis) {
+        Lane lane = lanes.computeIfAbsent(eventId, id -> new Lane());
+        lane.lock.lock();
+        try {
+            Entry existing = Optional.ofNullable(lane.tokensByUser.get(userId)).map(tickets::get).orElse(null);
+            if (existing != null) {
+                existing.lastSeenMillis = nowMillis;
+                return existing.ticket;
+            }
+            if (lane.issued - lane.admitted >= maxWaiting) {
+                return null;
+            }
+            // Prefixed with the event, so a cluster member can route the token to the event's owner
+            QueueTicket ticket = new QueueTicket(eventId + "-" + UUID.randomUUID(), eventId, userId, lane.issued++);
+            tickets.put(ticket.getToken(), new Entry(ticket, nowMillis));
+            lane.tokensByUser.put(userId, ticket.getToken());
+            return ticket;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<QueueTicket> find(String token, long nowMillis) {
+        Entry entry = tickets.get(token);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        entry.lastSeenMillis = nowMillis;
+        return Optional.of(entry.ticket);
+    }
+
+    @Override
+    public long admit(Long eventId, int perSecond, int burst, long nowMillis) {
+        Lane lane = lanes.get(eventId);
+        if (lane == null) {
+            return 0;
+        }
+        lane.lock.lock();
+        try {
+            if (lane.refilledAtMillis < 0) {
+                lane.credit = burst * 1000L;
+            } else if (nowMillis > lane.refilledAtMillis) {
+                lane.credit += (nowMillis - lane.refilledAtMillis) * perSecond;
+            }
+            lane.refilledAtMillis = Math.max(lane.refilledAtMillis, nowMillis);
+            long admitted = Math.min(lane.credit / 1000, lane.issued - lane.admitted);
+            lane.admitted += admitted;
+            // Only an idle queue banks credit, and no more than the burst
+            lane.credit = Math.min(lane.credit - admitted * 1000, burst * 1000L);
+            return lane.admitted;
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String token) {
+        Entry entry = tickets.remove(token);
+        if (entry == null) {
+            return;
+        }
+        Lane lane = lanes.get(entry.ticket.getEventId());
+        lane.lock.lock();
+        try {
+            lane.tokensByUser.remove(entry.ticket.getUserId(), token);
+        } finally {
+            lane.lock.unlock();
+        }
+    }
+
+    @Override
+    public int purge(long idleSinceMillis) {
+        int purged = 0;
+        for (Entry entry : tickets.values()) {
+            if (entry.lastSeenMillis < idleSinceMillis) {
+                remove(entry.ticket.getToken());
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    private static final class Entry {
+        private final QueueTicket ticket;
+        private volatile long lastSeenMillis;
+
+        private Entry(QueueTicket ticket, long lastSeenMillis) {
+            this.ticket = ticket;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+
+    // One event's queue, guarded by its own lock
+    private static final class Lane {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, String> tokensByUser = new HashMap<>();
+        private long issued;
+        private long admitted;
+        // Admissions owed, in thousandths of a ticket
+        private long credit;
+        // Negative until the first admission, which starts with a full burst
+        private long refilledAtMillis = -1;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.SoldOutException;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Database side of {@link WriteBehindBookings}: hands out booking ids before the insert, and
+ * writes journaled bookings in batches together with their seats, ledger records and change
+ * messages.
+ */
+@Slf4j
+@Component
+public class JournaledBookingWriter {
+    private static final String INSERT =
+            "INSERT INTO booking (booking_id, event_id, user_id, seats_booked, status) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final BookingLedger ledger;
+    private final ChangeOutbox changeOutbox;
+    private final EventCacheInvalidator cacheInvalidator;
+    private final SessionFactoryImplementor sessionFactory;
+    private final BeforeExecutionGenerator idGenerator;
+
+    public JournaledBookingWriter(JdbcTemplate jdbcTemplate, BookingRepository bookingRepository,
+                                  EventRepository eventRepository, BookingLedger ledger, ChangeOutbox changeOutbox,
+                                  EventCacheInvalidator cacheInvalidator, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.ledger = ledger;
+        this.changeOutbox = changeOutbox;
+        this.cacheInvalidator = cacheInvalidator;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        // Booking's id is sequence-generated, which is always decided before the insert
+        this.idGenerator = (BeforeExecutionGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(Booking.class).getGenerator();
+    }
+
+    /**
+     * Takes the next booking id from Booking's own generator, so ids come out of the same pooled
+     * sequence blocks as those of bookings inserted through JPA; only one call in each block
+     * reaches the database.
+     */
+    public long nextBookingId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) idGenerator.generate((SharedSessionContractImplementor) session, null, null, EventType.INSERT);
+        }
+    }
+
+    /**
+     * Inserts journaled bookings in a transaction of their own, so the write commits even when
+     * called from inside a request's transaction.
+     *
+     * @return the number of bookings inserted; those of events deleted meanwhile are dropped
+     * @throws SoldOutException if an event's row has fewer seats left than its bookings take,
+     * in which case nothing is written
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int write(List<BookingJournal.Entry> entries) {
+        return insert(entries);
+    }
+
+    /**
+     * Like {@link #write}, for records read back from the journal after a restart: those that
+     * reached the database before the crash are skipped.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int replay(List<BookingJournal.Entry> entries) {
+        List<Long> bookingIds = entries.stream().map(BookingJournal.Entry::bookingId).toList();
+        Set<Long> written = new HashSet<>(bookingRepository.findExistingBookingIds(bookingIds));
+        return insert(entries.stream().filter(entry -> !written.contains(entry.bookingId())).toList());
+    }
+
+    /**
+     * Publishes a journaled booking the database turned down as canceled: its caller was told it
+     * was booked, and consumers of the change stream learn here that it is gone.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rejected(BookingJournal.Entry entry) {
+        Event event = new Event();
+        event.setId(entry.eventId());
+        Booking booking = new Booking();
+        booking.setBookingId(entry.bookingId());
+        booking.setEvent(event);
+        booking.setUserId(entry.userId());
+        booking.setSeatsBooked(entry.seats());
+        booking.setStatus(BookingStatus.CANCELED);
+        changeOutbox.bookingChanged(ChangeType.BOOKING_CANCELED, booking);
+    }
+
+    private int insert(List<BookingJournal.Entry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Set<Long> eventIds = new HashSet<>();
+        entries.forEach(entry -> eventIds.add(entry.eventId()));
+        Map<Long, Event> events = new HashMap<>();
+        eventRepository.findAllById(eventIds).forEach(event -> events.put(event.getId(), event));
+
+        List<Booking> bookings = new ArrayList<>(entries.size());
+        Map<Long, Integer> seatsByEvent = new LinkedHashMap<>();
+        for (BookingJournal.Entry entry : entries) {
+            Event event = events.get(entry.eventId());
+            if (event == null) {
+                log.error("Dropping journaled booking {} for user {}: event {} no longer exists",
+                        entry.bookingId(), entry.userId(), entry.eventId());
+                continue;
+            }
+            Booking booking = new Booking();
+            booking.setBookingId(entry.bookingId());
+            booking.setEvent(event);
+            booking.setUserId(entry.userId());
+            booking.setSeatsBooked(entry.seats());
+            booking.setStatus(BookingStatus.ACTIVE);
+            bookings.add(booking);
+            seatsByEvent.merge(entry.eventId(), entry.seats(), Integer::sum);
+        }
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        // Guarded like any other booking: the table, not the journal, has the last word on seats
+        seatsByEvent.forEach((eventId, seats) -> {
+            if (eventRepository.reserveSeats(eventId, seats) == 0) {
+                throw new SoldOutException(seats, events.get(eventId).getAvailableSeats());
+            }
+        });
+        // Plain JDBC: the ids are assigned already, which JPA would take for detached entities
+        jdbcTemplate.batchUpdate(INSERT, bookings, bookings.size(), (statement, booking) -> {
+            statement.setLong(1, booking.getBookingId());
+            statement.setLong(2, booking.getEvent().getId());
+            statement.setString(3, booking.getUserId());
+            statement.setInt(4, booking.getSeatsBooked());
+            statement.setString(5, booking.getStatus().name());
+        });
+        seatsByEvent.keySet().forEach(cacheInvalidator::seatsChanged);
+        bookings.forEach(ledger::bookingCreated);
+        changeOutbox.bookingsChanged(ChangeType.BOOKING_CREATED, bookings);
+        return bookings.size();
+    }
+}
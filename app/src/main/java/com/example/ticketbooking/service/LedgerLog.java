@@ -0,0 +1,381 @@
+package com.example.ticketbooking.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of booking ledger records in memory-mapped segment files, together with the
+ * seat totals per event that the records add up to.
+ * <p>
+ * Every record takes {@value #RECORD_SIZE} bytes: type, seats, sequence, timestamp, event id,
+ * booking id and a CRC32C checksum. A segment is named after the sequence of its first record
+ * and mapped once at its full size, so an append is a handful of stores into memory that the
+ * kernel writes back; the record survives a crash of the process as soon as it is written, and
+ * of the machine once forced. On open the log is read up to the first record that is missing,
+ * torn or out of sequence, and appending carries on from there.
+ * <p>
+ * A snapshot holds the totals of every event as of one sequence. Recovery starts from the newest
+ * valid snapshot and replays only the records after it, so restart time is bounded by the
+ * snapshot interval rather than by the length of the log. Older segments stay as the audit trail.
+ * <p>
+ * The directory is locked while the log is open, so a second instance pointed at it fails to
+ * open rather than appending over this one's records.
+ * <p>
+ * Not thread-safe: {@link BookingLedger} serialises appends, and only {@link #writeSnapshot}
+ * may run alongside them.
+ */
+@Slf4j
+public final class LedgerLog {
+    public static final int RECORD_SIZE = 48;
+    private static final int CHECKED_BYTES = 40;
+    private static final int SNAPSHOT_MAGIC = 0x4C444752;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER = 20;
+    private static final int SNAPSHOTS_KEPT = 2;
+    private static final Pattern SEGMENT = Pattern.compile("segment-(\\d{20})\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{20})\\.snap");
+
+    public enum RecordType {
+        BOOKING_CREATED, BOOKING_CANCELED, SEATS_ADJUSTED;
+
+        int code() {
+            return ordinal() + 1;
+        }
+
+        static RecordType of(int code) {
+            RecordType[] types = values();
+            return code >= 1 && code <= types.length ? types[code - 1] : null;
+        }
+    }
+
+    private final Path directory;
+    private final DirectoryLock directoryLock;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final Map<Long, Totals> totals = new HashMap<>();
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer segment;
+    private int position;
+    private long lastSequence;
+    private long snapshotSequence;
+
+    private LedgerLog(Path directory, DirectoryLock directoryLock, int segmentSize, boolean forceOnAppend) {
+        this.directory = directory;
+        this.directoryLock = directoryLock;
+        this.segmentSize = segmentSize - segmentSize % RECORD_SIZE;
+        this.forceOnAppend = forceOnAppend;
+    }
+
+    /**
+     * Opens the log in {@code directory}, creating it if needed, and recovers the totals from the
+     * newest snapshot and the records after it.
+     *
+     * @throws IOException also if another instance has the directory open
+     */
+    public static LedgerLog open(Path directory, int segmentSize, boolean forceOnAppend) throws IOException {
+        if (segmentSize < RECORD_SIZE) {
+            throw new IllegalArgumentException("Ledger segments must hold at least one record");
+        }
+        DirectoryLock directoryLock = DirectoryLock.acquire(directory);
+        LedgerLog ledgerLog = new LedgerLog(directory, directoryLock, segmentSize, forceOnAppend);
+        try {
+            ledgerLog.recover();
+        } catch (IOException | RuntimeException e) {
+            directoryLock.close();
+            throw e;
+        }
+        return ledgerLog;
+    }
+
+    /**
+     * Releases the directory. Mapped segments are written back by the kernel regardless.
+     */
+    public void close() throws IOException {
+        directoryLock.close();
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    public long recordsSinceSnapshot() {
+        return lastSequence - snapshotSequence;
+    }
+
+    public Map<Long, Totals> totals() {
+        Map<Long, Totals> copy = new HashMap<>();
+        totals.forEach((eventId, eventTotals) -> copy.put(eventId, eventTotals.copy()));
+        return copy;
+    }
+
+    /**
+     * Appends one record and applies it to the totals.
+     *
+     * @return the record's sequence
+     */
+    public long append(RecordType type, long eventId, long bookingId, int seats, long timestampMillis) throws IOException {
+        if (segment == null || position + RECORD_SIZE > segment.capacity()) {
+            startSegment(lastSequence + 1);
+        }
+        long sequence = lastSequence + 1;
+        int at = position;
+        segment.putInt(at, type.code());
+        segment.putInt(at + 4, seats);
+        segment.putLong(at + 8, sequence);
+        segment.putLong(at + 16, timestampMillis);
+        segment.putLong(at + 24, eventId);
+        segment.putLong(at + 32, bookingId);
+        segment.putInt(at + CHECKED_BYTES, checksum(segment, at));
+        if (forceOnAppend) {
+            segment.force(at, RECORD_SIZE);
+        }
+        position = at + RECORD_SIZE;
+        lastSequence = sequence;
+        apply(type, eventId, seats);
+        return sequence;
+    }
+
+    /**
+     * Replaces the totals with {@code rebased}, for example when they are found to disagree with
+     * the database, and snapshots them so that recovery starts from the new values.
+     */
+    public void rebase(Map<Long, Totals> rebased) throws IOException {
+        totals.clear();
+        rebased.forEach((eventId, eventTotals) -> totals.put(eventId, eventTotals.copy()));
+        force();
+        writeSnapshot(lastSequence, totals());
+        snapshotTaken(lastSequence);
+    }
+
+    /**
+     * Writes {@code snapshotTotals}, captured at {@code sequence}, to a new snapshot file. Safe to
+     * call while records are being appended; report the result with {@link #snapshotTaken}.
+     */
+    public void writeSnapshot(long sequence, Map<Long, Totals> snapshotTotals) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SNAPSHOT_HEADER + snapshotTotals.size() * 16 + 4);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putLong(sequence).putInt(snapshotTotals.size());
+        snapshotTotals.forEach((eventId, eventTotals) ->
+                buffer.putLong(eventId).putInt(eventTotals.capacity).putInt(eventTotals.booked));
+        CRC32C snapshotCrc = new CRC32C();
+        snapshotCrc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) snapshotCrc.getValue());
+        buffer.flip();
+
+        Path target = directory.resolve(String.format("snapshot-%020d.snap", sequence));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        List<Path> snapshots = list(SNAPSHOT);
+        for (int i = 0; i < snapshots.size() - SNAPSHOTS_KEPT; i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+
+    public void snapshotTaken(long sequence) {
+        snapshotSequence = Math.max(snapshotSequence, sequence);
+    }
+
+    public void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    private void recover() throws IOException {
+        loadSnapshot();
+
+        List<Path> segments = list(SEGMENT);
+        // Replay from the last segment starting at or before the first record the snapshot lacks
+        int first = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (firstSequence(segments.get(i)) <= snapshotSequence + 1) {
+                first = i;
+            }
+        }
+        long replayed = 0;
+        for (int i = first; i < segments.size(); i++) {
+            Path path = segments.get(i);
+            MappedByteBuffer mapped = map(path, Files.size(path));
+            int at = 0;
+            while (at + RECORD_SIZE <= mapped.capacity()) {
+                RecordType type = RecordType.of(mapped.getInt(at));
+                long sequence = mapped.getLong(at + 8);
+                if (type == null || mapped.getInt(at + CHECKED_BYTES) != checksum(mapped, at)
+                        || sequence > lastSequence + 1) {
+                    break;
+                }
+                if (sequence == lastSequence + 1) {
+                    apply(type, mapped.getLong(at + 24), mapped.getInt(at + 4));
+                    lastSequence = sequence;
+                    replayed++;
+                }
+                at += RECORD_SIZE;
+            }
+            if (at + RECORD_SIZE <= mapped.capacity()) {
+                // The log ends inside this segment: append here, and set aside anything after it.
+                // A segment that starts past a gap is set aside as well, and a new one started.
+                boolean continues = at > 0 || firstSequence(path) == lastSequence + 1;
+                if (continues) {
+                    segment = mapped;
+                    position = at;
+                }
+                for (Path orphan : segments.subList(continues ? i + 1 : i, segments.size())) {
+                    log.warn("Ledger segment {} follows a gap in the log and is set aside", orphan.getFileName());
+                    Files.move(orphan, orphan.resolveSibling(orphan.getFileName() + ".orphan"));
+                }
+                break;
+            }
+        }
+        log.info("Ledger recovered {} events at sequence {}: snapshot {} plus {} records",
+                totals.size(), lastSequence, snapshotSequence, replayed);
+    }
+
+    private void loadSnapshot() throws IOException {
+        List<Path> snapshots = list(SNAPSHOT);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshots.get(i)));
+            if (buffer.remaining() >= SNAPSHOT_HEADER + 4 && buffer.getInt(0) == SNAPSHOT_MAGIC
+                    && buffer.getInt(4) == SNAPSHOT_VERSION
+                    && buffer.remaining() == SNAPSHOT_HEADER + buffer.getInt(16) * 16L + 4
+                    && hasSnapshotChecksum(buffer)) {
+                long sequence = buffer.getLong(8);
+                int count = buffer.getInt(16);
+                buffer.position(SNAPSHOT_HEADER);
+                for (int j = 0; j < count; j++) {
+                    totals.put(buffer.getLong(), new Totals(buffer.getInt(), buffer.getInt()));
+                }
+                lastSequence = sequence;
+                snapshotSequence = sequence;
+                return;
+            }
+            log.warn("Ignoring damaged ledger snapshot {}", snapshots.get(i).getFileName());
+        }
+    }
+
+    private static boolean hasSnapshotChecksum(ByteBuffer buffer) {
+        CRC32C snapshotCrc = new CRC32C();
+        snapshotCrc.update(buffer.array(), 0, buffer.remaining() - 4);
+        return buffer.getInt(buffer.remaining() - 4) == (int) snapshotCrc.getValue();
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        force();
+        segment = map(directory.resolve(String.format("segment-%020d.log", firstSequence)), segmentSize);
+        position = 0;
+    }
+
+    private void apply(RecordType type, long eventId, int seats) {
+        switch (type) {
+            case BOOKING_CREATED -> totals.computeIfAbsent(eventId, id -> new Totals(0, 0)).booked += seats;
+            case BOOKING_CANCELED -> totals.computeIfAbsent(eventId, id -> new Totals(0, 0)).booked -= seats;
+            case SEATS_ADJUSTED -> {
+                Totals eventTotals = totals.computeIfAbsent(eventId, id -> new Totals(0, 0));
+                eventTotals.capacity += seats;
+                // Deleting an event takes away all of its capacity
+                if (eventTotals.capacity <= 0) {
+                    totals.remove(eventId);
+                }
+            }
+        }
+    }
+
+    private int checksum(ByteBuffer buffer, int at) {
+        crc.reset();
+        crc.update(buffer.slice(at, CHECKED_BYTES));
+        return (int) crc.getValue();
+    }
+
+    private List<Path> list(Pattern pattern) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> pattern.matcher(path.getFileName().toString()).matches()).forEach(paths::add);
+        }
+        paths.sort(Comparator.comparingLong(path -> sequenceIn(path, pattern)));
+        return paths;
+    }
+
+    private static long firstSequence(Path segmentPath) {
+        return sequenceIn(segmentPath, SEGMENT);
+    }
+
+    private static long sequenceIn(Path path, Pattern pattern) {
+        Matcher matcher = pattern.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Capacity and booked seats of one event, as recorded in the ledger.
+     */
+    public static final class Totals {
+        private int capacity;
+        private int booked;
+
+        public Totals(int capacity, int booked) {
+            this.capacity = capacity;
+            this.booked = booked;
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        public int booked() {
+            return booked;
+        }
+
+        public int remaining() {
+            return capacity - booked;
+        }
+
+        Totals copy() {
+            return new Totals(capacity, booked);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Totals that && capacity == that.capacity && booked == that.booked;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * capacity + booked;
+        }
+
+        @Override
+        public String toString() {
+            return booked + "/" + capacity;
+        }
+    }
+}
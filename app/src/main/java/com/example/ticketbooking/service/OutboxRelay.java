@@ -0,0 +1,58 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.OutboxProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the outbox every {@code booking.outbox.poll-interval}: batch after batch while they
+ * come back full, so a backlog is worked off at full speed and an idle outbox costs one small
+ * query per interval.
+ * <p>
+ * In a cluster only the member {@link ClusterMembership#isRelay elected} to relay drains it;
+ * the others would split the stream between their change sinks. Members that briefly both think
+ * they are the relay, around a join or a failure, are kept apart by the relay checkpoint.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SchedulingConfigurer {
+    private final ChangeOutbox outbox;
+    private final OutboxProperties properties;
+    private final ClusterMembership membership;
+
+    public OutboxRelay(ChangeOutbox outbox, OutboxProperties properties, ClusterMembership membership) {
+        this.outbox = outbox;
+        this.properties = properties;
+        this.membership = membership;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (properties.isEnabled()) {
+            registrar.addFixedDelayTask(this::relayPending, properties.getPollInterval());
+        }
+    }
+
+    /**
+     * @return the number of messages published
+     */
+    public long relayPending() {
+        if (!membership.isRelay()) {
+            return 0;
+        }
+        long relayed = 0;
+        try {
+            int batch;
+            do {
+                batch = outbox.relayBatch();
+                relayed += batch;
+            } while (batch >= properties.getBatchSize());
+        } catch (RuntimeException e) {
+            // Nothing was deleted, so the same messages go out again next time
+            log.error("Outbox relay failed after {} messages, retrying next interval", relayed, e);
+        }
+        return relayed;
+    }
+}
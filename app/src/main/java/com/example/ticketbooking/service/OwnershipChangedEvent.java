@@ -0,0 +1,33 @@
+package com.example.ticketbooking.service;
+
+/**
+ * Published by {@link ClusterMembership} when members join or leave. Components holding
+ * per-event state in memory drop or reload it for the events that {@link #moved moved}: state
+ * kept while another instance owned an event may have missed that instance's changes.
+ */
+public final class OwnershipChangedEvent {
+    private final ConsistentHashRing previous;
+    private final ConsistentHashRing current;
+    private final String self;
+
+    public OwnershipChangedEvent(ConsistentHashRing previous, ConsistentHashRing current, String self) {
+        this.previous = previous;
+        this.current = current;
+        this.self = self;
+    }
+
+    /**
+     * @return whether this instance gained or lost the event
+     */
+    public boolean moved(Long eventId) {
+        return self.equals(previous.ownerOf(eventId)) != self.equals(current.ownerOf(eventId));
+    }
+
+    public boolean gained(Long eventId) {
+        return !self.equals(previous.ownerOf(eventId)) && self.equals(current.ownerOf(eventId));
+    }
+
+    public ConsistentHashRing getCurrent() {
+        return current;
+    }
+}
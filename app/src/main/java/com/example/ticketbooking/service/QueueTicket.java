@@ -0,0 +1,35 @@
+package com.example.ticketbooking.service;
+
+/**
+ * A place in an event's waiting room. Tickets are numbered from 0 in the order they were
+ * issued; the queue admits them in that order.
+ */
+public final class QueueTicket {
+    private final String token;
+    private final Long eventId;
+    private final String userId;
+    private final long sequence;
+
+    public QueueTicket(String token, Long eventId, String userId, long sequence) {
+        this.token = token;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.sequence = sequence;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+}
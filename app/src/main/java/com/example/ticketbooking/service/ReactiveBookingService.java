@@ -0,0 +1,218 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.BatchProperties;
+import com.example.ticketbooking.config.PaginationProperties;
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.dto.BookingRow;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.repository.ReactiveBookingRepository;
+import com.example.ticketbooking.repository.ReactiveEventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link BookingService} for the reactive profile.
+ * <p>
+ * There is no in-memory inventory or lock stripe here, since neither may block an event loop.
+ * The booking is inserted, its seats taken by the guarded seat update and its outbox message
+ * written in one transaction, so none is ever committed without the others. The seat update comes
+ * late: the H2 R2DBC driver runs on the calling thread, and taking the event row lock just before
+ * the commit keeps the time other bookings for the event spend waiting on it short.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveBookingService {
+    private final ReactiveBookingRepository bookingRepository;
+    private final ReactiveEventRepository eventRepository;
+    private final ReactiveEventService eventService;
+    private final ReactiveChangeOutbox changeOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final PaginationProperties paginationProperties;
+    private final BatchProperties batchProperties;
+
+    public ReactiveBookingService(ReactiveBookingRepository bookingRepository, ReactiveEventRepository eventRepository,
+                                  ReactiveEventService eventService, ReactiveChangeOutbox changeOutbox,
+                                  TransactionalOperator transactionalOperator, PaginationProperties paginationProperties,
+                                  BatchProperties batchProperties) {
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.changeOutbox = changeOutbox;
+        this.transactionalOperator = transactionalOperator;
+        this.paginationProperties = paginationProperties;
+        this.batchProperties = batchProperties;
+    }
+
+    public Mono<Booking> createBooking(Long eventId, String userId, int seats) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("User ID cannot be empty"));
+        }
+        if (seats <= 0) {
+            return Mono.error(new IllegalArgumentException("Number of seats must be greater than 0"));
+        }
+
+        return eventService.getEventWithAvailability(eventId)
+                .flatMap(event -> {
+                    if (event.getDate().isBefore(LocalDateTime.now())) {
+                        log.debug("Cannot book tickets for past event: {}, Date: {}", eventId, event.getDate());
+                        return Mono.error(new IllegalStateException("Cannot book tickets for past events"));
+                    }
+                    return insertUnlessDuplicate(eventId, userId, seats)
+                            .flatMap(booking -> eventRepository.reserveSeats(eventId, seats)
+                                    .flatMap(updated -> {
+                                        if (updated == 0) {
+                                            log.debug("Insufficient seats available. Event: {}, Requested: {}",
+                                                    eventId, seats);
+                                            return Mono.error(new IllegalStateException(
+                                                    "Not enough seats available. Requested: " + seats));
+                                        }
+                                        booking.setEvent(event);
+                                        return changeOutbox.bookingChanged(ChangeType.BOOKING_CREATED, booking)
+                                                .thenReturn(booking);
+                                    }))
+                            // Sold out rolls the booking and its outbox message back with it
+                            .as(transactionalOperator::transactional);
+                })
+                .doOnNext(booking -> log.debug("Successfully created booking {} for event {} - User: {}, Seats: {}",
+                        booking.getBookingId(), eventId, userId, seats));
+    }
+
+    private Mono<Booking> insertUnlessDuplicate(Long eventId, String userId, int seats) {
+        return bookingRepository.existsByEventIdAndUserIdAndStatus(eventId, userId, BookingStatus.ACTIVE)
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.debug("User {} already has an active booking for event {}", userId, eventId);
+                        return Mono.error(new DuplicateBookingException());
+                    }
+                    return bookingRepository.insert(eventId, userId, seats);
+                })
+                // Two requests can both pass the check; the unique index lets only one insert through
+                .onErrorMap(DataIntegrityViolationException.class, e -> DuplicateBookingException.isActiveBookingViolation(e)
+                        ? new DuplicateBookingException(e) : e);
+    }
+
+    public Flux<BatchBookingResult> createBookings(List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Flux.error(new IllegalArgumentException("Batch must contain at least one booking"));
+        }
+        if (requests.size() > batchProperties.getMaxSize()) {
+            log.error("Batch booking rejected: {} items exceeds limit of {}", requests.size(), batchProperties.getMaxSize());
+            return Flux.error(new IllegalArgumentException(
+                    "Batch cannot contain more than " + batchProperties.getMaxSize() + " bookings"));
+        }
+        return Flux.range(0, requests.size())
+                .concatMap(i -> {
+                    BookingRequest request = requests.get(i);
+                    if (request.getEventId() == null || request.getSeats() == null) {
+                        return Mono.just(BatchBookingResult.rejected(i, "Event ID and seats are required"));
+                    }
+                    return createBooking(request.getEventId(), request.getUserId(), request.getSeats())
+                            .map(booking -> BatchBookingResult.created(i, booking.getBookingId()))
+                            .onErrorResume(e -> Mono.just(BatchBookingResult.rejected(i, e.getMessage())));
+                });
+    }
+
+    public Mono<Void> cancelBooking(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Booking not found with id: " + bookingId)))
+                .zipWhen(booking -> bookingRepository.findEventIdByBookingId(bookingId)
+                        .flatMap(eventService::getEventWithAvailability))
+                .flatMap(bookingAndEvent -> {
+                    Booking booking = bookingAndEvent.getT1();
+                    if (bookingAndEvent.getT2().getDate().isBefore(LocalDateTime.now())) {
+                        log.debug("Cannot cancel booking {} for past event", bookingId);
+                        return Mono.error(new IllegalStateException("Cannot cancel bookings for past events"));
+                    }
+                    // Guarded status flip: only one of two concurrent cancels releases the seats
+                    return bookingRepository.updateStatus(bookingId, BookingStatus.ACTIVE, BookingStatus.CANCELED)
+                            .flatMap(updated -> {
+                                if (updated == 0) {
+                                    log.debug("Cannot cancel booking {}: already canceled", bookingId);
+                                    return Mono.error(new IllegalStateException("Booking is already canceled"));
+                                }
+                                booking.setEvent(bookingAndEvent.getT2());
+                                booking.setStatus(BookingStatus.CANCELED);
+                                return eventRepository.releaseSeats(bookingAndEvent.getT2().getId(), booking.getSeatsBooked())
+                                        .then(changeOutbox.bookingChanged(ChangeType.BOOKING_CANCELED, booking));
+                            });
+                })
+                .as(transactionalOperator::transactional)
+                .then();
+    }
+
+    public Mono<Booking> getBooking(Long bookingId) {
+        return bookingRepository.findById(bookingId)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Booking not found with id: " + bookingId)));
+    }
+
+    public Mono<BookingPage> getUserBookings(String userId, String cursor, Integer size) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("User ID cannot be empty"));
+        }
+        // Deferred so an invalid size or cursor becomes an error signal
+        return Mono.defer(() -> {
+            int pageSize = pageSize(size);
+            long afterId = BookingCursor.decode(cursor);
+            return toPage(bookingRepository.findPageByUserId(userId, afterId, pageSize + 1), pageSize);
+        });
+    }
+
+    public Mono<BookingPage> getEventBookings(Long eventId, String cursor, Integer size) {
+        return Mono.defer(() -> {
+            int pageSize = pageSize(size);
+            long afterId = BookingCursor.decode(cursor);
+            return eventService.getEventWithAvailability(eventId)
+                    .flatMap(event -> toPage(bookingRepository.findPageByEventIdAndStatus(
+                            eventId, BookingStatus.ACTIVE, afterId, pageSize + 1), pageSize));
+        });
+    }
+
+    /**
+     * Every active booking of the event, emitted as the driver reads them; the reactive
+     * counterpart of {@link BookingExporter}.
+     */
+    public Flux<BookingRow> exportEventBookings(Long eventId) {
+        return eventService.getEventWithAvailability(eventId)
+                .flatMapMany(event -> bookingRepository.streamByEventIdAndStatus(eventId, BookingStatus.ACTIVE));
+    }
+
+    private int pageSize(Integer size) {
+        int pageSize = size == null ? paginationProperties.getDefaultSize() : size;
+        if (pageSize < 1 || pageSize > paginationProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", paginationProperties.getMaxSize()));
+        }
+        return pageSize;
+    }
+
+    // The query asks for one row more than the page to learn whether another page follows
+    private static Mono<BookingPage> toPage(Flux<Booking> bookings, int pageSize) {
+        return bookings.collectList().map(list -> {
+            if (list.size() <= pageSize) {
+                return new BookingPage(list, null);
+            }
+            List<Booking> page = List.copyOf(list.subList(0, pageSize));
+            return new BookingPage(page, BookingCursor.encode(page.get(pageSize - 1).getBookingId()));
+        });
+    }
+
+    public Mono<Boolean> hasActiveBooking(Long eventId, String userId) {
+        return eventService.getEventWithAvailability(eventId)
+                .flatMap(event -> bookingRepository.existsByEventIdAndUserIdAndStatus(eventId, userId, BookingStatus.ACTIVE));
+    }
+}
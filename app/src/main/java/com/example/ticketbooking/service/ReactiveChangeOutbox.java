@@ -0,0 +1,48 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.OutboxProperties;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.ReactiveOutboxMessageRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ChangeOutbox} for the reactive profile.
+ * <p>
+ * Callers chain the returned {@link Mono} into the transaction that makes the change, so the
+ * message is committed or rolled back with it. The messages are the same as {@link ChangeOutbox}
+ * writes and are relayed by the same {@link OutboxRelay}.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveChangeOutbox {
+    private final ChangeOutbox changeOutbox;
+    private final ReactiveOutboxMessageRepository messageRepository;
+    private final OutboxProperties properties;
+
+    public ReactiveChangeOutbox(ChangeOutbox changeOutbox, ReactiveOutboxMessageRepository messageRepository,
+                                OutboxProperties properties) {
+        this.changeOutbox = changeOutbox;
+        this.messageRepository = messageRepository;
+        this.properties = properties;
+    }
+
+    public Mono<Void> bookingChanged(ChangeType type, Booking booking) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> changeOutbox.bookingMessage(type, booking))
+                .flatMap(messageRepository::insert);
+    }
+
+    public Mono<Void> eventChanged(ChangeType type, Event event) {
+        if (!properties.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> changeOutbox.eventMessage(type, event))
+                .flatMap(messageRepository::insert);
+    }
+}
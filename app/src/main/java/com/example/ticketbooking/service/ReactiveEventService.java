@@ -0,0 +1,125 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.PaginationProperties;
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.dto.EventSummary;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.ReactiveEventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link EventService} for the reactive profile.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveEventService {
+    private final ReactiveEventRepository eventRepository;
+    private final ReactiveChangeOutbox changeOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final PaginationProperties paginationProperties;
+
+    public ReactiveEventService(ReactiveEventRepository eventRepository, ReactiveChangeOutbox changeOutbox,
+                                TransactionalOperator transactionalOperator, PaginationProperties paginationProperties) {
+        this.eventRepository = eventRepository;
+        this.changeOutbox = changeOutbox;
+        this.transactionalOperator = transactionalOperator;
+        this.paginationProperties = paginationProperties;
+    }
+
+    public Mono<Event> createEvent(EventRequest request) {
+        if (request.getDate().isBefore(LocalDateTime.now())) {
+            log.error("Attempted to create event with past date: {}", request.getDate());
+            return Mono.error(new IllegalArgumentException("Event date cannot be in the past"));
+        }
+
+        Event event = new Event();
+        event.setName(request.getName());
+        event.setDate(request.getDate());
+        event.setLocation(request.getLocation());
+        event.setTotalSeats(request.getTotalSeats());
+        return eventRepository.insert(event)
+                .flatMap(saved -> changeOutbox.eventChanged(ChangeType.EVENT_CREATED, saved).thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> log.info("Successfully created event with ID: {}", saved.getId()));
+    }
+
+    public Mono<EventPage> getAllEvents(String sortBy, String cursor, Integer size) {
+        String sort = sortBy == null ? "date" : sortBy;
+        if (!EventCursor.SORT_OPTIONS.contains(sort)) {
+            log.debug("Invalid sort parameter provided: {}", sort);
+            return Mono.error(new IllegalArgumentException("Invalid sort parameter. Must be one of: date, location, availability"));
+        }
+        int pageSize = size == null ? paginationProperties.getDefaultSize() : size;
+        if (pageSize < 1 || pageSize > paginationProperties.getMaxSize()) {
+            return Mono.error(new IllegalArgumentException(
+                    String.format("Page size must be between 1 and %d", paginationProperties.getMaxSize())));
+        }
+
+        Object afterKey = null;
+        Long afterId = null;
+        if (cursor != null) {
+            EventCursor position;
+            try {
+                position = EventCursor.decode(cursor, sort);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(e);
+            }
+            afterId = position.getId();
+            afterKey = switch (sort) {
+                case "availability" -> position.availabilityKey();
+                case "location" -> position.getKey();
+                default -> position.dateKey();
+            };
+        }
+
+        return eventRepository.findPage(sort, afterKey, afterId, pageSize + 1)
+                .map(EventSummary::from)
+                .collectList()
+                .map(events -> {
+                    if (events.size() <= pageSize) {
+                        return new EventPage(events, null);
+                    }
+                    List<EventSummary> page = List.copyOf(events.subList(0, pageSize));
+                    return new EventPage(page, EventCursor.encode(sort, page.get(pageSize - 1)));
+                });
+    }
+
+    public Mono<Event> getEventWithAvailability(Long eventId) {
+        if (eventId == null) {
+            return Mono.error(new IllegalArgumentException("Event ID cannot be null"));
+        }
+        return eventRepository.findById(eventId)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Event not found with id: " + eventId)));
+    }
+
+    public int getAvailableSeats(Event event) {
+        return event.getAvailableSeats();
+    }
+
+    public Mono<Void> deleteEvent(Long eventId) {
+        return getEventWithAvailability(eventId)
+                .flatMap(event -> {
+                    if (event.getBookedSeats() > 0) {
+                        log.error("Cannot delete event {} - has {} active bookings", eventId, event.getBookedSeats());
+                        return Mono.error(new IllegalStateException(String.format(
+                                "Cannot delete event with active bookings. Current bookings: %d", event.getBookedSeats())));
+                    }
+                    return eventRepository.deleteById(eventId)
+                            .then(changeOutbox.eventChanged(ChangeType.EVENT_DELETED, event));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(deleted -> log.info("Successfully deleted event: {}", eventId))
+                .then();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ReplicaProperties;
+import com.example.ticketbooking.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures how far each read replica trails the primary.
+ * <p>
+ * Every {@code booking.replicas.heartbeat-interval} this instance writes the current time into
+ * its own row of {@code replication_heartbeat} on the primary, then reads the row back from every
+ * replica: the value found there is how far the replica has caught up, since replication applies
+ * the primary's commits in order. Each instance keeps a row of its own, so only its own clock
+ * is compared with its own writes. A replica that cannot be read is left with its last value and
+ * drops out of the rotation once that is older than {@code booking.replicas.max-lag}.
+ * Does nothing unless {@code booking.replicas.enabled}.
+ */
+@Slf4j
+@Component
+public class ReplicaLagMonitor implements SchedulingConfigurer {
+    private static final String UPDATE = "UPDATE replication_heartbeat SET beat_millis = ? WHERE instance_id = ?";
+    private static final String INSERT = "INSERT INTO replication_heartbeat (instance_id, beat_millis) VALUES (?, ?)";
+    private static final String SELECT = "SELECT beat_millis FROM replication_heartbeat WHERE instance_id = ?";
+
+    private final ReplicaProperties properties;
+    private final ReplicaRoutingDataSource routing;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Set<String> unreachable = ConcurrentHashMap.newKeySet();
+
+    public ReplicaLagMonitor(ReplicaProperties properties, ObjectProvider<ReplicaRoutingDataSource> routing,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.routing = routing.getIfAvailable();
+        for (ReplicaRoutingDataSource.Replica replica : replicas()) {
+            Gauge.builder("booking.replicas.lag", replica, this::lagMillis)
+                    .tag("replica", replica.getName())
+                    .baseUnit("milliseconds")
+                    .description("Age of the latest primary heartbeat seen on the replica")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (routing != null) {
+            registrar.addFixedDelayTask(this::check, properties.getHeartbeatInterval());
+        }
+    }
+
+    /**
+     * Writes a heartbeat to the primary and reads the latest one back from every replica.
+     */
+    public void check() {
+        if (routing == null) {
+            return;
+        }
+        long beat = System.currentTimeMillis();
+        try {
+            JdbcTemplate primary = new JdbcTemplate(routing.getPrimary());
+            if (primary.update(UPDATE, beat, instanceId) == 0) {
+                primary.update(INSERT, instanceId, beat);
+            }
+        } catch (DataAccessException e) {
+            log.error("Cannot write replication heartbeat to the primary", e);
+            return;
+        }
+        for (ReplicaRoutingDataSource.Replica replica : replicas()) {
+            try {
+                List<Long> seen = new JdbcTemplate(replica.getDataSource()).queryForList(SELECT, Long.class, instanceId);
+                if (!seen.isEmpty()) {
+                    replica.heardFrom(seen.get(0));
+                }
+                if (unreachable.remove(replica.getName())) {
+                    log.info("Replica {} answers again", replica.getName());
+                }
+            } catch (DataAccessException e) {
+                if (unreachable.add(replica.getName())) {
+                    log.warn("Cannot read replication heartbeat from replica {}; it gets no reads once it is "
+                            + "more than {} behind", replica.getName(), properties.getMaxLag(), e);
+                }
+            }
+        }
+    }
+
+    private List<ReplicaRoutingDataSource.Replica> replicas() {
+        return routing != null ? routing.getReplicas() : List.of();
+    }
+
+    private double lagMillis(ReplicaRoutingDataSource.Replica replica) {
+        long caughtUpTo = replica.caughtUpTo();
+        return caughtUpTo == 0 ? Double.NaN : System.currentTimeMillis() - caughtUpTo;
+    }
+}
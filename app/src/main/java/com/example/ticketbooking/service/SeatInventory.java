@@ -0,0 +1,228 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ClusterProperties;
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory remaining-seats counter per event.
+ * <p>
+ * Seats are reserved with a compare-and-set loop, so admission never blocks and never
+ * needs an aggregate query. The database stays the source of truth: reservations made
+ * inside a transaction are handed back if that transaction rolls back, releases are only
+ * applied once the transaction commits, and the counters are rebuilt at startup, from the
+ * {@link BookingLedger}, which the event table is repaired from, or, without a ledger, from the
+ * {@code Booking} table. Events that are not loaded yet are initialised lazily. Counters are
+ * only ever loaded from the primary, never from a read replica.
+ * <p>
+ * In a cluster only the events this instance owns are counted here; availability of the
+ * others is read from the database, and counters of events that move are dropped. The previous
+ * owner of an event this instance gains may still commit bookings and cancellations after the
+ * counter was loaded, so {@code booking.cluster.handover-settle-time} later it is counted again
+ * under the event's lock stripe. So is a counter the guarded seat update disagreed with.
+ */
+@Slf4j
+@Component
+public class SeatInventory implements SchedulingConfigurer {
+    private final ConcurrentMap<Long, AtomicInteger> remainingSeats = new ConcurrentHashMap<>();
+    // Event id to the System.nanoTime() from which its counter is to be counted again
+    private final ConcurrentMap<Long, Long> recounts = new ConcurrentHashMap<>();
+    private final EventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingLedger ledger;
+    private final ClusterMembership membership;
+    private final ClusterProperties clusterProperties;
+    private final StripedLockManager lockManager;
+    // Provided lazily: the write-behind path reserves its seats here
+    private final ObjectProvider<WriteBehindBookings> writeBehind;
+
+    public SeatInventory(EventRepository eventRepository, BookingRepository bookingRepository, BookingLedger ledger,
+                         ClusterMembership membership, ClusterProperties clusterProperties,
+                         StripedLockManager lockManager, ObjectProvider<WriteBehindBookings> writeBehind) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+        this.ledger = ledger;
+        this.membership = membership;
+        this.clusterProperties = clusterProperties;
+        this.lockManager = lockManager;
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::recountDue, clusterProperties.getHeartbeatInterval());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (ledger.isEnabled()) {
+            // No aggregate over the booking table: the ledger's totals only need checking against the events.
+            // In a cluster the ledger misses the changes other instances make, so the table stays in charge.
+            Map<Long, Integer> remaining = ledger.reconcile(ReplicaRouting.onPrimary(eventRepository::findAllSeatCounts),
+                    clusterProperties.isEnabled() ? null : eventRepository::restoreSeatCounts);
+            remaining.forEach((eventId, seats) -> remainingSeats.putIfAbsent(eventId, new AtomicInteger(seats)));
+            log.info("Seat inventory rebuilt from the booking ledger for {} events", remaining.size());
+            return;
+        }
+
+        Map<Long, Integer> bookedByEvent = new HashMap<>();
+        for (Object[] row : ReplicaRouting.onPrimary(bookingRepository::sumActiveSeatsGroupedByEvent)) {
+            bookedByEvent.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+
+        List<Object[]> capacities = ReplicaRouting.onPrimary(eventRepository::findAllCapacities);
+        for (Object[] row : capacities) {
+            Long eventId = (Long) row[0];
+            int totalSeats = (Integer) row[1];
+            // Keep counters that were initialised lazily by requests served before startup finished
+            remainingSeats.putIfAbsent(eventId, new AtomicInteger(totalSeats - bookedByEvent.getOrDefault(eventId, 0)));
+        }
+        log.info("Seat inventory rebuilt for {} events", capacities.size());
+    }
+
+    public int getAvailableSeats(Event event) {
+        return counter(event).get();
+    }
+
+    /**
+     * Atomically takes {@code seats} from the event's remaining seats.
+     *
+     * @return {@code false} if not enough seats are left, in which case nothing is taken
+     */
+    public boolean tryReserve(Event event, int seats) {
+        AtomicInteger remaining = counter(event);
+        int current;
+        do {
+            current = remaining.get();
+            if (current < seats) {
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - seats));
+
+        TransactionCallbacks.afterRollback(() -> remaining.addAndGet(seats));
+        return true;
+    }
+
+    /**
+     * Returns {@code seats} to the event once the surrounding transaction commits.
+     */
+    public void release(Event event, int seats) {
+        AtomicInteger remaining = counter(event);
+        TransactionCallbacks.afterCommit(() -> remaining.addAndGet(seats));
+    }
+
+    public void register(Event event) {
+        if (membership.isLocal(event.getId())) {
+            TransactionCallbacks.afterCommit(() ->
+                    remainingSeats.putIfAbsent(event.getId(), new AtomicInteger(event.getTotalSeats())));
+        }
+    }
+
+    /**
+     * Applies a change of total capacity to the remaining seats.
+     *
+     * @return {@code false} if the new capacity is below the seats already booked
+     */
+    public boolean resize(Event event, int newTotalSeats) {
+        int delta = newTotalSeats - event.getTotalSeats();
+        if (delta < 0) {
+            // Shrinking is the same as reserving the removed seats for good
+            return tryReserve(event, -delta);
+        }
+        if (delta > 0) {
+            release(event, delta);
+        }
+        return true;
+    }
+
+    public void remove(Long eventId) {
+        TransactionCallbacks.afterCommit(() -> remainingSeats.remove(eventId));
+    }
+
+    /**
+     * Another instance now counts the seats of events this one lost, and this one may have missed
+     * changes to the events it gained: both are loaded from the database when next needed, and
+     * those gained are counted again once the handover has settled.
+     */
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent change) {
+        remainingSeats.keySet().removeIf(change::moved);
+        recounts.keySet().removeIf(change::moved);
+        long settled = System.nanoTime() + clusterProperties.getHandoverSettleTime().toNanos();
+        for (Object[] row : ReplicaRouting.onPrimary(eventRepository::findAllCapacities)) {
+            Long eventId = (Long) row[0];
+            if (change.gained(eventId)) {
+                recounts.put(eventId, settled);
+            }
+        }
+    }
+
+    /**
+     * Has the event's counter counted again: the guarded seat update found fewer seats left than
+     * it showed, so it missed a change.
+     */
+    public void recount(Long eventId) {
+        recounts.put(eventId, System.nanoTime());
+    }
+
+    public void recountDue() {
+        long now = System.nanoTime();
+        recounts.forEach((eventId, due) -> {
+            if (due - now <= 0 && recounts.remove(eventId, due)) {
+                lockManager.runLocked(eventId, () -> recountLocked(eventId));
+            }
+        });
+    }
+
+    // Nothing reserves or releases this event's seats meanwhile, so the counter can be replaced outright
+    private void recountLocked(Long eventId) {
+        AtomicInteger remaining = remainingSeats.get(eventId);
+        if (remaining == null || !membership.isLocal(eventId)) {
+            return;
+        }
+        ReplicaRouting.onPrimary(() -> eventRepository.findById(eventId)).ifPresent(event -> {
+            int counted = event.getTotalSeats() - writeBehind.getObject().bookedSeats(event);
+            int previous = remaining.getAndSet(counted);
+            if (previous != counted) {
+                log.warn("Seat counter of event {} was {} but {} seats are left, corrected", eventId, previous, counted);
+            }
+        });
+    }
+
+    private AtomicInteger counter(Event event) {
+        AtomicInteger remaining = remainingSeats.get(event.getId());
+        if (remaining != null) {
+            return remaining;
+        }
+        if (!membership.isLocal(event.getId())) {
+            // Not kept: the owner changes the seats without telling this instance
+            return new AtomicInteger(event.getTotalSeats() - bookingRepository.sumSeatsBookedByEvent(event));
+        }
+        // Query outside computeIfAbsent, which would lock part of the map for the length of the query
+        AtomicInteger loaded = new AtomicInteger(event.getTotalSeats()
+                - ReplicaRouting.onPrimary(() -> bookingRepository.sumSeatsBookedByEvent(event)));
+        if (ReplicaRouting.isReplicaTransaction()) {
+            // Not kept either: the transaction was already reading from a replica, which may be behind
+            return loaded;
+        }
+        remaining = remainingSeats.putIfAbsent(event.getId(), loaded);
+        return remaining != null ? remaining : loaded;
+    }
+
+}
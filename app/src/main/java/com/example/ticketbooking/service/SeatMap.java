@@ -0,0 +1,284 @@
+package com.example.ticketbooking.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reserved-seating layout of one event with one bit per seat.
+ * <p>
+ * Seats are numbered section by section and row by row, so every row is a contiguous bit
+ * range and a 100,000-seat stadium fits in about 12 KB of {@code long} words. Holding or
+ * releasing a seat flips one bit, and the search for adjacent free seats skips a whole word
+ * of sold or free seats per step. Sections and rows are listed best first.
+ * <p>
+ * Mutations must happen under the event's lock stripe; readers that do not take it may see
+ * a hold that is still in flight.
+ */
+public final class SeatMap {
+    public static final int MAX_SEATS = 1_000_000;
+    private static final Pattern SECTION = Pattern.compile("([A-Za-z0-9]+):(\\d{1,7})x(\\d{1,7})");
+
+    private final List<Section> sections;
+    private final int capacity;
+    private final long[] sold;
+    private volatile int soldCount;
+
+    private SeatMap(List<Section> sections, int capacity) {
+        this.sections = sections;
+        this.capacity = capacity;
+        this.sold = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Parses a layout such as {@code Floor:20x50;Balcony:10x30}: section name, rows and seats per row.
+     */
+    public static SeatMap parse(String layout) {
+        if (layout == null || layout.isBlank()) {
+            throw new IllegalArgumentException("Seat map layout cannot be empty");
+        }
+        List<Section> sections = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        long capacity = 0;
+        for (String part : layout.split(";")) {
+            Matcher matcher = SECTION.matcher(part.trim());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid seat map section: " + part);
+            }
+            String name = matcher.group(1);
+            int rows = Integer.parseInt(matcher.group(2));
+            int seatsPerRow = Integer.parseInt(matcher.group(3));
+            if (rows < 1 || seatsPerRow < 1) {
+                throw new IllegalArgumentException("Section " + name + " must have at least one row and seat");
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Duplicate seat map section: " + name);
+            }
+            sections.add(new Section(name, rows, seatsPerRow, (int) capacity));
+            capacity += (long) rows * seatsPerRow;
+            if (capacity > MAX_SEATS) {
+                throw new IllegalArgumentException("Seat map cannot have more than " + MAX_SEATS + " seats");
+            }
+        }
+        return new SeatMap(Collections.unmodifiableList(sections), (int) capacity);
+    }
+
+    /**
+     * Restores a seat map persisted with {@link #layout()} and {@link #toBytes()}.
+     */
+    public static SeatMap of(String layout, byte[] soldBytes) {
+        SeatMap seatMap = parse(layout);
+        if (soldBytes.length != seatMap.sold.length * Long.BYTES) {
+            throw new IllegalArgumentException("Seat bitmap does not match layout " + layout);
+        }
+        ByteBuffer.wrap(soldBytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(seatMap.sold);
+        int count = 0;
+        for (long word : seatMap.sold) {
+            count += Long.bitCount(word);
+        }
+        seatMap.soldCount = count;
+        return seatMap;
+    }
+
+    public String layout() {
+        StringBuilder layout = new StringBuilder();
+        for (Section section : sections) {
+            if (!layout.isEmpty()) {
+                layout.append(';');
+            }
+            layout.append(section.name).append(':').append(section.rows).append('x').append(section.seatsPerRow);
+        }
+        return layout.toString();
+    }
+
+    /**
+     * Sold seats as little-endian {@code long} words: bit {@code i} is seat number {@code i}.
+     */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(sold.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(sold);
+        return buffer.array();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int availableSeats() {
+        return capacity - soldCount;
+    }
+
+    public boolean isSold(int seat) {
+        return (sold[seat >>> 6] & (1L << seat)) != 0;
+    }
+
+    /**
+     * Marks all {@code seats} as sold, or none of them if any is already sold.
+     */
+    public boolean holdAll(int[] seats) {
+        for (int i = 0; i < seats.length; i++) {
+            if (isSold(seats[i])) {
+                for (int j = 0; j < i; j++) {
+                    sold[seats[j] >>> 6] &= ~(1L << seats[j]);
+                }
+                return false;
+            }
+            sold[seats[i] >>> 6] |= 1L << seats[i];
+        }
+        soldCount += seats.length;
+        return true;
+    }
+
+    public void releaseAll(int[] seats) {
+        int released = 0;
+        for (int seat : seats) {
+            if (isSold(seat)) {
+                sold[seat >>> 6] &= ~(1L << seat);
+                released++;
+            }
+        }
+        soldCount -= released;
+    }
+
+    /**
+     * Finds {@code count} adjacent free seats in the best row that has them, as close to the
+     * middle of that row as possible.
+     *
+     * @return the seat numbers, or {@code null} if no row has enough adjacent free seats
+     */
+    public int[] findBest(int count) {
+        if (count < 1) {
+            return null;
+        }
+        for (Section section : sections) {
+            if (count > section.seatsPerRow) {
+                continue;
+            }
+            for (int row = 0; row < section.rows; row++) {
+                int start = section.firstSeat + row * section.seatsPerRow;
+                int best = bestInRow(start, start + section.seatsPerRow, count);
+                if (best >= 0) {
+                    int[] seats = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        seats[i] = best + i;
+                    }
+                    return seats;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int bestInRow(int start, int end, int count) {
+        // Twice the row centre, to stay in integers
+        int centre2 = start + end;
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int free = nextFree(start, end);
+        while (free < end) {
+            int taken = nextSold(free, end);
+            if (taken - free >= count) {
+                int first = Math.max(free, Math.min(taken - count, (centre2 - count) / 2));
+                int distance = Math.abs(2 * first + count - centre2);
+                if (distance < bestDistance) {
+                    best = first;
+                    bestDistance = distance;
+                }
+            }
+            free = nextFree(taken, end);
+        }
+        return best;
+    }
+
+    private int nextFree(int from, int to) {
+        int seat = from;
+        while (seat < to) {
+            long free = ~sold[seat >>> 6] & (-1L << seat);
+            if (free != 0) {
+                return Math.min(to, (seat & ~63) + Long.numberOfTrailingZeros(free));
+            }
+            seat = (seat & ~63) + 64;
+        }
+        return to;
+    }
+
+    private int nextSold(int from, int to) {
+        int seat = from;
+        while (seat < to) {
+            long taken = sold[seat >>> 6] & (-1L << seat);
+            if (taken != 0) {
+                return Math.min(to, (seat & ~63) + Long.numberOfTrailingZeros(taken));
+            }
+            seat = (seat & ~63) + 64;
+        }
+        return to;
+    }
+
+    /**
+     * Seat label in the form {@code section-row-seat}, with rows and seats counted from 1.
+     */
+    public String label(int seat) {
+        if (seat < 0 || seat >= capacity) {
+            throw new IllegalArgumentException("Seat number out of range: " + seat);
+        }
+        for (int i = sections.size() - 1; ; i--) {
+            Section section = sections.get(i);
+            if (seat >= section.firstSeat) {
+                int offset = seat - section.firstSeat;
+                return section.name + "-" + (offset / section.seatsPerRow + 1) + "-" + (offset % section.seatsPerRow + 1);
+            }
+        }
+    }
+
+    public int seatNumber(String label) {
+        String[] parts = label == null ? new String[0] : label.split("-");
+        if (parts.length == 3) {
+            for (Section section : sections) {
+                if (section.name.equals(parts[0])) {
+                    try {
+                        int row = Integer.parseInt(parts[1]);
+                        int seat = Integer.parseInt(parts[2]);
+                        if (row >= 1 && row <= section.rows && seat >= 1 && seat <= section.seatsPerRow) {
+                            return section.firstSeat + (row - 1) * section.seatsPerRow + seat - 1;
+                        }
+                    } catch (NumberFormatException e) {
+                        // reported below
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown seat: " + label);
+    }
+
+    public List<String> labels(int[] seats) {
+        List<String> labels = new ArrayList<>(seats.length);
+        for (int seat : seats) {
+            labels.add(label(seat));
+        }
+        return labels;
+    }
+
+    public int[] seatNumbers(List<String> labels) {
+        return labels.stream().mapToInt(this::seatNumber).toArray();
+    }
+
+    private static final class Section {
+        private final String name;
+        private final int rows;
+        private final int seatsPerRow;
+        private final int firstSeat;
+
+        private Section(String name, int rows, int seatsPerRow, int firstSeat) {
+            this.name = name;
+            this.rows = rows;
+            this.seatsPerRow = seatsPerRow;
+            this.firstSeat = firstSeat;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.dto.SeatMapView;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.entity.EventSeatMap;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.repository.EventSeatMapRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reserved seating: keeps every event's {@link SeatMap} in memory and assigns concrete seats
+ * to bookings.
+ * <p>
+ * Seat maps are loaded once at startup and maintained here afterwards, so an event without
+ * one is general admission without asking the database. Holds and releases change the bitmap
+ * immediately, under the event's lock stripe; each transaction writes the bitmaps it touched
+ * back once, just before it commits, and undoes its changes in memory if it rolls back.
+ * <p>
+ * A bitmap is written only if its row is still at the version this instance last read or
+ * wrote. While two instances both sell an event, during an ownership handover, the later
+ * write fails with {@link OptimisticLockingFailureException} and rolls its transaction back,
+ * and the map is reloaded before its next use, so neither erases the other's sales.
+ * <p>
+ * Only {@link #createSeatMap} starts a transaction: {@link #hold} joins the caller's, which can
+ * reject a single batch item without the failure marking that transaction rollback-only.
+ */
+@Slf4j
+@Service
+public class SeatMapService {
+    private final ConcurrentMap<Long, Stored> seatMaps = new ConcurrentHashMap<>();
+    // Events whose row another instance has written since; reloaded before the next change
+    private final Set<Long> stale = ConcurrentHashMap.newKeySet();
+    private final EventSeatMapRepository seatMapRepository;
+    private final EventRepository eventRepository;
+    private final StripedLockManager lockManager;
+
+    public SeatMapService(EventSeatMapRepository seatMapRepository, EventRepository eventRepository,
+                          StripedLockManager lockManager) {
+        this.seatMapRepository = seatMapRepository;
+        this.eventRepository = eventRepository;
+        this.lockManager = lockManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<EventSeatMap> rows = ReplicaRouting.onPrimary(seatMapRepository::findAll);
+        for (EventSeatMap row : rows) {
+            seatMaps.putIfAbsent(row.getEventId(), Stored.of(row));
+        }
+        log.info("Seat maps loaded for {} events", rows.size());
+    }
+
+    /**
+     * Gives a general-admission event a seat map. Its capacity must match the event's total
+     * seats, and no seats may have been booked yet.
+     */
+    @Transactional
+    public SeatMapView createSeatMap(Long eventId, String layout) {
+        return lockManager.callLocked(eventId, () -> createLocked(eventId, layout));
+    }
+
+    private SeatMapView createLocked(Long eventId, String layout) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+        SeatMap seatMap = SeatMap.parse(layout);
+        if (seatMaps.containsKey(eventId)) {
+            throw new IllegalStateException("Event already has a seat map");
+        }
+        if (event.getBookedSeats() > 0) {
+            log.error("Cannot add seat map to event {} - has {} booked seats", eventId, event.getBookedSeats());
+            throw new IllegalStateException("Seat map must be added before any seats are booked");
+        }
+        if (seatMap.capacity() != event.getTotalSeats()) {
+            throw new IllegalArgumentException(String.format(
+                    "Seat map has %d seats but the event has %d", seatMap.capacity(), event.getTotalSeats()));
+        }
+
+        EventSeatMap row = new EventSeatMap();
+        row.setEventId(eventId);
+        row.setLayout(seatMap.layout());
+        row.setSold(seatMap.toBytes());
+        long version = seatMapRepository.save(row).getVersion();
+        TransactionCallbacks.afterCommit(() -> seatMaps.put(eventId, new Stored(seatMap, version)));
+        log.info("Created seat map for event {} with {} seats", eventId, seatMap.capacity());
+        return view(eventId, seatMap);
+    }
+
+    /**
+     * Reloads the seat maps of events this instance has taken over, whose seats another
+     * instance sold meanwhile, and forgets those of events it lost.
+     */
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent change) {
+        seatMaps.keySet().removeIf(change::moved);
+        for (EventSeatMap row : ReplicaRouting.onPrimary(seatMapRepository::findAll)) {
+            if (change.gained(row.getEventId())) {
+                seatMaps.put(row.getEventId(), Stored.of(row));
+                stale.remove(row.getEventId());
+            }
+        }
+    }
+
+    public SeatMapView getSeatMap(Long eventId) {
+        Stored stored = seatMaps.get(eventId);
+        if (stored == null) {
+            throw new EntityNotFoundException("No seat map for event with id: " + eventId);
+        }
+        return view(eventId, stored.seatMap());
+    }
+
+    public boolean hasSeatMap(Long eventId) {
+        return seatMaps.containsKey(eventId);
+    }
+
+    /**
+     * Holds seats for a booking of {@code seats}: the requested {@code labels}, or else the best
+     * block of adjacent seats. Must run under the event's lock stripe.
+     *
+     * @return the held seat labels, or {@code null} for a general-admission event
+     */
+    public List<String> hold(Long eventId, int seats, List<String> labels) {
+        SeatMap seatMap = current(eventId);
+        boolean seatsRequested = labels != null && !labels.isEmpty();
+        if (seatMap == null) {
+            if (seatsRequested) {
+                throw new IllegalArgumentException("Event " + eventId + " has no reserved seating");
+            }
+            return null;
+        }
+
+        int[] chosen;
+        if (seatsRequested) {
+            if (labels.size() != seats) {
+                throw new IllegalArgumentException("Requested " + seats + " seats but named " + labels.size());
+            }
+            chosen = seatMap.seatNumbers(labels);
+        } else {
+            chosen = seatMap.findBest(seats);
+            if (chosen == null) {
+                log.debug("No {} adjacent seats left for event {}", seats, eventId);
+                throw new IllegalStateException("No " + seats + " adjacent seats available");
+            }
+        }
+        if (!seatMap.holdAll(chosen)) {
+            throw new IllegalStateException("Requested seats are no longer available");
+        }
+        changed(eventId, seatMap, () -> seatMap.releaseAll(chosen));
+        return seatMap.labels(chosen);
+    }
+
+    /**
+     * Frees the seats of a cancelled booking. Must run under the event's lock stripe.
+     */
+    public void release(Long eventId, List<String> labels) {
+        SeatMap seatMap = current(eventId);
+        if (seatMap == null || labels == null || labels.isEmpty()) {
+            return;
+        }
+        int[] seats = seatMap.seatNumbers(labels);
+        seatMap.releaseAll(seats);
+        changed(eventId, seatMap, () -> seatMap.holdAll(seats));
+    }
+
+    public void remove(Long eventId) {
+        TransactionCallbacks.afterCommit(() -> seatMaps.remove(eventId));
+    }
+
+    // The event's seat map as the database has it; under the event's lock stripe
+    private SeatMap current(Long eventId) {
+        if (stale.remove(eventId)) {
+            ReplicaRouting.onPrimary(() -> seatMapRepository.findById(eventId)).ifPresentOrElse(
+                    row -> seatMaps.put(eventId, Stored.of(row)),
+                    () -> seatMaps.remove(eventId));
+            log.info("Reloaded seat map of event {} written by another instance", eventId);
+        }
+        Stored stored = seatMaps.get(eventId);
+        return stored != null ? stored.seatMap() : null;
+    }
+
+    private void changed(Long eventId, SeatMap seatMap, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                seatMaps.put(eventId, new Stored(seatMap, write(eventId, seatMap)));
+            } catch (OptimisticLockingFailureException e) {
+                undo.run();
+                throw e;
+            }
+            return;
+        }
+        Changes changes = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(changes);
+        }
+        changes.dirty.put(eventId, seatMap);
+        changes.undo.push(undo);
+    }
+
+    // Writes the bitmap over the version last seen and returns the new version
+    private long write(Long eventId, SeatMap seatMap) {
+        long version = seatMaps.get(eventId).version();
+        if (seatMapRepository.updateSold(eventId, seatMap.toBytes(), version) == 0) {
+            stale.add(eventId);
+            log.warn("Seat map of event {} was changed by another instance, rejecting this change", eventId);
+            throw new OptimisticLockingFailureException("Seats of event " + eventId + " changed meanwhile, try again");
+        }
+        return version + 1;
+    }
+
+    private static SeatMapView view(Long eventId, SeatMap seatMap) {
+        return new SeatMapView(eventId, seatMap.layout(), seatMap.capacity(), seatMap.availableSeats(), seatMap.toBytes());
+    }
+
+
+    // A seat map and the version of its row it matches
+    private record Stored(SeatMap seatMap, long version) {
+        static Stored of(EventSeatMap row) {
+            return new Stored(SeatMap.of(row.getLayout(), row.getSold()), row.getVersion());
+        }
+    }
+
+    // Seat maps touched by one transaction, written once before commit and undone newest first on rollback
+    private final class Changes implements TransactionSynchronization {
+        private final Map<Long, SeatMap> dirty = new LinkedHashMap<>();
+        private final Map<Long, Long> written = new LinkedHashMap<>();
+        private final Deque<Runnable> undo = new ArrayDeque<>();
+
+        // Run before StripedLockManager releases the stripe, so nobody sees a rolled-back hold
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            dirty.forEach((eventId, seatMap) -> written.put(eventId, write(eventId, seatMap)));
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SeatMapService.this);
+            if (status == STATUS_COMMITTED) {
+                written.forEach((eventId, version) -> seatMaps.put(eventId, new Stored(dirty.get(eventId), version)));
+            } else {
+                undo.forEach(Runnable::run);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ReplicaProperties;
+import com.example.ticketbooking.config.ReplicaRoutingDataSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stand-in for database replication, for trying read replicas locally with in-memory H2
+ * databases (see application-replicas.properties).
+ * <p>
+ * At startup every replica gets the schema from the Flyway migrations; then, every
+ * {@code booking.replicas.simulated-replication-interval}, the primary's tables are copied onto
+ * each replica in one transaction, so replicas trail the primary by up to that interval the
+ * way asynchronous replicas do. The heartbeat table is read first, so a replica never claims
+ * to have caught up further than the data it holds. Whole tables are rewritten each time and
+ * foreign keys are not checked on the replicas: fine for trying things out, nothing more.
+ * Does nothing unless the interval is set.
+ */
+@Slf4j
+@Component
+public class SimulatedReplication implements SchedulingConfigurer {
+    private static final String HEARTBEAT_TABLE = "REPLICATION_HEARTBEAT";
+    private static final String TABLES = "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' AND TABLE_NAME <> 'flyway_schema_history'";
+    private static final String COLUMNS = "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+            + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = ? AND IS_GENERATED = 'NEVER' ORDER BY ORDINAL_POSITION";
+
+    private final ReplicaProperties properties;
+    private final ReplicaRoutingDataSource routing;
+    private final ObjectProvider<Flyway> flyway;
+    private final ReentrantLock replicationLock = new ReentrantLock();
+    // Table name to its copied columns, heartbeat first
+    private final Map<String, List<String>> tables = new LinkedHashMap<>();
+
+    public SimulatedReplication(ReplicaProperties properties, ObjectProvider<ReplicaRoutingDataSource> routing,
+                                ObjectProvider<Flyway> flyway) {
+        this.properties = properties;
+        this.routing = properties.getSimulatedReplicationInterval() != null ? routing.getIfAvailable() : null;
+        this.flyway = flyway;
+    }
+
+    @PostConstruct
+    public void start() throws SQLException {
+        if (routing == null) {
+            return;
+        }
+        Flyway primary = flyway.getObject();
+        for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+            Flyway.configure().configuration(primary.getConfiguration()).dataSource(replica.getDataSource())
+                    .load().migrate();
+            try (Connection connection = replica.getDataSource().getConnection();
+                 Statement statement = connection.createStatement()) {
+                // Tables are rewritten in no particular order
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            }
+        }
+        try (Connection connection = routing.getPrimary().getConnection()) {
+            List<String> names = new ArrayList<>();
+            try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(TABLES)) {
+                while (rows.next()) {
+                    names.add(rows.getString(1));
+                }
+            }
+            names.sort((a, b) -> Boolean.compare(!HEARTBEAT_TABLE.equals(a), !HEARTBEAT_TABLE.equals(b)));
+            for (String name : names) {
+                tables.put(name, columns(connection, name));
+            }
+        }
+        log.info("Simulating replication of {} tables onto {} replicas every {}", tables.size(),
+                routing.getReplicas().size(), properties.getSimulatedReplicationInterval());
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (routing != null) {
+            registrar.addFixedDelayTask(this::replicate, properties.getSimulatedReplicationInterval());
+        }
+    }
+
+    /**
+     * Copies the primary onto every replica now.
+     */
+    public void replicate() {
+        if (routing == null) {
+            return;
+        }
+        replicationLock.lock();
+        try {
+            Map<String, List<Object[]>> snapshot = read(routing.getPrimary());
+            for (ReplicaRoutingDataSource.Replica replica : routing.getReplicas()) {
+                write(replica.getDataSource(), snapshot);
+            }
+        } catch (SQLException e) {
+            log.error("Simulated replication failed, retrying next interval", e);
+        } finally {
+            replicationLock.unlock();
+        }
+    }
+
+    private Map<String, List<Object[]>> read(DataSource primary) throws SQLException {
+        Map<String, List<Object[]>> snapshot = new LinkedHashMap<>();
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, List<String>> table : tables.entrySet()) {
+                List<String> columns = table.getValue();
+                List<Object[]> rows = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT " + quoted(columns) + " FROM " + quote(table.getKey()))) {
+                    while (resultSet.next()) {
+                        Object[] row = new Object[columns.size()];
+                        for (int i = 0; i < row.length; i++) {
+                            row[i] = detached(resultSet.getObject(i + 1));
+                        }
+                        rows.add(row);
+                    }
+                }
+                snapshot.put(table.getKey(), rows);
+            }
+        }
+        return snapshot;
+    }
+
+    private void write(DataSource replica, Map<String, List<Object[]>> snapshot) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<String, List<Object[]>> table : snapshot.entrySet()) {
+                    List<String> columns = tables.get(table.getKey());
+                    try (Statement statement = connection.createStatement()) {
+                        statement.executeUpdate("DELETE FROM " + quote(table.getKey()));
+                    }
+                    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + quote(table.getKey())
+                            + " (" + quoted(columns) + ") VALUES (" + "?, ".repeat(columns.size() - 1) + "?)")) {
+                        for (Object[] row : table.getValue()) {
+                            for (int i = 0; i < row.length; i++) {
+                                insert.setObject(i + 1, row[i]);
+                            }
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static List<String> columns(Connection connection, String table) throws SQLException {
+        List<String> columns = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(COLUMNS)) {
+            statement.setString(1, table);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    columns.add(rows.getString(1));
+                }
+            }
+        }
+        return columns;
+    }
+
+    // LOBs are only valid on the connection that read them
+    private static Object detached(Object value) throws SQLException {
+        if (value instanceof Blob blob) {
+            return blob.getBytes(1, (int) blob.length());
+        }
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value;
+    }
+
+    private static String quoted(List<String> names) {
+        return String.join(", ", names.stream().map(SimulatedReplication::quote).toList());
+    }
+
+    private static String quote(String name) {
+        return '"' + name + '"';
+    }
+}
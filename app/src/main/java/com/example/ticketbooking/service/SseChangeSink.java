@@ -0,0 +1,227 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.OutboxProperties;
+import com.example.ticketbooking.dto.ChangeMessage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Change sink behind the {@code /api/changes} stream: sends every relayed change to the
+ * connected clients as a server-sent event whose id is its stream position, and keeps the most
+ * recent ones so a client that reconnects with {@code Last-Event-ID} misses nothing.
+ * <p>
+ * {@link #publish} only appends to that buffer; each subscriber is sent what it has not had yet
+ * from {@code booking.outbox.stream-sender-threads} sender threads, so the relay transaction
+ * never waits on a client. A subscriber that falls out of the buffer, or whose write has not
+ * finished within {@code booking.outbox.stream-slow-client-timeout}, is disconnected and resumes
+ * from its last event id.
+ * <p>
+ * In a cluster only the relaying member's sink is fed; {@code EventOwnershipFilter} sends the
+ * stream's subscribers there.
+ */
+@Slf4j
+@Component
+public class SseChangeSink implements ChangeSink {
+    private final OutboxProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<ChangeMessage> recent = new ArrayDeque<>();
+    // Guards recent only; nothing is sent while holding it
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ExecutorService senders;
+
+    public SseChangeSink(OutboxProperties properties) {
+        this.properties = properties;
+        this.senders = Executors.newFixedThreadPool(properties.getStreamSenderThreads(),
+                new CustomizableThreadFactory("change-sse-"));
+    }
+
+    /**
+     * Opens a stream, starting after {@code lastEventId} if that is still in the replay window
+     * and with new changes otherwise.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        lock.lock();
+        long start;
+        try {
+            ChangeMessage oldest = recent.peekFirst();
+            if (lastEventId != null && oldest != null) {
+                // Whatever is left of the window if the client has been away for longer
+                start = Math.max(lastEventId, oldest.getPosition() - 1);
+            } else {
+                ChangeMessage newest = recent.peekLast();
+                start = newest != null ? newest.getPosition() : Long.MIN_VALUE;
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            // Starts the response, so a forwarding member is not left waiting for the next change
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        Subscriber subscriber = new Subscriber(emitter, start);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.wake();
+        return emitter;
+    }
+
+    @Override
+    public void publish(List<ChangeMessage> messages) {
+        lock.lock();
+        try {
+            for (ChangeMessage message : messages) {
+                // A relay that rolled back after handing a batch over hands it over again
+                ChangeMessage newest = recent.peekLast();
+                if (newest != null && message.getPosition() <= newest.getPosition()) {
+                    continue;
+                }
+                recent.addLast(message);
+                if (recent.size() > properties.getStreamReplaySize()) {
+                    recent.removeFirst();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.wake();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * The buffered messages after {@code position}, oldest first, or {@code null} if some of
+     * them have already left the buffer.
+     */
+    private List<ChangeMessage> after(long position) {
+        lock.lock();
+        try {
+            List<ChangeMessage> messages = new ArrayList<>();
+            Iterator<ChangeMessage> newestFirst = recent.descendingIterator();
+            while (newestFirst.hasNext()) {
+                ChangeMessage message = newestFirst.next();
+                if (message.getPosition() <= position) {
+                    Collections.reverse(messages);
+                    return messages;
+                }
+                messages.add(message);
+            }
+            Collections.reverse(messages);
+            return messages.isEmpty() || position == Long.MIN_VALUE
+                    || messages.get(0).getPosition() == position + 1 ? messages : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // Position of the last message sent; only the draining thread moves it
+        volatile long position;
+        // System.nanoTime() when the current write started, 0 between writes
+        volatile long writingSince;
+
+        Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        void wake() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+                return;
+            }
+            long since = writingSince;
+            if (since != 0 && System.nanoTime() - since > properties.getStreamSlowClientTimeout().toNanos()) {
+                log.debug("Disconnecting slow change stream subscriber");
+                drop(null);
+            }
+        }
+
+        private void drain() {
+            do {
+                List<ChangeMessage> messages;
+                while ((messages = after(position)) == null || !messages.isEmpty()) {
+                    if (messages == null) {
+                        log.debug("Change stream subscriber fell out of the replay window");
+                        drop(null);
+                        return;
+                    }
+                    for (ChangeMessage message : messages) {
+                        if (!send(message)) {
+                            return;
+                        }
+                        position = message.getPosition();
+                    }
+                }
+                draining.set(false);
+                // A batch published after the last look but before the flag cleared is still ours
+            } while (hasPending() && draining.compareAndSet(false, true));
+        }
+
+        private boolean hasPending() {
+            List<ChangeMessage> messages = after(position);
+            return messages == null || !messages.isEmpty();
+        }
+
+        private boolean send(ChangeMessage message) {
+            writingSince = System.nanoTime();
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(message.getPosition()))
+                        .name(message.getType().name())
+                        .data(message, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; it can resume from its last event id
+                log.debug("Dropping change stream subscriber: {}", e.getMessage());
+                drop(e);
+                return false;
+            } finally {
+                writingSince = 0;
+            }
+        }
+
+        private void drop(Throwable error) {
+            subscribers.remove(this);
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.LockProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-event mutual exclusion on a fixed set of lock stripes.
+ * <p>
+ * Event ids are hashed onto stripes, so a hot on-sale only contends with the few events
+ * sharing its stripe instead of serializing the whole application. When called inside a
+ * transaction the stripe is held until the transaction completes, so a competing request
+ * always sees the committed result of the previous one.
+ * <p>
+ * Stripes are {@link ReentrantLock}s, as are the other locks in this application, never
+ * {@code synchronized} blocks: a virtual thread waiting on or holding a monitor pins its carrier
+ * thread, which a stripe held across a transaction's JDBC calls would do for their whole length.
+ */
+@Slf4j
+@Component
+public class StripedLockManager {
+    private final ReentrantLock[] locks;
+    private final Timer[] waitTimers;
+    private final Timer[] holdTimers;
+    private final long timeoutNanos;
+
+    public StripedLockManager(LockProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getStripes() < 1) {
+            throw new IllegalArgumentException("Lock stripe count must be at least 1");
+        }
+        int stripes = properties.getStripes();
+        this.locks = new ReentrantLock[stripes];
+        this.waitTimers = new Timer[stripes];
+        this.holdTimers = new Timer[stripes];
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        for (int i = 0; i < stripes; i++) {
+            String stripe = String.valueOf(i);
+            locks[i] = new ReentrantLock(properties.isFair());
+            waitTimers[i] = Timer.builder("booking.lock.wait")
+                    .description("Time spent waiting for an event lock stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            holdTimers[i] = Timer.builder("booking.lock.hold")
+                    .description("Time an event lock stripe was held")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T callLocked(Long eventId, Supplier<T> action) {
+        int stripe = stripeFor(eventId);
+        long acquiredAt = acquire(eventId, stripe);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    unlock(stripe, acquiredAt);
+                }
+            });
+            return action.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            unlock(stripe, acquiredAt);
+        }
+    }
+
+    public void runLocked(Long eventId, Runnable action) {
+        callLocked(eventId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    int stripeFor(Long eventId) {
+        int hash = eventId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), locks.length);
+    }
+
+    private long acquire(Long eventId, int stripe) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = locks[stripe].tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lock on event " + eventId, e);
+        }
+        long acquiredAt = System.nanoTime();
+        waitTimers[stripe].record(acquiredAt - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            log.error("Timed out waiting for lock on event {} (stripe {})", eventId, stripe);
+            throw new IllegalStateException("Event is busy, please retry");
+        }
+        return acquiredAt;
+    }
+
+    private void unlock(int stripe, long acquiredAt) {
+        holdTimers[stripe].record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        locks[stripe].unlock();
+    }
+}
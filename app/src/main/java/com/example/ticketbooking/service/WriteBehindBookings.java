@@ -0,0 +1,561 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.config.WriteBehindProperties;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.exception.SoldOutException;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind path for single general-admission bookings, enabled with
+ * {@code booking.write-behind.enabled}.
+ * <p>
+ * A booking is checked and its seats reserved in memory under the event's lock stripe, as in
+ * {@link BookingService}, then given an id and appended to the {@link BookingJournal}. A committer
+ * thread forces the journal once per group of bookings, gathered for up to
+ * {@code booking.write-behind.group-commit-interval}, and only then is the booking returned: one
+ * fsync covers the whole group, and neither the stripe nor a database connection is held while
+ * waiting for it. Every {@code booking.write-behind.flush-interval} the journaled bookings are
+ * written to the database in batches by {@link JournaledBookingWriter}, and journal segments
+ * whose bookings are all written are deleted. Whatever is left in the journal after a crash is
+ * written at the next startup, before the in-memory state is rebuilt from the database.
+ * <p>
+ * Should the database reject a batch, say through the unique active-booking index or an event
+ * row without the seats for it, its bookings are written one per transaction instead, and those
+ * rejected on their own are dropped: a {@code BOOKING_CANCELED} change is published for them,
+ * their seats and duplicate-check entries are handed back, and the drop is logged and counted
+ * in {@code booking.write-behind.rejected}, so one bad booking cannot hold up the journal. The
+ * seats are handed back under the event's stripe once the flush lock is released; the flush
+ * lock is never held while waiting for a stripe.
+ * <p>
+ * Until it is written a booking only exists here: duplicate checks ask {@link #isPending},
+ * looking a booking up by id {@link #flush flushes} first, and deleting an event counts its
+ * {@link #pendingSeats pending seats}. Listings and the event table's seat counts catch up
+ * within a flush interval. Holds, batches, reserved seating and events owned by another cluster
+ * member keep the synchronous path; so does everything once the journal has failed.
+ */
+@Slf4j
+@Component
+public class WriteBehindBookings implements SchedulingConfigurer {
+    // Length of the booking table's user_id column
+    private static final int MAX_USER_ID_LENGTH = 255;
+
+    private final WriteBehindProperties properties;
+    private final JournaledBookingWriter writer;
+    private final BookingRepository bookingRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+    private final ActiveBookingIndex activeBookings;
+    private final SeatMapService seatMapService;
+    private final StripedLockManager lockManager;
+    private final ClusterMembership membership;
+    private final EventCacheInvalidator cacheInvalidator;
+    private final BookingMetrics metrics;
+    private final BookingJournal journal;
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final BlockingQueue<Append> appends = new LinkedBlockingQueue<>();
+    // Journaled bookings not in the database yet, by journal sequence
+    private final ConcurrentNavigableMap<Long, BookingJournal.Entry> unwritten = new ConcurrentSkipListMap<>();
+    private final Set<Long> unwrittenBookingIds = ConcurrentHashMap.newKeySet();
+    private final Set<String> unwrittenUsers = ConcurrentHashMap.newKeySet();
+    private final Timer groupCommitTimer;
+    private final DistributionSummary groupSizes;
+    private final Timer flushTimer;
+    private final DistributionSummary flushSizes;
+    private final Counter rejected;
+    // Guarded by appendLock
+    private long nextSequence;
+    private boolean closed;
+    private volatile long durableSequence;
+    private volatile IOException failure;
+    private Thread committer;
+
+    public WriteBehindBookings(WriteBehindProperties properties, JournaledBookingWriter writer,
+                               BookingRepository bookingRepository, EventRepository eventRepository,
+                               SeatInventory seatInventory,
+                               ActiveBookingIndex activeBookings, SeatMapService seatMapService,
+                               StripedLockManager lockManager, ClusterMembership membership,
+                               EventCacheInvalidator cacheInvalidator, BookingMetrics metrics,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.writer = writer;
+        this.bookingRepository = bookingRepository;
+        this.eventRepository = eventRepository;
+        this.seatInventory = seatInventory;
+        this.activeBookings = activeBookings;
+        this.seatMapService = seatMapService;
+        this.lockManager = lockManager;
+        this.membership = membership;
+        this.cacheInvalidator = cacheInvalidator;
+        this.metrics = metrics;
+        this.journal = properties.isEnabled() ? open(properties) : null;
+        this.groupCommitTimer = Timer.builder("booking.write-behind.group.commit")
+                .description("Time to write and force one group of bookings to the journal")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.groupSizes = DistributionSummary.builder("booking.write-behind.group.size")
+                .description("Bookings made durable by one journal group commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("booking.write-behind.flush")
+                .description("Time to write one batch of journaled bookings to the database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushSizes = DistributionSummary.builder("booking.write-behind.flush.size")
+                .description("Journaled bookings written to the database in one transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("booking.write-behind.rejected")
+                .description("Journaled bookings dropped because the database rejected them")
+                .register(meterRegistry);
+        Gauge.builder("booking.write-behind.pending", unwritten, map -> map.size())
+                .description("Journaled bookings not yet written to the database")
+                .register(meterRegistry);
+    }
+
+    private static BookingJournal open(WriteBehindProperties properties) {
+        try {
+            return BookingJournal.open(properties.getDirectory(), properties.getSegmentSize().toBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open booking journal in " + properties.getDirectory(), e);
+        }
+    }
+
+    /**
+     * Writes what the journal still holds from before a restart, then starts the committer.
+     */
+    @PostConstruct
+    public void start() {
+        if (journal == null) {
+            return;
+        }
+        List<BookingJournal.Entry> recovered = journal.recovered();
+        int replayed = 0;
+        for (int from = 0; from < recovered.size(); from += properties.getFlushBatchSize()) {
+            replayed += replay(recovered.subList(from, Math.min(recovered.size(), from + properties.getFlushBatchSize())));
+        }
+        if (!recovered.isEmpty()) {
+            log.info("Booking journal replayed: {} of {} records were missing from the database",
+                    replayed, recovered.size());
+            discardThrough(journal.lastSequence());
+        }
+        nextSequence = journal.lastSequence() + 1;
+        durableSequence = journal.lastSequence();
+        committer = new Thread(this::commitGroups, "booking-journal");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (journal != null) {
+            registrar.addFixedDelayTask(this::writePending, properties.getFlushInterval());
+        }
+    }
+
+    /**
+     * @return whether this booking can take the write-behind path
+     */
+    public boolean accepts(Event event, String userId, List<String> seatLabels) {
+        return journal != null && failure == null
+                && (seatLabels == null || seatLabels.isEmpty())
+                && userId != null && userId.length() <= MAX_USER_ID_LENGTH
+                && membership.isLocal(event.getId())
+                && !seatMapService.hasSeatMap(event.getId());
+    }
+
+    /**
+     * Books {@code seats} like {@link BookingService#createBooking}, returning once the booking is
+     * in the journal on disk. Must not be called inside a transaction, which would keep the
+     * event's stripe locked until the group commit.
+     */
+    public Booking createBooking(Event event, String userId, int seats) {
+        return metrics.record(BookingMetrics.CREATE, () -> {
+            BookingService.validateBooking(event, userId, seats);
+            Append append = lockManager.callLocked(event.getId(), () -> reserve(event, userId, seats));
+            try {
+                // Outside the stripe, so the event's next bookings can join the same group
+                append.durable.join();
+            } catch (CompletionException e) {
+                lockManager.runLocked(event.getId(), () -> {
+                    forget(append.entry);
+                    seatInventory.release(event, seats);
+                    activeBookings.removed(event, userId);
+                    cacheInvalidator.seatsChanged(event.getId());
+                });
+                throw new UncheckedIOException("Booking could not be journaled", (IOException) e.getCause());
+            }
+            metrics.seatsBooked(seats);
+
+            Booking booking = new Booking();
+            booking.setBookingId(append.entry.bookingId());
+            booking.setEvent(event);
+            booking.setUserId(userId);
+            booking.setSeatsBooked(seats);
+            booking.setStatus(BookingStatus.ACTIVE);
+            return booking;
+        });
+    }
+
+    /**
+     * @return whether the user has a journaled booking for the event that is not in the database yet
+     */
+    public boolean isPending(Long eventId, String userId) {
+        return !unwrittenUsers.isEmpty() && unwrittenUsers.contains(userKey(eventId, userId));
+    }
+
+    /**
+     * Counts the event's booked seats, in the database and in the journal. No booking is counted
+     * twice: a flush cannot move one from the journal to the database meanwhile.
+     */
+    public int bookedSeats(Event event) {
+        flushLock.lock();
+        try {
+            return ReplicaRouting.onPrimary(() -> bookingRepository.sumSeatsBookedByEvent(event))
+                    + pendingSeats(event.getId());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the seats taken by the event's journaled bookings that are not in the database yet
+     */
+    public int pendingSeats(Long eventId) {
+        int seats = 0;
+        for (BookingJournal.Entry entry : unwritten.values()) {
+            if (entry.eventId() == eventId) {
+                seats += entry.seats();
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Writes the booking to the database now if it is still waiting in the journal.
+     */
+    public void awaitWritten(Long bookingId) {
+        if (unwrittenBookingIds.contains(bookingId)) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every booking that is durable in the journal to the database.
+     */
+    public void flush() {
+        List<BookingJournal.Entry> dropped = new ArrayList<>();
+        try {
+            flush(dropped);
+        } finally {
+            dropped.forEach(this::handBack);
+        }
+    }
+
+    private void flush(List<BookingJournal.Entry> dropped) {
+        flushLock.lock();
+        try {
+            List<BookingJournal.Entry> batch;
+            do {
+                batch = new ArrayList<>(properties.getFlushBatchSize());
+                for (BookingJournal.Entry entry : unwritten.headMap(durableSequence, true).values()) {
+                    batch.add(entry);
+                    if (batch.size() == properties.getFlushBatchSize()) {
+                        break;
+                    }
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    writer.write(batch);
+                    batch.forEach(this::forget);
+                } catch (DataIntegrityViolationException | SoldOutException e) {
+                    log.warn("Database rejected a batch of {} journaled bookings, writing them one at a time: {}",
+                            batch.size(), e.getMessage());
+                    writeOneByOne(batch, dropped);
+                }
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                flushSizes.record(batch.size());
+                discardThrough(batch.get(batch.size() - 1).sequence());
+            } while (batch.size() == properties.getFlushBatchSize());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * The new owner of a moved event counts its seats from the database, so they are written now.
+     */
+    @EventListener
+    public void onOwnershipChanged(OwnershipChangedEvent change) {
+        if (journal != null) {
+            writePending();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (journal == null) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            closed = true;
+        } finally {
+            appendLock.unlock();
+        }
+        committer.interrupt();
+        committer.join(Duration.ofSeconds(10).toMillis());
+        writePending();
+        journalLock.lock();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.error("Cannot close booking journal", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void writePending() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Still in the journal and in memory, so the same bookings are written next time
+            log.error("Writing {} journaled bookings failed, retrying next interval", unwritten.size(), e);
+        }
+    }
+
+    // A transaction per booking, so only the bookings the database rejects are dropped
+    private void writeOneByOne(List<BookingJournal.Entry> batch, List<BookingJournal.Entry> dropped) {
+        for (BookingJournal.Entry entry : batch) {
+            try {
+                writer.write(List.of(entry));
+                forget(entry);
+            } catch (DataIntegrityViolationException | SoldOutException e) {
+                drop(entry, e);
+                forget(entry);
+                dropped.add(entry);
+            }
+        }
+    }
+
+    private void drop(BookingJournal.Entry entry, RuntimeException cause) {
+        log.error("Dropping journaled booking {} for user {} on event {}: the database rejected it",
+                entry.bookingId(), entry.userId(), entry.eventId(), cause);
+        rejected.increment();
+        try {
+            writer.rejected(entry);
+        } catch (RuntimeException e) {
+            log.error("Cannot publish the cancellation of dropped booking {}", entry.bookingId(), e);
+        }
+    }
+
+    // Called without flushLock, which is never held while waiting for a stripe
+    private void handBack(BookingJournal.Entry entry) {
+        lockManager.runLocked(entry.eventId(), () -> {
+            // A deleted event took its seats and index entries with it
+            ReplicaRouting.onPrimary(() -> eventRepository.findById(entry.eventId())).ifPresent(event -> {
+                seatInventory.release(event, entry.seats());
+                activeBookings.removed(event, entry.userId());
+            });
+            // If the table had no seats for it, the counter missed a change
+            seatInventory.recount(entry.eventId());
+            cacheInvalidator.seatsChanged(entry.eventId());
+        });
+    }
+
+    // The in-memory state is rebuilt from the database afterwards, so dropped bookings need no undoing
+    private int replay(List<BookingJournal.Entry> entries) {
+        try {
+            return writer.replay(entries);
+        } catch (DataIntegrityViolationException | SoldOutException e) {
+            int replayed = 0;
+            for (BookingJournal.Entry entry : entries) {
+                try {
+                    replayed += writer.replay(List.of(entry));
+                } catch (DataIntegrityViolationException | SoldOutException rejectedEntry) {
+                    drop(entry, rejectedEntry);
+                }
+            }
+            return replayed;
+        }
+    }
+
+    private Append reserve(Event event, String userId, int seats) {
+        // Pending bookings first: once one leaves the pending set, it is in the database
+        if (isPending(event.getId(), userId) || (activeBookings.mightHaveBooking(event, userId)
+                && ReplicaRouting.onPrimary(() -> bookingRepository.existsByEventAndUserIdAndStatusIn(
+                        event, userId, BookingStatus.SEAT_TAKING)))) {
+            log.debug("User {} already has an active booking for event {}", userId, event.getId());
+            throw new DuplicateBookingException();
+        }
+        long bookingId = writer.nextBookingId();
+        if (!seatInventory.tryReserve(event, seats)) {
+            throw new SoldOutException(seats, seatInventory.getAvailableSeats(event));
+        }
+        Append append = append(bookingId, event.getId(), userId, seats);
+        activeBookings.added(event, userId);
+        cacheInvalidator.seatsChanged(event.getId());
+        return append;
+    }
+
+    private Append append(long bookingId, Long eventId, String userId, int seats) {
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Booking journal is closed");
+            }
+            // Sequences are handed out and queued under one lock, so the queue is in sequence order
+            BookingJournal.Entry entry = new BookingJournal.Entry(nextSequence++, bookingId, eventId, userId, seats,
+                    System.currentTimeMillis());
+            unwritten.put(entry.sequence(), entry);
+            unwrittenBookingIds.add(bookingId);
+            unwrittenUsers.add(userKey(eventId, userId));
+            Append append = new Append(entry);
+            appends.add(append);
+            return append;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void commitGroups() {
+        List<Append> group = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(appends.take());
+                long deadline = System.nanoTime() + properties.getGroupCommitInterval().toNanos();
+                while (group.size() < properties.getMaxGroupSize()) {
+                    appends.drainTo(group, properties.getMaxGroupSize() - group.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (group.size() >= properties.getMaxGroupSize() || remaining <= 0) {
+                        break;
+                    }
+                    Append next = appends.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Closing: bookings already accepted still go to disk
+                appends.drainTo(group);
+                commit(group);
+                return;
+            }
+            commit(group);
+            group.clear();
+        }
+    }
+
+    private void commit(List<Append> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        IOException error = failure;
+        if (error == null) {
+            long start = System.nanoTime();
+            journalLock.lock();
+            try {
+                journal.append(group.stream().map(append -> append.entry).toList());
+                journal.force();
+            } catch (IOException e) {
+                error = e;
+                failure = e;
+                log.error("Booking journal failed; new bookings take the synchronous path from now on", e);
+                discardFailedGroup(group);
+            } finally {
+                journalLock.unlock();
+            }
+            groupCommitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (error != null) {
+            IOException cause = error;
+            group.forEach(append -> append.durable.completeExceptionally(cause));
+            return;
+        }
+        groupSizes.record(group.size());
+        durableSequence = group.get(group.size() - 1).entry.sequence();
+        group.forEach(append -> append.durable.complete(null));
+    }
+
+    // Called with journalLock held. The group's bookings are turned down, so a replay must not bring them back
+    private void discardFailedGroup(List<Append> group) {
+        try {
+            journal.discardLastAppend();
+        } catch (IOException e) {
+            log.error("Cannot take {} unforced records back out of the booking journal; bookings {} may still be "
+                            + "written at the next startup", group.size(),
+                    group.stream().map(append -> append.entry.bookingId()).toList(), e);
+        }
+    }
+
+    private void discardThrough(long sequence) {
+        journalLock.lock();
+        try {
+            journal.discardThrough(sequence);
+        } catch (IOException e) {
+            // Only costs disk space and replay time: written bookings are skipped on replay
+            log.warn("Cannot delete written booking journal segments", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void forget(BookingJournal.Entry entry) {
+        unwritten.remove(entry.sequence());
+        unwrittenBookingIds.remove(entry.bookingId());
+        unwrittenUsers.remove(userKey(entry.eventId(), entry.userId()));
+    }
+
+    private static String userKey(Long eventId, String userId) {
+        return eventId + ":" + userId;
+    }
+
+    private static final class Append {
+        private final BookingJournal.Entry entry;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private Append(BookingJournal.Entry entry) {
+            this.entry = entry;
+        }
+    }
+}
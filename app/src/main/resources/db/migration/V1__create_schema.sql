@@ -0,0 +1,28 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update), now owned by Flyway
+
+CREATE TABLE event (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(255),
+    date            TIMESTAMP(6),
+    location        VARCHAR(255),
+    total_seats     INTEGER NOT NULL,
+    booked_seats    INTEGER NOT NULL,
+    available_seats INTEGER NOT NULL
+);
+
+-- One index per listing sort, each ending in id so keyset pages are resolved from the index alone
+CREATE INDEX idx_event_date_id ON event (date, id);
+CREATE INDEX idx_event_location_id ON event (location, id);
+CREATE INDEX idx_event_available_seats_id ON event (available_seats DESC, id);
+
+-- Pooled optimizer: each value reserves a block of 50 ids (see Booking)
+CREATE SEQUENCE booking_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE booking (
+    booking_id   BIGINT NOT NULL PRIMARY KEY,
+    event_id     BIGINT,
+    user_id      VARCHAR(255),
+    seats_booked INTEGER NOT NULL,
+    status       VARCHAR(16),
+    CONSTRAINT fk_booking_event FOREIGN KEY (event_id) REFERENCES event (id)
+);
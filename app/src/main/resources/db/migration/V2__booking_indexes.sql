@@ -0,0 +1,15 @@
+-- Seat totals and active-booking listings per event
+CREATE INDEX idx_booking_event_status ON booking (event_id, status);
+
+-- Duplicate-booking checks
+CREATE INDEX idx_booking_event_user_status ON booking (event_id, user_id, status);
+
+-- Bookings of a user
+CREATE INDEX idx_booking_user ON booking (user_id);
+
+-- At most one ACTIVE booking per user and event. The generated column is NULL for any other
+-- status, and NULLs never collide in a unique index, so cancelled bookings do not count.
+-- (On PostgreSQL this would be a partial index: UNIQUE (event_id, user_id) WHERE status = 'ACTIVE'.)
+ALTER TABLE booking ADD COLUMN active_user_id VARCHAR(255)
+    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN user_id END);
+CREATE UNIQUE INDEX uk_booking_active_user ON booking (event_id, active_user_id);
@@ -0,0 +1,11 @@
+-- Reserved seating: layout and sold-seat bitmap per event (see SeatMap).
+-- Events without a row here are general admission.
+CREATE TABLE event_seat_map (
+    event_id BIGINT NOT NULL PRIMARY KEY,
+    layout   VARCHAR(4000) NOT NULL,
+    sold     BLOB NOT NULL,
+    CONSTRAINT fk_seat_map_event FOREIGN KEY (event_id) REFERENCES event (id) ON DELETE CASCADE
+);
+
+-- Seats held by a booking as comma-separated labels, e.g. 'Floor-1-12,Floor-1-13'; NULL for general admission
+ALTER TABLE booking ADD COLUMN seat_labels VARCHAR(4000);
@@ -0,0 +1,12 @@
+-- Deadline of a HOLD booking; NULL for every other status
+ALTER TABLE booking ADD COLUMN hold_expires_at TIMESTAMP(6);
+
+-- Outstanding holds are re-scheduled at startup without scanning the table
+CREATE INDEX idx_booking_status_hold_expires ON booking (status, hold_expires_at);
+
+-- A hold counts as the user's booking for the event too, so it takes part in the uniqueness rule
+DROP INDEX uk_booking_active_user;
+ALTER TABLE booking DROP COLUMN active_user_id;
+ALTER TABLE booking ADD COLUMN active_user_id VARCHAR(255)
+    GENERATED ALWAYS AS (CASE WHEN status IN ('ACTIVE', 'HOLD') THEN user_id END);
+CREATE UNIQUE INDEX uk_booking_active_user ON booking (event_id, active_user_id);
@@ -0,0 +1,23 @@
+-- Transactional outbox: change messages written in the same transaction as the change they describe,
+-- then published and deleted by the relay (see OutboxRelay)
+CREATE SEQUENCE outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_message (
+    id           BIGINT NOT NULL PRIMARY KEY,
+    type         VARCHAR(32) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_id     BIGINT NOT NULL,
+    payload      VARCHAR(8000) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
+
+-- How far each relay has got: the stream position of the last message it published.
+-- Its row is locked for the length of a relay batch, so only one instance relays at a time.
+CREATE TABLE outbox_checkpoint (
+    relay           VARCHAR(64) NOT NULL PRIMARY KEY,
+    position        BIGINT NOT NULL,
+    last_message_id BIGINT NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO outbox_checkpoint (relay, position, last_message_id, updated_at) VALUES ('default', 0, 0, CURRENT_TIMESTAMP);
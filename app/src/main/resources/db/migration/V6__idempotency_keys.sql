@@ -0,0 +1,13 @@
+-- Responses to requests sent with an Idempotency-Key, replayed when the same key comes again
+-- (see IdempotencyStore). Rows are deleted once they expire.
+CREATE TABLE idempotency_key (
+    idempotency_key VARCHAR(128) NOT NULL PRIMARY KEY,
+    fingerprint     VARCHAR(64) NOT NULL,
+    status          INT NOT NULL,
+    content_type    VARCHAR(128),
+    body            CHARACTER LARGE OBJECT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires ON idempotency_key (expires_at);
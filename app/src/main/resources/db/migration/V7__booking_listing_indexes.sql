@@ -0,0 +1,7 @@
+-- Booking listings page by booking id within a user, or within an event and status, so the
+-- indexes end in booking_id and each page is a range scan from the previous page's last id
+DROP INDEX idx_booking_event_status;
+CREATE INDEX idx_booking_event_status ON booking (event_id, status, booking_id);
+
+DROP INDEX idx_booking_user;
+CREATE INDEX idx_booking_user ON booking (user_id, booking_id);
@@ -0,0 +1,6 @@
+-- Read replica lag (see ReplicaLagMonitor): every instance writes the time into its own row on
+-- the primary and reads it back from the replicas to see how far they have caught up
+CREATE TABLE replication_heartbeat (
+    instance_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    beat_millis BIGINT      NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Seat map bitmaps are written whole, so every write names the version it was read at and
+-- bumps it (see SeatMapService): of two instances selling from copies of the same map, only
+-- the first write lands and the other reloads instead of erasing those sales
+ALTER TABLE event_seat_map ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,47 @@
+package com.example.ticketbooking;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Gives every application context the tests start its own ledger and journal directories in a
+ * temporary directory, deleted once the context has closed, rather than the {@code data}
+ * directory that application.properties points at. Registered in META-INF/spring.factories, so
+ * it also covers the contexts that tests start themselves.
+ */
+public class TempDataDirectories implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    @Override
+    public void initialize(ConfigurableApplicationContext context) {
+        Path root;
+        try {
+            root = Files.createTempDirectory("ticketbooking-test-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MapPropertySource directories = new MapPropertySource("testDataDirectories", Map.of(
+                "booking.ledger.directory", root.resolve("ledger").toString(),
+                "booking.write-behind.directory", root.resolve("journal").toString()));
+        // Above application.properties, below anything a test sets itself
+        MutablePropertySources sources = context.getEnvironment().getPropertySources();
+        sources.stream()
+                .filter(source -> source.getName().startsWith("Config resource"))
+                .findFirst()
+                .ifPresentOrElse(config -> sources.addBefore(config.getName(), directories),
+                        () -> sources.addLast(directories));
+        // Registered before any bean, so destroyed after the ledger and journal have closed their files
+        if (context.getBeanFactory() instanceof DefaultListableBeanFactory beanFactory) {
+            beanFactory.registerDisposableBean("testDataDirectories", () -> FileSystemUtils.deleteRecursively(root));
+        }
+    }
+}
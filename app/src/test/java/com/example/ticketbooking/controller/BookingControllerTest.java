@@ -0,0 +1,221 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.exception.NotAdmittedException;
+import com.example.ticketbooking.service.AdmissionService;
+import com.example.ticketbooking.service.BookingExporter;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import com.example.ticketbooking.service.WriteBehindBookings;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BookingController.class)
+public class BookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private EventService eventService;
+
+    @MockBean
+    private AdmissionService admissionService;
+
+    @MockBean
+    private BookingExporter bookingExporter;
+
+    @MockBean
+    private WriteBehindBookings writeBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Event testEvent;
+    private Booking testBooking;
+    private BookingRequest bookingRequest;
+
+    @BeforeEach
+    void setUp() {
+        testEvent = new Event();
+        testEvent.setId(1L);
+        testEvent.setName("Test Event");
+        testEvent.setDate(LocalDateTime.now().plusDays(10));
+        testEvent.setLocation("Test Location");
+        testEvent.setTotalSeats(100);
+
+        testBooking = new Booking();
+        testBooking.setBookingId(1L);
+        testBooking.setEvent(testEvent);
+        testBooking.setUserId("user123");
+        testBooking.setSeatsBooked(2);
+        testBooking.setStatus(BookingStatus.ACTIVE);
+
+        bookingRequest = new BookingRequest();
+        bookingRequest.setEventId(1L);
+        bookingRequest.setUserId("user123");
+        bookingRequest.setSeats(2);
+    }
+
+    @Test
+    void createBooking_Success() throws Exception {
+        given(eventService.getEventWithAvailability(anyLong())).willReturn(testEvent);
+        given(bookingService.createBooking(any(Event.class), anyString(), anyInt(), any())).willReturn(testBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(testBooking.getBookingId()))
+                .andExpect(jsonPath("$.userId").value(testBooking.getUserId()));
+    }
+
+    @Test
+    void createBooking_RetiresQueueTicket() throws Exception {
+        given(eventService.getEventWithAvailability(anyLong())).willReturn(testEvent);
+        given(bookingService.createBooking(any(Event.class), anyString(), anyInt(), any())).willReturn(testBooking);
+
+        mockMvc.perform(post("/api/bookings")
+                        .header(AdmissionService.TOKEN_HEADER, "ticket-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isOk());
+        verify(admissionService).checkAdmitted("ticket-1", 1L, "user123");
+        verify(admissionService).complete("ticket-1");
+    }
+
+    @Test
+    void createBooking_NotAdmitted() throws Exception {
+        doThrow(new NotAdmittedException("Not admitted yet, position 3"))
+                .when(admissionService).checkAdmitted(any(), anyLong(), anyString());
+
+        mockMvc.perform(post("/api/bookings")
+                        .header(AdmissionService.TOKEN_HEADER, "ticket-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(bookingService, eventService);
+        verify(admissionService, never()).complete(any());
+    }
+
+    @Test
+    void createBooking_Duplicate() throws Exception {
+        given(eventService.getEventWithAvailability(anyLong())).willReturn(testEvent);
+        given(bookingService.createBooking(any(Event.class), anyString(), anyInt(), any()))
+                .willThrow(new DuplicateBookingException());
+
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createBookings_ReturnsPerItemResults() throws Exception {
+        given(bookingService.createBookings(anyList())).willReturn(List.of(
+                BatchBookingResult.created(0, 1L),
+                BatchBookingResult.rejected(1, "Not enough seats available")));
+
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequest, bookingRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+    }
+
+    @Test
+    void createBookings_RefusedWhileWaitingRoomEnabled() throws Exception {
+        doThrow(new NotAdmittedException("Batch bookings are not accepted while the waiting room is enabled"))
+                .when(admissionService).checkBatchAllowed();
+
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequest))))
+                .andExpect(status().isForbidden());
+        verify(bookingService, never()).createBookings(anyList());
+    }
+
+    @Test
+    void getBooking_Success() throws Exception {
+        given(bookingService.getBooking(anyLong())).willReturn(testBooking);
+
+        mockMvc.perform(get("/api/bookings/{bookingId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(testBooking.getBookingId()));
+    }
+
+    @Test
+    void getUserBookings_Success() throws Exception {
+        List<Booking> bookings = Arrays.asList(testBooking);
+        given(bookingService.getUserBookings(eq("user123"), eq("abc"), eq(10))).willReturn(new BookingPage(bookings, "def"));
+
+        mockMvc.perform(get("/api/bookings/user/{userId}", "user123")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].bookingId").value(testBooking.getBookingId()))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    void getEventBookings_Success() throws Exception {
+        List<Booking> bookings = Arrays.asList(testBooking);
+        given(bookingService.getEventBookings(eq(1L), isNull(), isNull())).willReturn(new BookingPage(bookings, null));
+
+        mockMvc.perform(get("/api/bookings/event/{eventId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings[0].bookingId").value(testBooking.getBookingId()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void checkActiveBooking_Success() throws Exception {
+        given(eventService.getEventWithAvailability(anyLong())).willReturn(testEvent);
+        given(bookingService.hasActiveBooking(any(Event.class), anyString())).willReturn(true);
+
+        mockMvc.perform(get("/api/bookings/check")
+                        .param("eventId", "1")
+                        .param("userId", "user123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasActiveBooking").value(true));
+    }
+
+    @Test
+    void cancelBooking_Success() throws Exception {
+        doNothing().when(bookingService).cancelBooking(anyLong());
+
+        mockMvc.perform(delete("/api/bookings/{bookingId}", 1L))
+                .andExpect(status().isNoContent());
+    }
+}
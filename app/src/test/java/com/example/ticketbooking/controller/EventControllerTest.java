@@ -1,8 +1,14 @@
 package com.example.ticketbooking.controller;
 
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.dto.EventPage;
 import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.dto.EventSummary;
+import com.example.ticketbooking.dto.SeatMapRequest;
+import com.example.ticketbooking.dto.SeatMapView;
 import com.example.ticketbooking.entity.Event;
 import com.example.ticketbooking.service.EventService;
+import com.example.ticketbooking.service.SeatMapService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -31,6 +37,9 @@ public class EventControllerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private SeatMapService seatMapService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -62,31 +71,55 @@ public class EventControllerTest {
                         .content(objectMapper.writeValueAsString(eventRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(testEvent.getId()))
-                .andExpect(jsonPath("$.name").value(testEvent.getName()));
+                .andExpect(jsonPath("$.name").value(testEvent.getName()))
+                .andExpect(jsonPath("$.bookings").doesNotExist());
     }
 
     @Test
     void getAllEvents_Success() throws Exception {
-        List<Event> events = Arrays.asList(testEvent);
-        given(eventService.getAllEvents(anyString())).willReturn(events);
+        List<EventSummary> events = Arrays.asList(EventSummary.from(testEvent));
+        given(eventService.getAllEvents(eq("date"), eq("abc"), eq(10))).willReturn(new EventPage(events, "def"));
 
         mockMvc.perform(get("/api/events")
-                        .param("sortBy", "date"))
+                        .param("sortBy", "date")
+                        .param("cursor", "abc")
+                        .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(testEvent.getId()));
+                .andExpect(jsonPath("$.events[0].id").value(testEvent.getId()))
+                .andExpect(jsonPath("$.events[0].bookings").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("def"));
     }
 
     @Test
     void getEventAvailability_Success() throws Exception {
-        given(eventService.getEventWithAvailability(anyLong())).willReturn(testEvent);
-        given(eventService.getAvailableSeats(any(Event.class))).willReturn(50);
+        testEvent.setBookedSeats(50);
+        testEvent.setAvailableSeats(50);
+        given(eventService.getEventDetail(anyLong())).willReturn(EventDetail.from(testEvent));
+        given(eventService.getAvailableSeats(1L)).willReturn(50);
 
         mockMvc.perform(get("/api/events/{eventId}/availability", 1L))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.event.id").value(testEvent.getId()))
+                .andExpect(jsonPath("$.event.bookedSeats").value(50))
+                .andExpect(jsonPath("$.event.bookings").doesNotExist())
                 .andExpect(jsonPath("$.availableSeats").value(50));
     }
 
+    @Test
+    void createSeatMap_Success() throws Exception {
+        SeatMapRequest request = new SeatMapRequest();
+        request.setLayout("Floor:10x10");
+        given(seatMapService.createSeatMap(1L, "Floor:10x10"))
+                .willReturn(new SeatMapView(1L, "Floor:10x10", 100, 100, new byte[16]));
+
+        mockMvc.perform(post("/api/events/{eventId}/seat-map", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.capacity").value(100))
+                .andExpect(jsonPath("$.sold").isString());
+    }
+
     @Test
     void deleteEvent_Success() throws Exception {
         doNothing().when(eventService).deleteEvent(anyLong());
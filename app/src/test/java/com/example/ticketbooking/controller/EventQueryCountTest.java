@@ -0,0 +1,87 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement counts are global to the session factory, so keep the outbox relay's polls out of them
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "booking.outbox.poll-interval=1h"})
+@AutoConfigureMockMvc
+class EventQueryCountTest {
+
+    private static final int EVENTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < EVENTS; i++) {
+            EventRequest request = new EventRequest();
+            request.setName("Counted " + i);
+            request.setDate(LocalDateTime.now().plusDays(2));
+            request.setLocation("Stadium");
+            request.setTotalSeats(50);
+            Event event = eventService.createEvent(request);
+            for (int b = 0; b < 3; b++) {
+                bookingService.createBooking(event, "counted-" + i + "-" + b, 1);
+            }
+            eventId = event.getId();
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingPage_IssuesOneStatement() throws Exception {
+        mockMvc.perform(get("/api/events").param("size", String.valueOf(EVENTS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(EVENTS)))
+                .andExpect(jsonPath("$.events[0].bookings").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void availability_IssuesOneStatement() throws Exception {
+        mockMvc.perform(get("/api/events/{eventId}/availability", eventId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableSeats").value(47))
+                .andExpect(jsonPath("$.event.bookings").doesNotExist());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void scrapeIncludesBookingOutcomesAndPersistenceMetrics() throws Exception {
+        EventRequest request = new EventRequest();
+        request.setName("Scraped");
+        request.setDate(LocalDateTime.now().plusDays(2));
+        request.setLocation("Stadium");
+        request.setTotalSeats(1);
+        Event event = eventService.createEvent(request);
+        bookingService.createBooking(event, "scraped-1", 1);
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(event, "scraped-2", 1));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("booking_create_seconds_count{outcome=\"success\"")))
+                .andExpect(content().string(containsString("booking_create_seconds_count{outcome=\"sold_out\"")))
+                .andExpect(content().string(containsString("booking_create_seconds_bucket{outcome=\"success\"")))
+                .andExpect(content().string(containsString("booking_seats_total{change=\"booked\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_sessions_open_total")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.QueueRequest;
+import com.example.ticketbooking.dto.QueueStatus;
+import com.example.ticketbooking.exception.QueueFullException;
+import com.example.ticketbooking.service.AdmissionService;
+import com.example.ticketbooking.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(QueueController.class)
+public class QueueControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AdmissionService admissionService;
+
+    @MockBean
+    private EventService eventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void join_ReturnsPositionAndEstimatedWait() throws Exception {
+        given(admissionService.join(1L, "user123")).willReturn(new QueueStatus("ticket-1", 1L, false, 120, 3));
+
+        mockMvc.perform(post("/api/queue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(queueRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("ticket-1"))
+                .andExpect(jsonPath("$.admitted").value(false))
+                .andExpect(jsonPath("$.position").value(120))
+                .andExpect(jsonPath("$.estimatedWaitSeconds").value(3));
+    }
+
+    @Test
+    void join_FullQueue() throws Exception {
+        given(admissionService.join(1L, "user123")).willThrow(new QueueFullException(1L));
+
+        mockMvc.perform(post("/api/queue")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(queueRequest())))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void getStatus_Admitted() throws Exception {
+        given(admissionService.getStatus("ticket-1")).willReturn(new QueueStatus("ticket-1", 1L, true, 0, 0));
+
+        mockMvc.perform(get("/api/queue/ticket-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.admitted").value(true));
+    }
+
+    private static QueueRequest queueRequest() {
+        QueueRequest request = new QueueRequest();
+        request.setEventId(1L);
+        request.setUserId("user123");
+        return request;
+    }
+}
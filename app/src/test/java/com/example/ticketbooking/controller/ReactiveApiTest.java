@@ -0,0 +1,253 @@
+package com.example.ticketbooking.controller;
+
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.OutboxMessage;
+import com.example.ticketbooking.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:reactivedb;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1",
+                "booking.batch.max-size=5",
+                // The relay runs once at startup, leaving the outbox rows written by the tests in place
+                "booking.outbox.poll-interval=1h"
+        })
+@ActiveProfiles("reactive")
+class ReactiveApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+    }
+
+    @Test
+    void bookingLifecycle() {
+        Long eventId = createEvent(3);
+
+        Map<?, ?> booking = book(eventId, "user1", 2)
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(booking);
+        assertEquals("user1", booking.get("userId"));
+        Long bookingId = ((Number) booking.get("bookingId")).longValue();
+
+        book(eventId, "user1", 1).expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        book(eventId, "user2", 2).expectStatus().is5xxServerError();
+
+        webTestClient.get().uri("/api/events/{eventId}/availability", eventId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.event.id").isEqualTo(eventId)
+                .jsonPath("$.availableSeats").isEqualTo(1);
+
+        webTestClient.delete().uri("/api/bookings/{bookingId}", bookingId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/api/bookings/event/{eventId}/seats", eventId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalBookedSeats").isEqualTo(0);
+    }
+
+    @Test
+    void changesAreWrittenToTheOutboxWithTheirTransaction() {
+        Long eventId = createEvent(3);
+        Map<?, ?> booking = book(eventId, "outbox-user1", 2)
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(booking);
+        Long bookingId = ((Number) booking.get("bookingId")).longValue();
+        book(eventId, "outbox-user2", 2).expectStatus().is5xxServerError();
+        webTestClient.delete().uri("/api/bookings/{bookingId}", bookingId)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        // The sold-out booking rolled back with its message
+        List<OutboxMessage> messages = outboxMessageRepository.findAll().stream()
+                .filter(message -> message.getEventId().equals(eventId))
+                .sorted(Comparator.comparing(OutboxMessage::getId))
+                .toList();
+        assertEquals(List.of(ChangeType.EVENT_CREATED, ChangeType.BOOKING_CREATED, ChangeType.BOOKING_CANCELED),
+                messages.stream().map(OutboxMessage::getType).toList());
+        assertEquals(bookingId, messages.get(1).getAggregateId());
+        assertTrue(messages.get(1).getPayload().contains("\"userId\":\"outbox-user1\""));
+        assertTrue(messages.get(2).getPayload().contains("\"status\":\"CANCELED\""));
+    }
+
+    @Test
+    void concurrentBookings_NeverOversell() throws Exception {
+        int totalSeats = 50;
+        Long eventId = createEvent(totalSeats);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            String userId = "user-" + i;
+            futures.add(executor.submit(() -> {
+                if (book(eventId, userId, 1).returnResult(String.class).getStatus().is2xxSuccessful()) {
+                    succeeded.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(totalSeats, succeeded.get());
+        webTestClient.get().uri("/api/events/{eventId}/availability", eventId)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.availableSeats").isEqualTo(0);
+    }
+
+    @Test
+    void batchItemThatDoesNotFitLeavesNoBookingBehind() {
+        Long eventId = createEvent(3);
+
+        webTestClient.post().uri("/api/bookings/batch")
+                .bodyValue(List.of(bookingRequest(eventId, "batch-user-1", 2), bookingRequest(eventId, "batch-user-2", 2)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].bookingId").exists()
+                .jsonPath("$[1].bookingId").doesNotExist()
+                .jsonPath("$[1].error").isEqualTo("Not enough seats available. Requested: 2");
+
+        webTestClient.get().uri("/api/bookings/user/{userId}", "batch-user-2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.bookings.length()").isEqualTo(0);
+        webTestClient.get().uri("/api/bookings/event/{eventId}/seats", eventId)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.totalBookedSeats").isEqualTo(2);
+    }
+
+    @Test
+    void oversizedBatchIsRefused() {
+        Long eventId = createEvent(10);
+        List<BookingRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(bookingRequest(eventId, "oversized-user-" + i, 1));
+        }
+
+        webTestClient.post().uri("/api/bookings/batch")
+                .bodyValue(requests)
+                .exchange()
+                .expectStatus().is5xxServerError();
+        webTestClient.get().uri("/api/bookings/event/{eventId}/seats", eventId)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.totalBookedSeats").isEqualTo(0);
+    }
+
+    @Test
+    void eventBookingsArePagedAndExported() {
+        Long eventId = createEvent(10);
+        for (int i = 0; i < 3; i++) {
+            book(eventId, "paged-user-" + i, 1).expectStatus().isOk();
+        }
+
+        Map<?, ?> first = webTestClient.get().uri("/api/bookings/event/{eventId}?size=2", eventId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(first);
+        assertEquals(2, ((List<?>) first.get("bookings")).size());
+        webTestClient.get().uri("/api/bookings/event/{eventId}?size=2&cursor={cursor}", eventId, first.get("nextCursor"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.bookings.length()").isEqualTo(1)
+                .jsonPath("$.nextCursor").doesNotExist();
+
+        String csv = webTestClient.get().uri("/api/bookings/event/{eventId}/export?format=csv", eventId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(csv);
+        assertEquals(4, csv.split("\n").length);
+        String ndjson = webTestClient.get().uri("/api/bookings/event/{eventId}/export", eventId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(ndjson);
+        assertEquals(3, ndjson.split("\n").length);
+        assertTrue(ndjson.startsWith("{\"bookingId\":"));
+    }
+
+    private Long createEvent(int totalSeats) {
+        EventRequest request = new EventRequest();
+        request.setName("Reactive Event");
+        request.setDate(LocalDateTime.now().plusDays(10));
+        request.setLocation("Arena");
+        request.setTotalSeats(totalSeats);
+        Map<?, ?> event = webTestClient.post().uri("/api/events")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(event);
+        return ((Number) event.get("id")).longValue();
+    }
+
+    private WebTestClient.ResponseSpec book(Long eventId, String userId, int seats) {
+        return webTestClient.post().uri("/api/bookings")
+                .bodyValue(bookingRequest(eventId, userId, seats))
+                .exchange();
+    }
+
+    private static BookingRequest bookingRequest(Long eventId, String userId, int seats) {
+        BookingRequest request = new BookingRequest();
+        request.setEventId(eventId);
+        request.setUserId(userId);
+        request.setSeats(seats);
+        return request;
+    }
+}
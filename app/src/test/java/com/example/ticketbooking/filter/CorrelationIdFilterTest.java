@@ -0,0 +1,54 @@
+package com.example.ticketbooking.filter;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void generatesIdAndClearsMdcAfterwards() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+
+        assertNotNull(seen.get());
+        assertEquals(16, seen.get().length());
+        assertEquals(seen.get(), response.getHeader(CorrelationIdFilter.HEADER));
+        assertNull(MDC.get(CorrelationIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void reusesCallerId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+
+        assertEquals("abc-123", seen.get());
+        assertEquals("abc-123", response.getHeader(CorrelationIdFilter.HEADER));
+    }
+
+    @Test
+    void replacesMalformedCallerId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(CorrelationIdFilter.HEADER, "bad\nid");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertNotEquals("bad\nid", response.getHeader(CorrelationIdFilter.HEADER));
+        assertTrue(response.getHeader(CorrelationIdFilter.HEADER).matches("[0-9a-f]{16}"));
+    }
+}
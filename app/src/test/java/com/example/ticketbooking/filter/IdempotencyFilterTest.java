@@ -0,0 +1,156 @@
+package com.example.ticketbooking.filter;
+
+import com.example.ticketbooking.config.IdempotencyProperties;
+import com.example.ticketbooking.entity.IdempotencyRecord;
+import com.example.ticketbooking.repository.IdempotencyRecordRepository;
+import com.example.ticketbooking.service.IdempotencyStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class IdempotencyFilterTest {
+
+    private IdempotencyRecordRepository repository;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IdempotencyRecordRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        IdempotencyProperties properties = new IdempotencyProperties();
+        filter = new IdempotencyFilter(new IdempotencyStore(repository, properties), properties);
+    }
+
+    @Test
+    void replaysFirstResponseWithoutRunningTheRequestAgain() throws Exception {
+        MockHttpServletResponse first = post("key-1", "{\"seats\":2}", booking(42));
+        MockHttpServletResponse second = post("key-1", "{\"seats\":2}", booking(43));
+
+        assertEquals(1, executions.get());
+        assertEquals("{\"bookingId\":42}", second.getContentAsString());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("true", second.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        verify(repository).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() throws Exception {
+        post("key-2", "{\"seats\":2}", booking(42));
+        MockHttpServletResponse other = post("key-2", "{\"seats\":3}", booking(43));
+
+        assertEquals(422, other.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            booking(42).doFilter(request, response);
+        };
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> postQuietly("key-3", slow));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> postQuietly("key-3", booking(43)));
+
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        assertEquals("{\"bookingId\":42}", first.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals("{\"bookingId\":42}", duplicate.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void serverErrorsAreNotReplayed() throws Exception {
+        post("key-4", "{}", (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        });
+        MockHttpServletResponse retry = post("key-4", "{}", booking(42));
+
+        assertEquals(2, executions.get());
+        assertEquals("{\"bookingId\":42}", retry.getContentAsString());
+        verify(repository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void responseStoredByAnotherInstanceIsReplayed() throws Exception {
+        MockHttpServletRequest request = request("key-5", "{}");
+        IdempotencyRecord stored = new IdempotencyStore(repository, new IdempotencyProperties())
+                .newRecord("key-5", IdempotencyFilter.fingerprint(request, "{}".getBytes(StandardCharsets.UTF_8)),
+                        200, "application/json", "{\"bookingId\":7}");
+        when(repository.findById("key-5")).thenReturn(Optional.of(stored));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, booking(42));
+
+        assertEquals("{\"bookingId\":7}", response.getContentAsString());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void requestsWithoutKeyPassThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        filter.doFilter(request, new MockHttpServletResponse(), booking(42));
+        filter.doFilter(request, new MockHttpServletResponse(), booking(42));
+
+        assertEquals(2, executions.get());
+        verifyNoInteractions(repository);
+    }
+
+    private FilterChain booking(long bookingId) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write(("{\"bookingId\":" + bookingId + "}").getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse post(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    private MockHttpServletResponse postQuietly(String key, FilterChain chain) {
+        try {
+            return post(key, "{}", chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
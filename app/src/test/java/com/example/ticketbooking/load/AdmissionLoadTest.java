@@ -0,0 +1,188 @@
+package com.example.ticketbooking.load;
+
+import com.example.ticketbooking.TicketBookingApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends a normal crowd and then a 50 times larger one through the waiting room at once, and
+ * compares the database side of their bookings: how long each waited for and then held its
+ * event's lock stripe, which spans the booking transaction. With admission control the spike
+ * only makes clients wait longer in the queue, while bookings reach the database at the same
+ * rate and take as long as under normal load. Run with {@code mvn test -Pload-tests}.
+ */
+@Tag("load")
+class AdmissionLoadTest {
+
+    private static final int BASELINE_CLIENTS = Integer.getInteger("load.baselineClients", 40);
+    private static final int SPIKE_FACTOR = 50;
+    private static final int ADMISSIONS_PER_SECOND = Integer.getInteger("load.admissionsPerSecond", 100);
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+    private static final Pattern WAIT = Pattern.compile("\"estimatedWaitSeconds\":(\\d+)");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    void bookingLatencyStaysFlatUnderSpike() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketBookingApplication.class)
+                .profiles("onsale")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-admission",
+                        "server.tomcat.max-connections=20000",
+                        "booking.admission.admissions-per-second=" + ADMISSIONS_PER_SECOND,
+                        "booking.admission.burst=" + ADMISSIONS_PER_SECOND / 10,
+                        "logging.level.com.example.ticketbooking=WARN")
+                .run()) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            long eventId = createEvent(baseUrl);
+
+            // Warm up JIT, pools and caches before measuring
+            crowd(baseUrl, eventId, "warmup-", BASELINE_CLIENTS, registry);
+            Result baseline = crowd(baseUrl, eventId, "baseline-", BASELINE_CLIENTS, registry).named("baseline");
+            Result spike = crowd(baseUrl, eventId, "spike-", BASELINE_CLIENTS * SPIKE_FACTOR, registry).named("spike");
+
+            System.out.println(baseline);
+            System.out.println(spike);
+            assertEquals(0, spike.errors());
+            assertTrue(spike.dbMillis() <= Math.max(3 * baseline.dbMillis(), baseline.dbMillis() + 5),
+                    "Database time per booking rose under the spike: " + baseline + " / " + spike);
+        }
+    }
+
+    private long createEvent(String baseUrl) throws Exception {
+        String body = "{\"name\":\"On sale\",\"date\":\"" + LocalDateTime.now().plusDays(30).withNano(0)
+                + "\",\"location\":\"Arena\",\"totalSeats\":1000000}";
+        HttpResponse<String> response = client.send(post(baseUrl + "/api/events", body, null),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ID.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return Long.parseLong(matcher.group(1));
+    }
+
+    // Every client joins at once, polls its ticket until admitted, then books one seat
+    private Result crowd(String baseUrl, long eventId, String userPrefix, int clients, MeterRegistry registry) {
+        double[] lockMillisBefore = lockMillis(registry);
+        long[] latencies = new long[clients];
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>(clients);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            int index = i;
+            String userId = userPrefix + i;
+            futures.add(client.sendAsync(post(baseUrl + "/api/queue",
+                            "{\"eventId\":" + eventId + ",\"userId\":\"" + userId + "\"}", null),
+                            HttpResponse.BodyHandlers.ofString())
+                    .thenCompose(response -> awaitAdmission(baseUrl, response.body()))
+                    .thenCompose(token -> {
+                        long sent = System.nanoTime();
+                        return client.sendAsync(post(baseUrl + "/api/bookings", "{\"eventId\":" + eventId
+                                                + ",\"userId\":\"" + userId + "\",\"seats\":1}", token),
+                                        HttpResponse.BodyHandlers.discarding())
+                                .thenAccept(response -> {
+                                    latencies[index] = System.nanoTime() - sent;
+                                    if (response.statusCode() >= 400) {
+                                        errors.incrementAndGet();
+                                    }
+                                });
+                    })
+                    .exceptionally(e -> {
+                        errors.incrementAndGet();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        double[] lockMillis = lockMillis(registry);
+
+        Arrays.sort(latencies);
+        return new Result("", clients, errors.get(), elapsedSeconds,
+                (lockMillis[1] - lockMillisBefore[1]) / (lockMillis[0] - lockMillisBefore[0]),
+                latencies[clients / 2] / 1e6,
+                latencies[(int) (clients * 0.99)] / 1e6);
+    }
+
+    // Bookings so far, and milliseconds they spent waiting for and holding lock stripes
+    private static double[] lockMillis(MeterRegistry registry) {
+        double count = 0;
+        double millis = 0;
+        for (Timer timer : registry.find("booking.lock.hold").timers()) {
+            count += timer.count();
+            millis += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        for (Timer timer : registry.find("booking.lock.wait").timers()) {
+            millis += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        return new double[]{count, millis};
+    }
+
+    private CompletableFuture<String> awaitAdmission(String baseUrl, String status) {
+        Matcher matcher = TOKEN.matcher(status);
+        if (!matcher.find()) {
+            return CompletableFuture.failedFuture(new IllegalStateException(status));
+        }
+        String token = matcher.group(1);
+        if (status.contains("\"admitted\":true")) {
+            return CompletableFuture.completedFuture(token);
+        }
+        // Like a waiting-room page: check back in about half the estimated wait
+        Matcher wait = WAIT.matcher(status);
+        long delayMillis = wait.find() ? Math.min(5_000, Math.max(250, Long.parseLong(wait.group(1)) * 500)) : 250;
+        return CompletableFuture.supplyAsync(() -> token, CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS))
+                .thenCompose(t -> client.sendAsync(HttpRequest.newBuilder(URI.create(baseUrl + "/api/queue/" + t)).build(),
+                        HttpResponse.BodyHandlers.ofString()))
+                .thenCompose(response -> awaitAdmission(baseUrl, response.body()));
+    }
+
+    private static HttpRequest post(String url, String body, String queueToken) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (queueToken != null) {
+            request.header("X-Queue-Token", queueToken);
+        }
+        return request.build();
+    }
+
+    private record Result(String crowd, int clients, int errors, double seconds, double dbMillis,
+                          double p50Millis, double p99Millis) {
+        Result named(String name) {
+            return new Result(name, clients, errors, seconds, dbMillis, p50Millis, p99Millis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s clients=%d errors=%d drained in %.1f s, database %.2f ms per booking, "
+                    + "booking request p50=%.1f ms p99=%.1f ms", crowd, clients, errors, seconds, dbMillis,
+                    p50Millis, p99Millis);
+        }
+    }
+}
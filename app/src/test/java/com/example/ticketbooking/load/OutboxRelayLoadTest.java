@@ -0,0 +1,78 @@
+package com.example.ticketbooking.load;
+
+import com.example.ticketbooking.TicketBookingApplication;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.service.ChangeOutbox;
+import com.example.ticketbooking.service.OutboxRelay;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fills the outbox with a backlog of booking changes, written in transactions of 100 the way
+ * batch bookings write them, and times how fast the relay publishes them to the change stream
+ * and checkpoints them. The relay has to sustain at least 10,000 changes a second. Run with
+ * {@code mvn test -Pload-tests}.
+ */
+@Tag("load")
+class OutboxRelayLoadTest {
+
+    private static final int CHANGES = Integer.getInteger("load.outboxChanges", 100_000);
+    private static final int PER_TRANSACTION = 100;
+
+    @Test
+    void relayKeepsUpWithTenThousandChangesPerSecond() {
+        // Arguments rather than builder properties, which application.properties would override
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketBookingApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-outbox",
+                        "--booking.outbox.poll-interval=1h",
+                        "--logging.level.com.example.ticketbooking=WARN")) {
+            ChangeOutbox outbox = context.getBean(ChangeOutbox.class);
+            OutboxRelay relay = context.getBean(OutboxRelay.class);
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            Event event = new Event();
+            event.setId(1L);
+            long writeStart = System.nanoTime();
+            for (int from = 0; from < CHANGES; from += PER_TRANSACTION) {
+                List<Booking> bookings = bookings(event, from, PER_TRANSACTION);
+                transactions.executeWithoutResult(status -> outbox.bookingsChanged(ChangeType.BOOKING_CREATED, bookings));
+            }
+            double writeSeconds = (System.nanoTime() - writeStart) / 1e9;
+
+            long relayStart = System.nanoTime();
+            long relayed = relay.relayPending();
+            double relaySeconds = (System.nanoTime() - relayStart) / 1e9;
+
+            System.out.printf("Outbox: wrote %d changes in %.2f s, relayed them in %.2f s (%.0f changes/s)%n",
+                    CHANGES, writeSeconds, relaySeconds, relayed / relaySeconds);
+            assertEquals(CHANGES, relayed);
+            assertTrue(relayed / relaySeconds >= 10_000, "Relay too slow: " + relayed / relaySeconds + " changes/s");
+        }
+    }
+
+    private static List<Booking> bookings(Event event, int from, int count) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            Booking booking = new Booking();
+            booking.setBookingId((long) i + 1);
+            booking.setEvent(event);
+            booking.setUserId("load-user-" + i);
+            booking.setSeatsBooked(1);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
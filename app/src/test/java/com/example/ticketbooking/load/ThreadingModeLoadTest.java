@@ -0,0 +1,137 @@
+package com.example.ticketbooking.load;
+
+import com.example.ticketbooking.TicketBookingApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under 5k concurrent clients.
+ * Run with {@code mvn test -Pload-tests}; virtual threads only take effect on a Java 21 build
+ * ({@code -Pjava21}), on older runtimes both runs use platform threads.
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 5_000);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 50_000);
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run("platform", false);
+        Result virtual = run("virtual", true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+        assertTrue(platform.completed() > 0 && virtual.completed() > 0);
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketBookingApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.max-connections=20000",
+                        "booking.admission.enabled=false",
+                        "logging.level.com.example.ticketbooking=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            long eventId = createEvent(baseUrl);
+
+            // Warm up JIT, pools and caches before measuring
+            drive(baseUrl, eventId, "warmup-", 5_000);
+            return drive(baseUrl, eventId, mode + "-", REQUESTS).named(mode);
+        }
+    }
+
+    private long createEvent(String baseUrl) throws Exception {
+        String body = "{\"name\":\"Load\",\"date\":\"" + LocalDateTime.now().plusDays(30).withNano(0)
+                + "\",\"location\":\"Arena\",\"totalSeats\":1000000}";
+        HttpResponse<String> response = client.send(post(baseUrl + "/api/events", body),
+                HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ID.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return Long.parseLong(matcher.group(1));
+    }
+
+    // Mixes one booking per nine availability reads, keeping at most CLIENTS requests in flight
+    private Result drive(String baseUrl, long eventId, String userPrefix, int requests) throws Exception {
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            HttpRequest request = i % 10 == 0
+                    ? post(baseUrl + "/api/bookings", "{\"eventId\":" + eventId + ",\"userId\":\""
+                            + userPrefix + i + "\",\"seats\":1}")
+                    : HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/" + eventId + "/availability")).build();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (failure != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result("", requests - errors.get(), errors.get(),
+                requests / (elapsed / 1e9),
+                latencies[requests / 2] / 1e6,
+                latencies[(int) (requests * 0.99)] / 1e6);
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private record Result(String mode, int completed, int errors, double throughput, double p50Millis,
+                          double p99Millis) {
+        Result named(String name) {
+            return new Result(name, completed, errors, throughput, p50Millis, p99Millis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s completed=%d errors=%d throughput=%.0f req/s p50=%.1f ms p99=%.1f ms",
+                    mode, completed, errors, throughput, p50Millis, p99Millis);
+        }
+    }
+}
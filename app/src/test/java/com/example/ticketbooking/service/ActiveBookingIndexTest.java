@@ -0,0 +1,113 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActiveBookingIndexTest {
+
+    private BookingRepository bookingRepository;
+    private ActiveBookingIndex index;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        ClusterMembership membership = mock(ClusterMembership.class);
+        when(membership.isLocal(any())).thenReturn(true);
+        index = new ActiveBookingIndex(bookingRepository, membership);
+        event = new Event();
+        event.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void eventIsLoadedOnceAndThenAnsweredFromMemory() {
+        when(bookingRepository.findUserIdsByEventAndStatusIn(event, BookingStatus.SEAT_TAKING))
+                .thenReturn(List.of("alice"));
+
+        assertTrue(index.mightHaveBooking(event, "alice"));
+        assertFalse(index.mightHaveBooking(event, "bob"));
+        verify(bookingRepository, times(1)).findUserIdsByEventAndStatusIn(event, BookingStatus.SEAT_TAKING);
+    }
+
+    @Test
+    void rebuildLoadsEveryEvent() {
+        when(bookingRepository.streamEventUserIdsWithStatusIn(BookingStatus.SEAT_TAKING))
+                .thenReturn(Stream.<Object[]>of(new Object[]{1L, "alice"}, new Object[]{2L, "bob"}));
+
+        index.rebuild();
+
+        assertTrue(index.mightHaveBooking(event, "alice"));
+        assertFalse(index.mightHaveBooking(event, "bob"));
+        verify(bookingRepository, never()).findUserIdsByEventAndStatusIn(any(), any());
+    }
+
+    @Test
+    void additionIsUndoneOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.added(event, "alice");
+        assertTrue(index.mightHaveBooking(event, "alice"));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(index.mightHaveBooking(event, "alice"));
+    }
+
+    @Test
+    void removalWaitsForCommit() {
+        index.added(event, "alice");
+        TransactionSynchronizationManager.initSynchronization();
+        index.removed(event, "alice");
+
+        assertTrue(index.mightHaveBooking(event, "alice"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertFalse(index.mightHaveBooking(event, "alice"));
+    }
+
+    @Test
+    void hashSetMatchesReferenceSetThroughGrowthAndRemoval() {
+        ActiveBookingIndex.UserHashSet set = new ActiveBookingIndex.UserHashSet();
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            // A small key range forces collisions, long probe runs and repeated removals
+            long hash = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertEquals(reference.add(hash), set.add(hash));
+            } else {
+                assertEquals(reference.remove(hash), set.remove(hash));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (long hash = 1; hash <= 2_000; hash++) {
+            assertEquals(reference.contains(hash), set.contains(hash));
+        }
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Updates only go out when the test publishes them
+@SpringBootTest(properties = "booking.availability-stream.interval=1h")
+@AutoConfigureMockMvc
+class AvailabilityStreamTest {
+    private static final Pattern AVAILABLE = Pattern.compile("\"availableSeats\":(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AvailabilityStream availabilityStream;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void seatChangesAreCoalescedAndSharedBySubscribers() throws Exception {
+        Event event = createEvent("Streamed", 10);
+        MockHttpServletResponse first = subscribe(event.getId());
+        MockHttpServletResponse second = subscribe(event.getId());
+        assertEquals(List.of(10), awaitUpdates(first, 1));
+        assertEquals(List.of(10), awaitUpdates(second, 1));
+
+        bookingService.createBooking(event, "stream-user-1", 2);
+        bookingService.createBooking(event, "stream-user-2", 3);
+        availabilityStream.publishDue();
+
+        assertEquals(List.of(10, 5), awaitUpdates(first, 2));
+        assertEquals(List.of(10, 5), awaitUpdates(second, 2));
+        assertTrue(first.getContentAsString().contains("event:availability"));
+    }
+
+    @Test
+    void unchangedAvailabilityIsNotSentAgain() throws Exception {
+        Event event = createEvent("Unchanged", 10);
+        MockHttpServletResponse response = subscribe(event.getId());
+        awaitUpdates(response, 1);
+
+        Booking booking = bookingService.createBooking(event, "stream-user-3", 4);
+        bookingService.cancelBooking(booking.getBookingId());
+        availabilityStream.publishDue();
+        bookingService.createBooking(event, "stream-user-4", 1);
+        availabilityStream.publishDue();
+
+        assertEquals(List.of(10, 9), awaitUpdates(response, 2));
+    }
+
+    @Test
+    void unknownEventIsRejected() {
+        assertThrows(EntityNotFoundException.class, () -> availabilityStream.subscribe(Long.MAX_VALUE));
+    }
+
+    private MockHttpServletResponse subscribe(Long eventId) throws Exception {
+        return mockMvc.perform(get("/api/events/{eventId}/availability/stream", eventId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    // Updates are written by the sender threads, so wait for them
+    private static List<Integer> awaitUpdates(MockHttpServletResponse response, int expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        List<Integer> updates;
+        do {
+            updates = new ArrayList<>();
+            Matcher matcher = AVAILABLE.matcher(response.getContentAsString());
+            while (matcher.find()) {
+                updates.add(Integer.parseInt(matcher.group(1)));
+            }
+            if (updates.size() >= expected) {
+                return updates;
+            }
+            Thread.sleep(10);
+        } while (System.nanoTime() < deadline);
+        return updates;
+    }
+
+    private Event createEvent(String name, int seats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(30));
+        request.setLocation("Stream Hall");
+        request.setTotalSeats(seats);
+        return eventService.createEvent(request);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingConcurrencyTest {
+
+    private static final int TOTAL_SEATS = 150;
+    private static final int REQUESTS = 3000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentBookings_NeverOversell() throws Exception {
+        Long eventId = createEvent(TOTAL_SEATS);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            String userId = "user-" + i;
+            int seats = 1 + i % 3;
+            futures.add(executor.submit(() -> {
+                start.await();
+                Event event = eventService.getEventWithAvailability(eventId);
+                try {
+                    bookingService.createBooking(event, userId, seats);
+                    succeeded.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        int activeSeats = bookingRepository.findByEventAndStatus(event, BookingStatus.ACTIVE).stream()
+                .mapToInt(b -> b.getSeatsBooked())
+                .sum();
+
+        assertEquals(REQUESTS, succeeded.get() + rejected.get());
+        assertTrue(succeeded.get() > 0);
+        assertEquals(TOTAL_SEATS, activeSeats, "every seat sold exactly once");
+        assertEquals(activeSeats, event.getBookedSeats());
+        assertEquals(TOTAL_SEATS - activeSeats, eventService.getAvailableSeats(event));
+    }
+
+    @Test
+    void batchBooking_AdmitsUpToCapacity() {
+        Long eventId = createEvent(TOTAL_SEATS);
+        List<BookingRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            BookingRequest request = new BookingRequest();
+            request.setEventId(eventId);
+            request.setUserId("batch-user-" + i);
+            request.setSeats(1);
+            requests.add(request);
+        }
+
+        List<BatchBookingResult> results = bookingService.createBookings(requests);
+
+        long created = results.stream().filter(r -> r.getStatus() == BatchBookingResult.Status.CREATED).count();
+        assertEquals(TOTAL_SEATS, created);
+        Event event = eventRepository.findById(eventId).orElseThrow();
+        assertEquals(TOTAL_SEATS, event.getBookedSeats());
+        assertEquals(TOTAL_SEATS, bookingRepository.findByEventAndStatus(event, BookingStatus.ACTIVE).size());
+        assertEquals(0, eventService.getAvailableSeats(event));
+    }
+
+    @Test
+    void uniqueActiveBookingIndex_BacksUpServiceCheck() {
+        Event event = eventRepository.findById(createEvent(10)).orElseThrow();
+        Booking first = bookingRepository.saveAndFlush(booking(event, "dup-user", BookingStatus.ACTIVE));
+
+        // Bypasses the service check, as a racing writer on another node would
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingRepository.saveAndFlush(booking(event, "dup-user", BookingStatus.ACTIVE)));
+        assertTrue(DuplicateBookingException.isActiveBookingViolation(e));
+
+        first.setStatus(BookingStatus.CANCELED);
+        bookingRepository.saveAndFlush(first);
+        bookingRepository.saveAndFlush(booking(event, "dup-user", BookingStatus.CANCELED));
+        bookingRepository.saveAndFlush(booking(event, "dup-user", BookingStatus.ACTIVE));
+        assertTrue(bookingRepository.existsByEventAndUserIdAndStatus(event, "dup-user", BookingStatus.ACTIVE));
+    }
+
+    private static Booking booking(Event event, String userId, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setEvent(event);
+        booking.setUserId(userId);
+        booking.setSeatsBooked(1);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private Long createEvent(int totalSeats) {
+        EventRequest request = new EventRequest();
+        request.setName("On-sale");
+        request.setDate(LocalDateTime.now().plusDays(30));
+        request.setLocation("Arena");
+        request.setTotalSeats(totalSeats);
+        return eventService.createEvent(request).getId();
+    }
+}
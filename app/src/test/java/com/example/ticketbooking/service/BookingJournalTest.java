@@ -0,0 +1,127 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingJournalTest {
+    private static final long SEGMENT_SIZE = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenReadsBackEveryRecord() throws Exception {
+        BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE);
+        journal.append(List.of(entry(1, "alice"), entry(2, "bob")));
+        journal.append(List.of(entry(3, "zoë")));
+        journal.close();
+
+        BookingJournal reopened = BookingJournal.open(directory, SEGMENT_SIZE);
+
+        assertEquals(3, reopened.lastSequence());
+        List<BookingJournal.Entry> recovered = reopened.recovered();
+        assertEquals(List.of("alice", "bob", "zoë"), recovered.stream().map(BookingJournal.Entry::userId).toList());
+        assertEquals(102L, recovered.get(1).bookingId());
+        assertEquals(7L, recovered.get(1).eventId());
+        assertEquals(2, recovered.get(1).seats());
+    }
+
+    @Test
+    void tornRecordIsCutOffAndAppendingContinues() throws Exception {
+        BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE);
+        journal.append(List.of(entry(1, "alice"), entry(2, "bob")));
+        journal.close();
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), Files.size(segment) - 2);
+        }
+
+        BookingJournal reopened = BookingJournal.open(directory, SEGMENT_SIZE);
+        assertEquals(1, reopened.lastSequence());
+        reopened.append(List.of(entry(2, "carol")));
+        reopened.close();
+
+        assertEquals(List.of("alice", "carol"), BookingJournal.open(directory, SEGMENT_SIZE).recovered().stream()
+                .map(BookingJournal.Entry::userId).toList());
+    }
+
+    @Test
+    void discardedAppendDoesNotComeBack() throws Exception {
+        BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE);
+        journal.append(List.of(entry(1, "alice")));
+        journal.force();
+        journal.append(List.of(entry(2, "bob"), entry(3, "carol")));
+
+        journal.discardLastAppend();
+
+        assertEquals(1, journal.lastSequence());
+        journal.append(List.of(entry(2, "dave")));
+        journal.close();
+        assertEquals(List.of("alice", "dave"), BookingJournal.open(directory, SEGMENT_SIZE).recovered().stream()
+                .map(BookingJournal.Entry::userId).toList());
+    }
+
+    @Test
+    void writtenSegmentsAreDiscarded() throws Exception {
+        // Every group fills a segment of its own
+        BookingJournal journal = BookingJournal.open(directory, 10);
+        journal.append(List.of(entry(1, "alice"), entry(2, "bob")));
+        journal.append(List.of(entry(3, "carol")));
+        journal.append(List.of(entry(4, "dave")));
+        assertEquals(3, segments().size());
+
+        journal.discardThrough(3);
+        journal.close();
+
+        assertEquals(1, segments().size());
+        BookingJournal reopened = BookingJournal.open(directory, 10);
+        assertEquals(4, reopened.lastSequence());
+        assertEquals(List.of("dave"), reopened.recovered().stream().map(BookingJournal.Entry::userId).toList());
+    }
+
+    @Test
+    void sequencesMustFollowOn() throws Exception {
+        BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE);
+        journal.append(List.of(entry(1, "alice")));
+
+        assertThrows(IllegalArgumentException.class, () -> journal.append(List.of(entry(3, "bob"))));
+    }
+
+    @Test
+    void directoryOpensOnceAtATime() throws Exception {
+        BookingJournal journal = BookingJournal.open(directory, SEGMENT_SIZE);
+        journal.append(List.of(entry(1, "alice")));
+
+        assertThrows(IOException.class, () -> BookingJournal.open(directory, SEGMENT_SIZE));
+
+        journal.close();
+        assertEquals(1, BookingJournal.open(directory, SEGMENT_SIZE).recovered().size());
+    }
+
+    private static BookingJournal.Entry entry(long sequence, String userId) {
+        return new BookingJournal.Entry(sequence, 100 + sequence, 7L, userId, (int) sequence, 0);
+    }
+
+    private Path onlySegment() throws Exception {
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
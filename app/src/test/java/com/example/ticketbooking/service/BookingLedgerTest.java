@@ -0,0 +1,104 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.LedgerProperties;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    private BookingLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        LedgerProperties properties = new LedgerProperties();
+        properties.setDirectory(directory);
+        ledger = new BookingLedger(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledger.close();
+    }
+
+    @Test
+    void recordsAreAppendedBeforeCommitAndUndoneOnRollback() {
+        ledger.seatsAdjusted(1L, 100);
+
+        inTransaction(() -> ledger.bookingCreated(booking(10L, 4)), TransactionSynchronization.STATUS_ROLLED_BACK);
+        inTransaction(() -> ledger.bookingCreated(booking(11L, 2)), TransactionSynchronization.STATUS_COMMITTED);
+
+        Map<Long, int[]> repairs = new HashMap<>();
+        Map<Long, Integer> remaining = ledger.reconcile(List.<Object[]>of(new Object[]{1L, 100, 2}),
+                (eventId, totalSeats, bookedSeats) -> repairs.put(eventId, new int[]{totalSeats, bookedSeats}));
+
+        assertTrue(repairs.isEmpty());
+        assertEquals(Map.of(1L, 98), remaining);
+    }
+
+    @Test
+    void reconcileRestoresTheTableFromTheLedger() {
+        ledger.seatsAdjusted(1L, 100);
+        ledger.seatsAdjusted(2L, 50);
+        ledger.bookingCreated(booking(10L, 5));
+
+        // Event 1 lost its booking in a crash, event 2 is gone from the table and event 3 is new to the ledger
+        Map<Long, int[]> repairs = new HashMap<>();
+        Map<Long, Integer> remaining = ledger.reconcile(
+                List.of(new Object[]{1L, 100, 0}, new Object[]{3L, 10, 0}),
+                (eventId, totalSeats, bookedSeats) -> repairs.put(eventId, new int[]{totalSeats, bookedSeats}));
+
+        assertEquals(List.of(1L), List.copyOf(repairs.keySet()));
+        assertArrayEquals(new int[]{100, 5}, repairs.get(1L));
+        assertEquals(Map.of(1L, 95, 3L, 10), remaining);
+    }
+
+    @Test
+    void reconcileWithoutRepairRebasesOntoTheTable() {
+        ledger.seatsAdjusted(1L, 100);
+        ledger.bookingCreated(booking(10L, 5));
+
+        assertEquals(Map.of(1L, 100), ledger.reconcile(List.<Object[]>of(new Object[]{1L, 100, 0}), null));
+        assertEquals(Map.of(1L, 100), ledger.reconcile(List.<Object[]>of(new Object[]{1L, 100, 0}),
+                (eventId, totalSeats, bookedSeats) -> fail("Nothing to repair")));
+    }
+
+    private static void inTransaction(Runnable action, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            // A rollback here is a commit that failed after the before-commit callbacks ran
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Booking booking(Long bookingId, int seats) {
+        Event event = new Event();
+        event.setId(1L);
+        Booking booking = new Booking();
+        booking.setBookingId(bookingId);
+        booking.setEvent(event);
+        booking.setSeatsBooked(seats);
+        return booking;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingListingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    private Event event;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        EventRequest request = new EventRequest();
+        request.setName("Listing");
+        request.setDate(LocalDateTime.now().plusDays(30));
+        request.setLocation("Listing Hall");
+        request.setTotalSeats(100);
+        event = eventService.createEvent(request);
+        for (int i = 0; i < 5; i++) {
+            bookingIds.add(bookingService.createBooking(event, "listing-user-" + i, 1).getBookingId());
+        }
+        Booking canceled = bookingService.createBooking(event, "listing-user-canceled", 1);
+        bookingService.cancelBooking(canceled.getBookingId());
+    }
+
+    @Test
+    void eventBookingsArePagedInBookingOrder() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            BookingPage page = bookingService.getEventBookings(event.getId(), cursor, 2);
+            page.getBookings().forEach(booking -> seen.add(booking.getBookingId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(bookingIds, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void invalidPageRequestsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getEventBookings(event.getId(), null, 0));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getEventBookings(event.getId(), "not-a-cursor", 2));
+    }
+
+    @Test
+    void exportStreamsEveryActiveBookingAsNdjson() throws Exception {
+        String body = export("ndjson");
+
+        String[] lines = body.split("\n");
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("{\"bookingId\":" + bookingIds.get(0) + ",\"eventId\":" + event.getId()));
+        assertTrue(body.endsWith("\n"));
+    }
+
+    @Test
+    void exportStreamsCsvWithHeader() throws Exception {
+        String[] lines = export("csv").split("\n");
+
+        assertEquals(6, lines.length);
+        assertEquals("booking_id,event_id,user_id,seats_booked,seat_labels,status,hold_expires_at", lines[0]);
+        assertEquals(bookingIds.get(0) + "," + event.getId() + ",listing-user-0,1,,ACTIVE,", lines[1]);
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/bookings/event/{eventId}/export", event.getId())
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"event-" + event.getId() + "-bookings." + format + "\""))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+}
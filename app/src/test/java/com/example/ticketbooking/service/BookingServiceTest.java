@@ -0,0 +1,375 @@
+package com.example.ticketbooking.service;
+
+
+import com.example.ticketbooking.config.BatchProperties;
+import com.example.ticketbooking.config.HoldProperties;
+import com.example.ticketbooking.config.LockProperties;
+import com.example.ticketbooking.config.PaginationProperties;
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingPage;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private EventCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private SeatMapService seatMapService;
+
+    @Mock
+    private HoldTimer holdTimer;
+
+    @Mock
+    private BookingLedger ledger;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
+    @Mock
+    private ActiveBookingIndex activeBookings;
+
+    @Mock
+    private ClusterMembership membership;
+
+    @Mock
+    private WriteBehindBookings writeBehind;
+
+    @Spy
+    private HoldProperties holdProperties = new HoldProperties();
+
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager(new LockProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Spy
+    private PaginationProperties paginationProperties;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics metrics = new BookingMetrics(meterRegistry);
+
+    @Spy
+    private TransactionOperations transactions = TransactionOperations.withoutTransaction();
+
+    @InjectMocks
+    private BookingService bookingService;
+
+    private Event testEvent;
+    private Booking testBooking;
+
+    @BeforeEach
+    void setUp() {
+        testEvent = new Event();
+        testEvent.setId(1L);
+        testEvent.setName("Test Event");
+        testEvent.setDate(LocalDateTime.now().plusDays(10));
+        testEvent.setLocation("Test Location");
+        testEvent.setTotalSeats(100);
+
+        testBooking = new Booking();
+        testBooking.setBookingId(1L);
+        testBooking.setEvent(testEvent);
+        testBooking.setUserId("user123");
+        testBooking.setSeatsBooked(2);
+        testBooking.setStatus(BookingStatus.ACTIVE);
+
+        // Every user may have a booking, so the database checks below still decide
+        lenient().when(activeBookings.mightHaveBooking(any(), anyString())).thenReturn(true);
+        lenient().when(membership.isLocal(any())).thenReturn(true);
+    }
+
+    @Test
+    void createBooking_UserMissingFromIndexSkipsDuplicateQuery() {
+        when(activeBookings.mightHaveBooking(testEvent, "user123")).thenReturn(false);
+        when(seatInventory.tryReserve(any(Event.class), eq(2))).thenReturn(true);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenReturn(List.of(testBooking));
+
+        bookingService.createBooking(testEvent, "user123", 2);
+
+        verify(bookingRepository, never()).existsByEventAndUserIdAndStatusIn(any(), anyString(), any());
+        verify(activeBookings).added(testEvent, "user123");
+    }
+
+    @Test
+    void createBooking_Success() {
+        when(seatInventory.tryReserve(any(Event.class), eq(2))).thenReturn(true);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenReturn(List.of(testBooking));
+        when(bookingRepository.existsByEventAndUserIdAndStatusIn(any(), anyString(), any())).thenReturn(false);
+
+        Booking result = bookingService.createBooking(testEvent, "user123", 2);
+
+        assertNotNull(result);
+        assertEquals("user123", result.getUserId());
+        assertEquals(2, result.getSeatsBooked());
+        verify(bookingRepository).saveAllAndFlush(anyList());
+        verify(ledger).bookingCreated(testBooking);
+        verify(changeOutbox).bookingChanged(ChangeType.BOOKING_CREATED, testBooking);
+        verify(cacheInvalidator).seatsChanged(1L);
+        assertEquals(1, createTimerCount(BookingMetrics.SUCCESS));
+        assertEquals(2, meterRegistry.get("booking.seats").tag("change", "booked").counter().count());
+    }
+
+    @Test
+    void createBooking_DuplicateRejectedByConstraint() {
+        when(seatInventory.tryReserve(any(Event.class), eq(2))).thenReturn(true);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_BOOKING_ACTIVE_USER ON PUBLIC.BOOKING\""));
+
+        assertThrows(DuplicateBookingException.class, () ->
+                bookingService.createBooking(testEvent, "user123", 2));
+        verifyNoInteractions(cacheInvalidator, ledger);
+        assertEquals(1, createTimerCount(BookingMetrics.DUPLICATE));
+    }
+
+    @Test
+    void createBooking_OtherIntegrityViolationPropagates() {
+        when(seatInventory.tryReserve(any(Event.class), eq(2))).thenReturn(true);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException(
+                "Referential integrity constraint violation: \"FK_BOOKING_EVENT\""));
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+                bookingService.createBooking(testEvent, "user123", 2));
+    }
+
+    @Test
+    void createBooking_PastEvent() {
+        testEvent.setDate(LocalDateTime.now().minusDays(1));
+
+        assertThrows(IllegalStateException.class, () ->
+                bookingService.createBooking(testEvent, "user123", 2));
+        assertEquals(1, createTimerCount(BookingMetrics.PAST_EVENT));
+    }
+
+    @Test
+    void createBooking_NotEnoughSeats() {
+        when(seatInventory.tryReserve(any(Event.class), eq(2))).thenReturn(false);
+        when(seatInventory.getAvailableSeats(any(Event.class))).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () ->
+                bookingService.createBooking(testEvent, "user123", 2));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+        verifyNoInteractions(cacheInvalidator);
+        assertEquals(1, createTimerCount(BookingMetrics.SOLD_OUT));
+    }
+
+    @Test
+    void createBooking_GuardedUpdateRejects() {
+        when(seatInventory.tryReserve(any(Event.class), eq(2))).thenReturn(true);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () ->
+                bookingService.createBooking(testEvent, "user123", 2));
+        verify(bookingRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void cancelBooking_Success() {
+        when(bookingRepository.findEventIdByBookingId(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(testBooking));
+
+        bookingService.cancelBooking(1L);
+
+        assertEquals(BookingStatus.CANCELED, testBooking.getStatus());
+        verify(bookingRepository).save(testBooking);
+        verify(eventRepository).releaseSeats(1L, 2);
+        verify(seatInventory).release(testEvent, 2);
+        verify(ledger).bookingCanceled(testBooking);
+        verify(changeOutbox).bookingChanged(ChangeType.BOOKING_CANCELED, testBooking);
+        verify(cacheInvalidator).seatsChanged(1L);
+        verify(lockManager).runLocked(eq(1L), any(Runnable.class));
+    }
+
+    @Test
+    void cancelBooking_NotFound() {
+        when(bookingRepository.findEventIdByBookingId(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingService.cancelBooking(1L));
+        verifyNoInteractions(seatInventory);
+        assertEquals(1, meterRegistry.get(BookingMetrics.CANCEL).tag("outcome", BookingMetrics.NOT_FOUND).timer().count());
+    }
+
+    @Test
+    void confirmHold_Success() {
+        testBooking.setStatus(BookingStatus.HOLD);
+        testBooking.setHoldExpiresAt(LocalDateTime.now().plusMinutes(5));
+        when(bookingRepository.findEventIdByBookingId(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.save(testBooking)).thenReturn(testBooking);
+
+        Booking result = bookingService.confirmHold(1L);
+
+        assertEquals(BookingStatus.ACTIVE, result.getStatus());
+        assertNull(result.getHoldExpiresAt());
+        verifyNoInteractions(seatInventory);
+    }
+
+    @Test
+    void confirmHold_Expired() {
+        testBooking.setStatus(BookingStatus.HOLD);
+        testBooking.setHoldExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(bookingRepository.findEventIdByBookingId(1L)).thenReturn(Optional.of(1L));
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmHold(1L));
+        assertEquals(BookingStatus.HOLD, testBooking.getStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBookings_PartialFailure() {
+        List<BookingRequest> requests = List.of(
+                bookingRequest(1L, "user1", 2),
+                bookingRequest(1L, "user2", 0),
+                bookingRequest(1L, "user1", 1),
+                bookingRequest(1L, "user3", 5),
+                bookingRequest(2L, "user4", 1));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(testEvent));
+        when(bookingRepository.findUserIdsWithStatusIn(eq(testEvent), anyCollection(), eq(BookingStatus.SEAT_TAKING)))
+                .thenReturn(List.of());
+        when(seatInventory.tryReserve(testEvent, 2)).thenReturn(true);
+        when(seatInventory.tryReserve(testEvent, 5)).thenReturn(false);
+        when(eventRepository.reserveSeats(1L, 2)).thenReturn(1);
+        when(bookingRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(b -> b.setBookingId(10L));
+            return bookings;
+        });
+
+        List<BatchBookingResult> results = bookingService.createBookings(requests);
+
+        assertEquals(5, results.size());
+        assertEquals(BatchBookingResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(10L, results.get(0).getBookingId());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(1).getStatus());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(3).getStatus());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(4).getStatus());
+        verify(eventRepository).reserveSeats(1L, 2);
+    }
+
+    @Test
+    void createBookings_ConstraintViolationRetriesItemByItem() {
+        List<BookingRequest> requests = List.of(
+                bookingRequest(1L, "user1", 2),
+                bookingRequest(1L, "user2", 2));
+        when(eventRepository.findAllById(any())).thenReturn(List.of(testEvent));
+        when(bookingRepository.findUserIdsWithStatusIn(eq(testEvent), anyCollection(), eq(BookingStatus.SEAT_TAKING)))
+                .thenReturn(List.of());
+        when(seatInventory.tryReserve(eq(testEvent), anyInt())).thenReturn(true);
+        when(eventRepository.reserveSeats(eq(1L), anyInt())).thenReturn(1);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException(
+                "Unique index or primary key violation: \"PUBLIC.UK_BOOKING_ACTIVE_USER ON PUBLIC.BOOKING\"");
+        when(bookingRepository.saveAllAndFlush(anyList()))
+                .thenThrow(violation)
+                .thenAnswer(invocation -> {
+                    List<Booking> bookings = invocation.getArgument(0);
+                    bookings.forEach(b -> b.setBookingId(10L));
+                    return bookings;
+                })
+                .thenThrow(violation);
+
+        List<BatchBookingResult> results = bookingService.createBookings(requests);
+
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getIndex());
+        assertEquals(BatchBookingResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(10L, results.get(0).getBookingId());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(1).getStatus());
+        verify(ledger).bookingCreated(any(Booking.class));
+    }
+
+    @Test
+    void createBookings_TooLarge() {
+        batchProperties.setMaxSize(1);
+
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBookings(List.of(
+                bookingRequest(1L, "user1", 1), bookingRequest(1L, "user2", 1))));
+    }
+
+    @Test
+    void getUserBookings_Success() {
+        when(bookingRepository.findPageByUserId(eq("user123"), eq(0L), any(Limit.class)))
+                .thenReturn(Arrays.asList(testBooking));
+
+        BookingPage results = bookingService.getUserBookings("user123", null, null);
+
+        assertEquals(1, results.getBookings().size());
+        assertEquals("user123", results.getBookings().get(0).getUserId());
+        assertNull(results.getNextCursor());
+    }
+
+    @Test
+    void getTotalBookedSeats_Success() {
+        when(bookingRepository.sumSeatsBookedByEvent(any(Event.class))).thenReturn(2);
+
+        int result = bookingService.getTotalBookedSeats(testEvent);
+
+        assertEquals(2, result);
+    }
+
+    private static BookingRequest bookingRequest(Long eventId, String userId, int seats) {
+        BookingRequest request = new BookingRequest();
+        request.setEventId(eventId);
+        request.setUserId(userId);
+        request.setSeats(seats);
+        return request;
+    }
+
+    private long createTimerCount(String outcome) {
+        return meterRegistry.get(BookingMetrics.CREATE).tag("outcome", outcome).timer().count();
+    }
+}
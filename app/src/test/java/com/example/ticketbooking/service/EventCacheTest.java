@@ -0,0 +1,103 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.CacheConfig;
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Event;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EventCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void bookingAndCancellation_EvictAvailability() {
+        Event event = createEvent("Cached", 10);
+
+        EventDetail first = eventService.getEventDetail(event.getId());
+        assertSame(first, eventService.getEventDetail(event.getId()));
+
+        Long bookingId = bookingService.createBooking(event, "cache-user", 3).getBookingId();
+        assertNull(cacheManager.getCache(CacheConfig.EVENT_DETAILS).get(event.getId()));
+        assertEquals(7, eventService.getEventDetail(event.getId()).getAvailableSeats());
+
+        bookingService.cancelBooking(bookingId);
+        assertEquals(10, eventService.getEventDetail(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void bookingEvictsListingsButKeepsEvent() {
+        Event event = createEvent("Listed", 10);
+        Event cached = eventService.getEventWithAvailability(event.getId());
+        EventPage page = eventService.getAllEvents("availability", null, 5);
+        assertSame(page, eventService.getAllEvents("availability", null, 5));
+
+        bookingService.createBooking(cached, "listing-user", 1);
+
+        assertNotSame(page, eventService.getAllEvents("availability", null, 5));
+        assertSame(cached, eventService.getEventWithAvailability(event.getId()));
+    }
+
+    @Test
+    void bookingKeepsPagesInOtherOrders() {
+        Event event = createEvent("Dated", 10);
+        EventPage byDate = eventService.getAllEvents("date", null, 5);
+        EventPage byLocation = eventService.getAllEvents("location", null, 5);
+
+        bookingService.createBooking(event, "dated-user", 1);
+
+        assertSame(byDate, eventService.getAllEvents("date", null, 5));
+        assertSame(byLocation, eventService.getAllEvents("location", null, 5));
+    }
+
+    @Test
+    void updateEvent_EvictsEvent() {
+        Event event = createEvent("Resized", 10);
+        assertEquals(10, eventService.getEventWithAvailability(event.getId()).getTotalSeats());
+
+        EventRequest request = request("Resized", 25);
+        eventService.updateEvent(event.getId(), request);
+
+        assertEquals(25, eventService.getEventWithAvailability(event.getId()).getTotalSeats());
+        assertEquals(25, eventService.getEventDetail(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void failedBooking_KeepsCachedAvailability() {
+        Event event = createEvent("Full", 1);
+        EventDetail detail = eventService.getEventDetail(event.getId());
+
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(event, "too-many", 2));
+
+        assertSame(detail, eventService.getEventDetail(event.getId()));
+    }
+
+    private Event createEvent(String name, int seats) {
+        return eventService.createEvent(request(name, seats));
+    }
+
+    private static EventRequest request(String name, int seats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(4));
+        request.setLocation("Cache Hall");
+        request.setTotalSeats(seats);
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EventPaginationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Test
+    void cursorPages_CoverEveryEventOnceInSortOrder() {
+        LocalDateTime base = LocalDateTime.now().plusDays(5);
+        for (int i = 0; i < 11; i++) {
+            EventRequest request = new EventRequest();
+            request.setName("Paged " + i);
+            // Repeated dates and locations make the id tie-breaker part of the cursor
+            request.setDate(base.plusHours(i % 4));
+            request.setLocation("Hall|" + (i % 3));
+            request.setTotalSeats(20);
+            Event event = eventService.createEvent(request);
+            if (i % 2 == 0) {
+                bookingService.createBooking(event, "pager-" + i, 1 + i % 5);
+            }
+        }
+
+        List<Event> all = eventRepository.findAll();
+        assertPagedInOrder("date", Comparator.comparing(Event::getDate).thenComparing(Event::getId), all);
+        assertPagedInOrder("location", Comparator.comparing(Event::getLocation).thenComparing(Event::getId), all);
+        assertPagedInOrder("availability",
+                Comparator.comparing(Event::getAvailableSeats).reversed().thenComparing(Event::getId), all);
+    }
+
+    @Test
+    void availableSeatsColumn_TracksBookingsAndCancellations() {
+        EventRequest request = new EventRequest();
+        request.setName("Tracked");
+        request.setDate(LocalDateTime.now().plusDays(3));
+        request.setLocation("Arena");
+        request.setTotalSeats(10);
+        Event event = eventService.createEvent(request);
+
+        Long bookingId = bookingService.createBooking(event, "tracker", 4).getBookingId();
+        assertEquals(6, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+
+        bookingService.cancelBooking(bookingId);
+        assertEquals(10, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+
+        request.setTotalSeats(15);
+        eventService.updateEvent(event.getId(), request);
+        assertEquals(15, eventRepository.findById(event.getId()).orElseThrow().getAvailableSeats());
+    }
+
+    private void assertPagedInOrder(String sortBy, Comparator<Event> order, List<Event> all) {
+        List<Long> expected = all.stream().sorted(order).map(Event::getId).toList();
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            EventPage page = eventService.getAllEvents(sortBy, cursor, 3);
+            assertTrue(page.getEvents().size() <= 3);
+            page.getEvents().forEach(event -> paged.add(event.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expected, paged, "Pages out of order for sort " + sortBy);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.ticketbooking.service;
+
+
+import com.example.ticketbooking.config.LockProperties;
+import com.example.ticketbooking.config.PaginationProperties;
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.dto.EventSummary;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventServiceTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private EventCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private SeatMapService seatMapService;
+
+    @Mock
+    private BookingLedger ledger;
+
+    @Mock
+    private ChangeOutbox changeOutbox;
+
+    @Spy
+    private StripedLockManager lockManager = new StripedLockManager(new LockProperties(), new SimpleMeterRegistry());
+
+    @Mock
+    private WriteBehindBookings writeBehind;
+
+    @Spy
+    private PaginationProperties paginationProperties;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics metrics = new BookingMetrics(meterRegistry);
+
+    @InjectMocks
+    private EventService eventService;
+
+    private Event testEvent;
+    private EventRequest eventRequest;
+
+    @BeforeEach
+    void setUp() {
+        testEvent = new Event();
+        testEvent.setId(1L);
+        testEvent.setName("Test Event");
+        testEvent.setDate(LocalDateTime.now().plusDays(10));
+        testEvent.setLocation("Test Location");
+        testEvent.setTotalSeats(100);
+
+        eventRequest = new EventRequest();
+        eventRequest.setName("Test Event");
+        eventRequest.setDate(LocalDateTime.now().plusDays(10));
+        eventRequest.setLocation("Test Location");
+        eventRequest.setTotalSeats(100);
+    }
+
+    @Test
+    void createEvent_Success() {
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+
+        Event result = eventService.createEvent(eventRequest);
+
+        assertNotNull(result);
+        assertEquals("Test Event", result.getName());
+        verify(eventRepository).save(any(Event.class));
+        verify(seatInventory).register(testEvent);
+        verify(ledger).seatsAdjusted(1L, 100);
+        verify(cacheInvalidator).listingsChanged();
+    }
+
+    @Test
+    void createEvent_PastDate() {
+        eventRequest.setDate(LocalDateTime.now().minusDays(1));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                eventService.createEvent(eventRequest));
+    }
+
+    @Test
+    void getAllEvents_Success() {
+        when(eventRepository.findPageByDate(any(Limit.class))).thenReturn(Arrays.asList(EventSummary.from(testEvent)));
+
+        EventPage page = eventService.getAllEvents("date", null, null);
+
+        List<EventSummary> results = page.getEvents();
+        assertFalse(results.isEmpty());
+        assertEquals(1, results.size());
+        assertEquals("Test Event", results.get(0).getName());
+        assertNull(page.getNextCursor());
+        verify(eventRepository).findPageByDate(Limit.of(paginationProperties.getDefaultSize() + 1));
+        assertEquals(1, meterRegistry.get(BookingMetrics.EVENT_PAGE_QUERY).tag("outcome", BookingMetrics.SUCCESS).timer().count());
+    }
+
+    @Test
+    void getAllEvents_NextCursorResumesAfterLastEvent() {
+        EventSummary firstSummary = EventSummary.from(testEvent);
+        EventSummary second = new EventSummary(2L, "Second", testEvent.getDate(), "Test Location", 10, 10);
+        EventSummary third = new EventSummary(3L, "Third", testEvent.getDate(), "Zurich", 10, 10);
+        when(eventRepository.findPageByLocation(Limit.of(3))).thenReturn(Arrays.asList(firstSummary, second, third));
+
+        EventPage first = eventService.getAllEvents("location", null, 2);
+
+        assertEquals(2, first.getEvents().size());
+        assertNotNull(first.getNextCursor());
+
+        when(eventRepository.findPageByLocationAfter("Test Location", 2L, Limit.of(3))).thenReturn(List.of(third));
+        EventPage next = eventService.getAllEvents("location", first.getNextCursor(), 2);
+
+        assertEquals(List.of(third), next.getEvents());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getAllEvents_CursorFromOtherSort() {
+        testEvent.setAvailableSeats(40);
+        when(eventRepository.findPageByAvailability(Limit.of(2)))
+                .thenReturn(Arrays.asList(EventSummary.from(testEvent), new EventSummary()));
+        String cursor = eventService.getAllEvents("availability", null, 1).getNextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> eventService.getAllEvents("date", cursor, 1));
+        assertThrows(IllegalArgumentException.class, () -> eventService.getAllEvents("date", "not-a-cursor", 1));
+    }
+
+    @Test
+    void getAllEvents_PageSizeOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> eventService.getAllEvents("date", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.getAllEvents("date", null, paginationProperties.getMaxSize() + 1));
+        verifyNoInteractions(eventRepository);
+    }
+
+    @Test
+    void getEventDetail_NotFound() {
+        when(eventRepository.findDetailById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> eventService.getEventDetail(1L));
+    }
+
+    @Test
+    void deleteEvent_Success() {
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(testEvent));
+        when(bookingRepository.sumSeatsBookedByEvent(any(Event.class))).thenReturn(0);
+
+        eventService.deleteEvent(1L);
+
+        verify(eventRepository).delete(testEvent);
+        verify(ledger).seatsAdjusted(1L, -100);
+        verify(cacheInvalidator).eventChanged(1L);
+    }
+
+    @Test
+    void deleteEvent_WithActiveBookings() {
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(testEvent));
+        when(bookingRepository.sumSeatsBookedByEvent(any(Event.class))).thenReturn(5);
+
+        assertThrows(IllegalStateException.class, () ->
+                eventService.deleteEvent(1L));
+    }
+
+    @Test
+    void getAvailableSeats_ReadsInventory() {
+        when(seatInventory.getAvailableSeats(testEvent)).thenReturn(42);
+
+        assertEquals(42, eventService.getAvailableSeats(testEvent));
+        verifyNoInteractions(bookingRepository);
+        assertEquals(1, meterRegistry.get(BookingMetrics.AVAILABILITY).tag("outcome", BookingMetrics.SUCCESS).timer().count());
+    }
+
+    @Test
+    void updateEvent_BelowBookedSeats() {
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(testEvent));
+        when(seatInventory.resize(testEvent, 10)).thenReturn(false);
+        when(seatInventory.getAvailableSeats(testEvent)).thenReturn(80);
+        eventRequest.setTotalSeats(10);
+
+        assertThrows(IllegalStateException.class, () ->
+                eventService.updateEvent(1L, eventRequest));
+    }
+
+    @Test
+    void updateEvent_Success() {
+        when(eventRepository.findById(anyLong())).thenReturn(Optional.of(testEvent));
+        when(seatInventory.resize(any(Event.class), anyInt())).thenReturn(true);
+        when(eventRepository.resizeSeats(1L, 100)).thenReturn(1);
+        when(eventRepository.save(any(Event.class))).thenReturn(testEvent);
+
+        Event result = eventService.updateEvent(1L, eventRequest);
+
+        assertNotNull(result);
+        assertEquals("Test Event", result.getName());
+        assertEquals(100, result.getAvailableSeats());
+        verify(eventRepository).save(any(Event.class));
+        verify(cacheInvalidator).eventChanged(1L);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.TicketBookingApplication;
+import com.example.ticketbooking.filter.EventOwnershipFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two instances on random ports sharing one database, as a cluster.
+ */
+class EventShardingTest {
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+    private String firstUrl;
+    private String secondUrl;
+
+    @BeforeEach
+    void startCluster() throws Exception {
+        first = start(List.of());
+        firstUrl = urlOf(first);
+        second = start(List.of(firstUrl));
+        secondUrl = urlOf(second);
+        await(() -> members(first) == 2 && members(second) == 2);
+    }
+
+    @AfterEach
+    void stopCluster() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void bookingsForAnEventAreServedByItsOwner() throws Exception {
+        long eventId = createEventOwnedBy(secondUrl, 10);
+
+        HttpResponse<String> booked = post(firstUrl + "/api/bookings", booking(eventId, "routed", 1));
+        assertEquals(200, booked.statusCode(), booked.body());
+        assertEquals(secondUrl, booked.headers().firstValue(EventOwnershipFilter.SERVED_BY_HEADER).orElse(null));
+
+        // Twenty users race for ten seats through both instances; the owner admits exactly ten more
+        // after the first, and turns away the user who already has one
+        List<CompletableFuture<HttpResponse<String>>> attempts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String url = (i % 2 == 0 ? firstUrl : secondUrl) + "/api/bookings";
+            attempts.add(postAsync(url, booking(eventId, "user-" + i, 1)));
+        }
+        attempts.add(postAsync(firstUrl + "/api/bookings", booking(eventId, "routed", 1)));
+        long created = attempts.stream().map(CompletableFuture::join).filter(response -> response.statusCode() == 200).count();
+
+        assertEquals(9, created);
+        assertEquals(0, availableSeats(firstUrl, eventId));
+        assertEquals(0, availableSeats(secondUrl, eventId));
+    }
+
+    @Test
+    void batchIsSplitByOwner() throws Exception {
+        long local = createEventOwnedBy(firstUrl, 5);
+        long remote = createEventOwnedBy(secondUrl, 5);
+        String batch = "[" + booking(remote, "batch-a", 2) + "," + booking(local, "batch-b", 2) + ","
+                + booking(remote, "batch-c", 4) + "]";
+
+        HttpResponse<String> response = post(firstUrl + "/api/bookings/batch", batch);
+
+        assertEquals(200, response.statusCode(), response.body());
+        JsonNode results = objectMapper.readTree(response.body());
+        assertEquals(List.of("CREATED", "CREATED", "REJECTED"),
+                List.of(results.get(0).get("status").asText(), results.get(1).get("status").asText(),
+                        results.get(2).get("status").asText()));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+        }
+        assertEquals(3, availableSeats(secondUrl, remote));
+    }
+
+    @Test
+    void eventsOfALeavingMemberMoveToTheOthers() throws Exception {
+        long eventId = createEventOwnedBy(secondUrl, 5);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post(firstUrl + "/api/bookings", booking(eventId, "before-" + i, 1)).statusCode());
+        }
+
+        second.close();
+        second = null;
+        await(() -> members(first) == 1);
+
+        // The new owner counts the seats booked on the old one
+        int created = 0;
+        for (int i = 0; i < 3; i++) {
+            HttpResponse<String> response = post(firstUrl + "/api/bookings", booking(eventId, "after-" + i, 1));
+            assertTrue(response.headers().firstValue(EventOwnershipFilter.SERVED_BY_HEADER).isEmpty());
+            created += response.statusCode() == 200 ? 1 : 0;
+        }
+        assertEquals(2, created);
+        assertEquals(409, post(firstUrl + "/api/bookings", booking(eventId, "before-0", 1)).statusCode());
+    }
+
+    @Test
+    void newOwnerCountsSeatsAgainOnceTheHandoverSettles() throws Exception {
+        long eventId = createEventOwnedBy(secondUrl, 5);
+        second.close();
+        second = null;
+        await(() -> members(first) == 1);
+        assertEquals(5, availableSeats(firstUrl, eventId));
+
+        // A booking the old owner was still committing as it went
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO booking (booking_id, event_id, user_id, seats_booked, status) VALUES (?, ?, ?, ?, ?)",
+                first.getBean(JournaledBookingWriter.class).nextBookingId(), eventId, "late", 2, "ACTIVE");
+        jdbcTemplate.update("UPDATE event SET booked_seats = booked_seats + 2, available_seats = available_seats - 2 "
+                + "WHERE id = ?", eventId);
+
+        await(() -> {
+            try {
+                return availableSeats(firstUrl, eventId) == 3;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    void changeStreamIsServedByTheRelay() throws Exception {
+        String relay = first.getBean(ClusterMembership.class).getRelay();
+        assertEquals(relay, second.getBean(ClusterMembership.class).getRelay());
+        ConfigurableApplicationContext other = relay.equals(firstUrl) ? second : first;
+        String otherUrl = urlOf(other);
+
+        HttpResponse<Stream<String>> stream = client.send(HttpRequest.newBuilder(URI.create(otherUrl + "/api/changes"))
+                .timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+        assertEquals(relay, stream.headers().firstValue(EventOwnershipFilter.SERVED_BY_HEADER).orElse(null));
+        CompletableFuture<String> created = CompletableFuture.supplyAsync(() ->
+                stream.body().filter(line -> line.startsWith("event:")).findFirst().orElse(null));
+
+        createEventOwnedBy(otherUrl, 5);
+        // Only the relay drains the outbox
+        assertEquals(0, other.getBean(OutboxRelay.class).relayPending());
+        assertEquals("event:EVENT_CREATED", created.get(10, TimeUnit.SECONDS));
+        stream.body().close();
+    }
+
+    private ConfigurableApplicationContext start(List<String> seeds) {
+        // Arguments rather than properties(), which would only set defaults below application.properties
+        return new SpringApplicationBuilder(TicketBookingApplication.class).run(
+                "--server.port=0",
+                // Both instances share this database, as a cluster shares one
+                "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                "--booking.admission.enabled=false",
+                "--booking.cluster.enabled=true",
+                "--booking.cluster.seeds=" + String.join(",", seeds),
+                "--booking.cluster.heartbeat-interval=100ms",
+                "--booking.cluster.failure-timeout=1s",
+                "--booking.cluster.handover-settle-time=500ms",
+                "--logging.level.com.example.ticketbooking=WARN");
+    }
+
+    private long createEventOwnedBy(String owner, int seats) throws Exception {
+        ClusterMembership membership = first.getBean(ClusterMembership.class);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String body = "{\"name\":\"Sharded\",\"date\":\"" + LocalDateTime.now().plusDays(30).withNano(0)
+                    + "\",\"location\":\"Hall\",\"totalSeats\":" + seats + "}";
+            long eventId = objectMapper.readTree(post(firstUrl + "/api/events", body).body()).get("id").asLong();
+            if (owner.equals(membership.ownerOf(eventId))) {
+                return eventId;
+            }
+        }
+        throw new AssertionError("No event hashed to " + owner);
+    }
+
+    private int availableSeats(String url, long eventId) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                URI.create(url + "/api/events/" + eventId + "/availability")).build(), HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("availableSeats").asInt();
+    }
+
+    private static String booking(long eventId, String userId, int seats) {
+        return "{\"eventId\":" + eventId + ",\"userId\":\"" + userId + "\",\"seats\":" + seats + "}";
+    }
+
+    private HttpResponse<String> post(String url, String body) throws Exception {
+        return client.send(request(url, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CompletableFuture<HttpResponse<String>> postAsync(String url, String body) {
+        return client.sendAsync(request(url, body), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest request(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String urlOf(ConfigurableApplicationContext context) {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static int members(ConfigurableApplicationContext context) {
+        return context.getBean(ClusterMembership.class).getMembers().size();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Cluster did not settle");
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"booking.holds.ttl=300ms", "booking.holds.tick=50ms"})
+class HoldExpiryTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void heldSeatsCountAgainstAvailabilityUntilTheHoldExpires() throws InterruptedException {
+        Event event = createEvent("Expiring", 10);
+
+        Booking hold = bookingService.placeHold(event, "hold-user-1", 4, null);
+        assertEquals(BookingStatus.HOLD, hold.getStatus());
+        assertNotNull(hold.getHoldExpiresAt());
+        assertEquals(6, eventService.getAvailableSeats(event));
+        assertThrows(DuplicateBookingException.class, () -> bookingService.createBooking(event, "hold-user-1", 1));
+
+        awaitStatus(hold.getBookingId(), BookingStatus.EXPIRED);
+        assertEquals(10, eventService.getAvailableSeats(event));
+        assertEquals(10, eventService.getEventDetail(event.getId()).getAvailableSeats());
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmHold(hold.getBookingId()));
+    }
+
+    @Test
+    void confirmedHoldKeepsItsSeats() throws InterruptedException {
+        Event event = createEvent("Confirmed", 10);
+        seatMapService.createSeatMap(event.getId(), "Floor:1x10");
+
+        Booking hold = bookingService.placeHold(event, "hold-user-2", 2, null);
+        Booking confirmed = bookingService.confirmHold(hold.getBookingId());
+        assertEquals(BookingStatus.ACTIVE, confirmed.getStatus());
+        assertNull(confirmed.getHoldExpiresAt());
+
+        Thread.sleep(600);
+        assertEquals(BookingStatus.ACTIVE, bookingRepository.findById(hold.getBookingId()).orElseThrow().getStatus());
+        assertEquals(8, eventService.getAvailableSeats(event));
+        assertEquals(8, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void expiredHoldReleasesItsSeatsOnTheMap() throws InterruptedException {
+        Event event = createEvent("Seated hold", 10);
+        seatMapService.createSeatMap(event.getId(), "Floor:1x10");
+
+        Booking hold = bookingService.placeHold(event, "hold-user-3", 2, List.of("Floor-1-1", "Floor-1-2"));
+        assertEquals(8, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+
+        awaitStatus(hold.getBookingId(), BookingStatus.EXPIRED);
+        assertEquals(10, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+        assertEquals(List.of("Floor-1-1", "Floor-1-2"),
+                bookingService.createBooking(event, "hold-user-4", 2, List.of("Floor-1-1", "Floor-1-2")).getSeatLabels());
+    }
+
+    private void awaitStatus(Long bookingId, BookingStatus status) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (bookingRepository.findById(bookingId).orElseThrow().getStatus() == status) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Booking " + bookingId + " did not reach " + status);
+    }
+
+    private Event createEvent(String name, int totalSeats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(7));
+        request.setLocation("Hall");
+        request.setTotalSeats(totalSeats);
+        return eventService.createEvent(request);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimerWheelTest {
+    private static final long TICK = 100;
+
+    @Test
+    void firesNoEarlierThanDeadlineAndAtMostOneTickLate() {
+        HoldTimerWheel wheel = new HoldTimerWheel(TICK, 8, 3, 0);
+        wheel.schedule(1, 250);
+
+        assertEquals(List.of(), advance(wheel, 249));
+        assertEquals(List.of(), advance(wheel, 299));
+        assertEquals(List.of(1L), advance(wheel, 300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesDeadlinesFromHigherLevels() {
+        // Level 0 covers 8 ticks, level 1 covers 64, level 2 covers 512
+        HoldTimerWheel wheel = new HoldTimerWheel(TICK, 8, 3, 0);
+        wheel.schedule(1, 5_000);
+        wheel.schedule(2, 40_000);
+        wheel.schedule(3, 750);
+
+        assertEquals(List.of(3L), advance(wheel, 800));
+        assertEquals(List.of(), advance(wheel, 4_999));
+        assertEquals(List.of(1L), advance(wheel, 5_100));
+        assertEquals(List.of(), advance(wheel, 39_999));
+        assertEquals(List.of(2L), advance(wheel, 40_100));
+    }
+
+    @Test
+    void pastDeadlinesFireOnNextAdvance() {
+        HoldTimerWheel wheel = new HoldTimerWheel(TICK, 8, 2, 10_000);
+        wheel.schedule(1, 5_000);
+
+        assertEquals(List.of(1L), advance(wheel, 10_000));
+    }
+
+    @Test
+    void deadlinesBeyondTheTopLevelAreReplaced() {
+        // Two levels of 4 buckets cover only 16 ticks
+        HoldTimerWheel wheel = new HoldTimerWheel(TICK, 4, 2, 0);
+        wheel.schedule(1, 10_000);
+
+        assertEquals(List.of(), advance(wheel, 9_999));
+        assertEquals(List.of(1L), advance(wheel, 10_100));
+    }
+
+    @Test
+    void handlesManyOutstandingHolds() {
+        HoldTimerWheel wheel = new HoldTimerWheel(TICK, 64, 4, 0);
+        int holds = 1_000_000;
+        for (int i = 0; i < holds; i++) {
+            wheel.schedule(i, 600_000 + (i % 1_000) * 10L);
+        }
+        assertEquals(holds, wheel.size());
+
+        assertEquals(0, advance(wheel, 599_999).size());
+        assertEquals(holds, advance(wheel, 610_100).size());
+        assertEquals(0, wheel.size());
+    }
+
+    private static List<Long> advance(HoldTimerWheel wheel, long now) {
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(now, expired::add);
+        return expired;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryAdmissionQueueStoreTest {
+    private static final int RATE = 10;
+    private static final int BURST = 2;
+
+    private final InMemoryAdmissionQueueStore store = new InMemoryAdmissionQueueStore();
+
+    @Test
+    void admitsInArrivalOrderAtTheConfiguredRate() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, store.join(1L, "user" + i, 100, 0).getSequence());
+        }
+
+        // A fresh queue admits a burst, then one ticket per 100 ms
+        assertEquals(2, store.admit(1L, RATE, BURST, 0));
+        assertEquals(2, store.admit(1L, RATE, BURST, 99));
+        assertEquals(3, store.admit(1L, RATE, BURST, 100));
+        assertEquals(8, store.admit(1L, RATE, BURST, 600));
+        // Never more than were issued, and idle time only banks up to the burst
+        assertEquals(10, store.admit(1L, RATE, BURST, 10_000));
+        store.join(1L, "late1", 100, 10_000);
+        store.join(1L, "late2", 100, 10_000);
+        store.join(1L, "late3", 100, 10_000);
+        assertEquals(12, store.admit(1L, RATE, BURST, 10_000));
+    }
+
+    @Test
+    void queuesAreIndependentPerEvent() {
+        store.join(1L, "user", 100, 0);
+        store.join(1L, "other", 100, 0);
+        store.join(1L, "third", 100, 0);
+        store.join(2L, "user", 100, 0);
+
+        assertEquals(2, store.admit(1L, RATE, BURST, 0));
+        assertEquals(1, store.admit(2L, RATE, BURST, 0));
+        assertEquals(0, store.admit(3L, RATE, BURST, 0));
+    }
+
+    @Test
+    void rejoiningReturnsTheSameTicket() {
+        QueueTicket first = store.join(1L, "user", 100, 0);
+        store.join(1L, "other", 100, 0);
+
+        QueueTicket again = store.join(1L, "user", 100, 50);
+        assertEquals(first.getToken(), again.getToken());
+        assertEquals(0, again.getSequence());
+
+        store.remove(first.getToken());
+        assertEquals(2, store.join(1L, "user", 100, 60).getSequence());
+    }
+
+    @Test
+    void boundsTheNumberOfWaitingTickets() {
+        store.join(1L, "user1", 2, 0);
+        store.join(1L, "user2", 2, 0);
+        assertNull(store.join(1L, "user3", 2, 0));
+
+        store.admit(1L, RATE, 1, 0);
+        assertNotNull(store.join(1L, "user3", 2, 0));
+    }
+
+    @Test
+    void purgesTicketsThatAreNoLongerPolled() {
+        QueueTicket idle = store.join(1L, "idle", 100, 0);
+        QueueTicket polled = store.join(1L, "polled", 100, 0);
+        store.find(polled.getToken(), 1_000);
+
+        assertEquals(1, store.purge(500));
+        assertTrue(store.find(idle.getToken(), 1_000).isEmpty());
+        assertTrue(store.find(polled.getToken(), 1_000).isPresent());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.example.ticketbooking.service.LedgerLog.RecordType.BOOKING_CANCELED;
+import static com.example.ticketbooking.service.LedgerLog.RecordType.BOOKING_CREATED;
+import static com.example.ticketbooking.service.LedgerLog.RecordType.SEATS_ADJUSTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerLogTest {
+    private static final int SEGMENT_SIZE = 1024 * LedgerLog.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenReplaysRecords() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+        ledgerLog.append(BOOKING_CREATED, 1L, 10L, 4, 0);
+        ledgerLog.append(BOOKING_CREATED, 1L, 11L, 2, 0);
+        ledgerLog.append(BOOKING_CANCELED, 1L, 10L, 4, 0);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 20, 0);
+        ledgerLog.close();
+
+        LedgerLog reopened = LedgerLog.open(directory, SEGMENT_SIZE, false);
+
+        assertEquals(5, reopened.lastSequence());
+        assertEquals(Map.of(1L, new LedgerLog.Totals(120, 2)), reopened.totals());
+    }
+
+    @Test
+    void recoveryStartsFromSnapshot() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+        ledgerLog.append(BOOKING_CREATED, 1L, 10L, 4, 0);
+        ledgerLog.writeSnapshot(ledgerLog.lastSequence(), ledgerLog.totals());
+        ledgerLog.snapshotTaken(ledgerLog.lastSequence());
+        ledgerLog.append(BOOKING_CREATED, 1L, 11L, 6, 0);
+        ledgerLog.close();
+
+        LedgerLog reopened = LedgerLog.open(directory, SEGMENT_SIZE, false);
+
+        assertEquals(3, reopened.lastSequence());
+        assertEquals(1, reopened.recordsSinceSnapshot());
+        assertEquals(90, reopened.totals().get(1L).remaining());
+    }
+
+    @Test
+    void tornRecordEndsTheLog() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+        ledgerLog.append(BOOKING_CREATED, 1L, 10L, 4, 0);
+        ledgerLog.append(BOOKING_CREATED, 1L, 11L, 6, 0);
+        try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 2L * LedgerLog.RECORD_SIZE + 30);
+        }
+        ledgerLog.close();
+
+        LedgerLog reopened = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        assertEquals(2, reopened.lastSequence());
+        assertEquals(96, reopened.totals().get(1L).remaining());
+
+        assertEquals(3, reopened.append(BOOKING_CREATED, 1L, 12L, 1, 0));
+        reopened.close();
+        assertEquals(95, LedgerLog.open(directory, SEGMENT_SIZE, false).totals().get(1L).remaining());
+    }
+
+    @Test
+    void rollsOverToNewSegments() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, 2 * LedgerLog.RECORD_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+        for (int i = 0; i < 4; i++) {
+            ledgerLog.append(BOOKING_CREATED, 1L, i, 1, 0);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.filter(path -> path.getFileName().toString().startsWith("segment-")).count());
+        }
+        ledgerLog.close();
+        LedgerLog reopened = LedgerLog.open(directory, 2 * LedgerLog.RECORD_SIZE, false);
+        assertEquals(5, reopened.lastSequence());
+        assertEquals(96, reopened.totals().get(1L).remaining());
+    }
+
+    @Test
+    void removingAllCapacityDropsTheEvent() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+        ledgerLog.append(SEATS_ADJUSTED, 2L, 0, 50, 0);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, -100, 0);
+
+        assertEquals(Map.of(2L, new LedgerLog.Totals(50, 0)), ledgerLog.totals());
+    }
+
+    @Test
+    void rebaseReplacesTotals() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+
+        ledgerLog.rebase(Map.of(1L, new LedgerLog.Totals(100, 7)));
+        ledgerLog.close();
+
+        LedgerLog reopened = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        assertEquals(Map.of(1L, new LedgerLog.Totals(100, 7)), reopened.totals());
+        assertEquals(0, reopened.recordsSinceSnapshot());
+    }
+
+    @Test
+    void directoryOpensOnceAtATime() throws Exception {
+        LedgerLog ledgerLog = LedgerLog.open(directory, SEGMENT_SIZE, false);
+        ledgerLog.append(SEATS_ADJUSTED, 1L, 0, 100, 0);
+
+        assertThrows(IOException.class, () -> LedgerLog.open(directory, SEGMENT_SIZE, false));
+
+        ledgerLog.close();
+        assertEquals(1, LedgerLog.open(directory, SEGMENT_SIZE, false).lastSequence());
+    }
+
+    private Path onlySegment() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).findFirst().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.ChangeMessage;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.OutboxCheckpointRepository;
+import com.example.ticketbooking.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Own database and a relay that only runs when called, so no other context publishes these messages
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:outbox-test", "booking.outbox.poll-interval=1h"})
+@AutoConfigureMockMvc
+class OutboxRelayTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxMessageRepository messageRepository;
+
+    @Autowired
+    private OutboxCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private RecordingChangeSink sink;
+
+    @BeforeEach
+    void drain() {
+        relay.relayPending();
+        sink.messages.clear();
+        sink.failNext = false;
+    }
+
+    @Test
+    void committedChangesArePublishedInOrderAndCheckpointed() {
+        Event event = createEvent("Outbox", 10);
+        Booking booking = bookingService.createBooking(event, "outbox-user-1", 2);
+        assertThrows(IllegalStateException.class, () -> bookingService.createBooking(event, "outbox-user-2", 50));
+        bookingService.cancelBooking(booking.getBookingId());
+
+        assertEquals(3, relay.relayPending());
+
+        assertEquals(List.of(ChangeType.EVENT_CREATED, ChangeType.BOOKING_CREATED, ChangeType.BOOKING_CANCELED),
+                sink.messages.stream().map(ChangeMessage::getType).toList());
+        ChangeMessage created = sink.messages.get(1);
+        assertEquals(booking.getBookingId(), created.getAggregateId());
+        assertEquals(event.getId(), created.getEventId());
+        assertTrue(created.getPayload().contains("\"userId\":\"outbox-user-1\""));
+        long first = sink.messages.get(0).getPosition();
+        assertEquals(List.of(first, first + 1, first + 2),
+                sink.messages.stream().map(ChangeMessage::getPosition).toList());
+
+        assertEquals(0, messageRepository.count());
+        assertEquals(first + 2, checkpointRepository.findById(ChangeOutbox.RELAY).orElseThrow().getPosition());
+    }
+
+    @Test
+    void failedPublishIsRetried() {
+        createEvent("Retried", 10);
+        sink.failNext = true;
+
+        assertEquals(0, relay.relayPending());
+        assertEquals(1, messageRepository.count());
+
+        assertEquals(1, relay.relayPending());
+        assertEquals(ChangeType.EVENT_CREATED, sink.messages.get(0).getType());
+        assertEquals(0, messageRepository.count());
+    }
+
+    @Test
+    void changeStreamIsSentFromItsOwnThreads() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/changes"))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        createEvent("Streamed", 10);
+        createEvent("Streamed too", 10);
+
+        assertEquals(2, relay.relayPending());
+
+        long first = sink.messages.get(0).getPosition();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!response.getContentAsString().contains("id:" + (first + 1)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String stream = response.getContentAsString();
+        assertTrue(stream.contains("id:" + first + "\n"), stream);
+        assertTrue(stream.indexOf("id:" + first + "\n") < stream.indexOf("id:" + (first + 1) + "\n"), stream);
+        assertTrue(stream.contains("event:EVENT_CREATED"), stream);
+    }
+
+    private Event createEvent(String name, int seats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(30));
+        request.setLocation("Outbox Hall");
+        request.setTotalSeats(seats);
+        return eventService.createEvent(request);
+    }
+
+    static class RecordingChangeSink implements ChangeSink {
+        final List<ChangeMessage> messages = new ArrayList<>();
+        boolean failNext;
+
+        @Override
+        public void publish(List<ChangeMessage> batch) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("Sink unavailable");
+            }
+            messages.addAll(batch);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        RecordingChangeSink recordingChangeSink() {
+            return new RecordingChangeSink();
+        }
+    }
+}
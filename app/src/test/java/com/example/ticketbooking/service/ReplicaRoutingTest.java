@@ -0,0 +1,171 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.ReplicaRouting;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.filter.ReadYourWritesFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two in-memory H2 databases, primary and replica, with replication simulated. The scheduled
+ * heartbeat and copy are pushed out of the way, so each test decides when the replica catches up.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "booking.replicas.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "booking.replicas.urls=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "booking.replicas.simulated-replication-interval=1h",
+        "booking.replicas.heartbeat-interval=1h",
+        "booking.replicas.max-lag=1h",
+        "booking.admission.enabled=false"})
+class ReplicaRoutingTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private SimulatedReplication replication;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    @AfterEach
+    void forgetWrites() {
+        ReplicaRouting.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        // A replica without a heartbeat from this instance gets no reads at all
+        catchUp();
+        Event event = createEvent("Replicated", 10);
+        bookingService.createBooking(event, "replica-user", 2);
+        // From here on a caller who did not make those writes
+        ReplicaRouting.clear();
+
+        assertEquals(0, bookingService.getUserBookings("replica-user", null, null).getBookings().size());
+
+        catchUp();
+        double replicaReads = reads("replica");
+        assertEquals(1, bookingService.getUserBookings("replica-user", null, null).getBookings().size());
+        assertEquals(replicaReads + 1, reads("replica"));
+    }
+
+    @Test
+    void cachedReadsAreLoadedFromThePrimary() {
+        catchUp();
+        Event event = createEvent("Cached", 10);
+        ReplicaRouting.clear();
+
+        // The replica has not seen the event, and a miss would be kept for the cache's lifetime
+        double primaryReads = reads("primary");
+        assertEquals("Cached", eventService.getEventDetail(event.getId()).getName());
+        assertEquals(primaryReads + 1, reads("primary"));
+    }
+
+    @Test
+    void ownWritesAreReadFromThePrimaryUntilTheReplicaHasThem() {
+        Event event = createEvent("Mine", 10);
+        bookingService.createBooking(event, "ryw-user", 2);
+
+        double primaryReads = reads("primary");
+        assertEquals(1, bookingService.getUserBookings("ryw-user", null, null).getBookings().size());
+        assertEquals(primaryReads + 1, reads("primary"));
+
+        // The data is there, but not yet a heartbeat written after it
+        replication.replicate();
+        lagMonitor.check();
+        assertEquals(1, bookingService.getUserBookings("ryw-user", null, null).getBookings().size());
+        assertEquals(primaryReads + 2, reads("primary"));
+
+        catchUp();
+        double replicaReads = reads("replica");
+        assertEquals(1, bookingService.getUserBookings("ryw-user", null, null).getBookings().size());
+        assertEquals(replicaReads + 1, reads("replica"));
+    }
+
+    @Test
+    void lastWriteHeaderCarriesReadYourWritesAcrossRequests() throws Exception {
+        Event event = createEvent("Over HTTP", 10);
+        catchUp();
+
+        HttpResponse<String> booked = send(HttpRequest.newBuilder(uri("/api/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"eventId\":" + event.getId() + ",\"userId\":\"http-user\",\"seats\":1}")));
+        assertEquals(200, booked.statusCode(), booked.body());
+        String lastWrite = booked.headers().firstValue(ReadYourWritesFilter.HEADER).orElseThrow();
+
+        assertEquals(0, userBookings(null));
+        assertEquals(1, userBookings(lastWrite));
+
+        catchUp();
+        assertEquals(1, userBookings(null));
+    }
+
+    // Heartbeat, copy, then read back the heartbeat that came across with the copy
+    private void catchUp() {
+        lagMonitor.check();
+        replication.replicate();
+        lagMonitor.check();
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("booking.replicas.reads").tag("target", target).counter().count();
+    }
+
+    private int userBookings(String lastWrite) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/bookings/user/http-user")).GET();
+        if (lastWrite != null) {
+            request.header(ReadYourWritesFilter.HEADER, lastWrite);
+        }
+        HttpResponse<String> response = send(request);
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("bookings").size();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private Event createEvent(String name, int totalSeats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(7));
+        request.setLocation("Hall");
+        request.setTotalSeats(totalSeats);
+        return eventService.createEvent(request);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventSeatMapRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SeatMapServiceTest {
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventSeatMapRepository seatMapRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void booking_GetsBestAdjacentSeatsAndPersistsBitmap() {
+        Event event = createSeatedEvent("Best seats", "Floor:2x10");
+
+        Booking booking = bookingService.createBooking(event, "seat-user-1", 2);
+
+        assertEquals(List.of("Floor-1-5", "Floor-1-6"), booking.getSeatLabels());
+        assertEquals(List.of("Floor-1-5", "Floor-1-6"),
+                bookingRepository.findById(booking.getBookingId()).orElseThrow().getSeatLabels());
+        assertEquals(18, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+        assertTrue(persisted(event).isSold(4));
+        assertTrue(persisted(event).isSold(5));
+
+        bookingService.cancelBooking(booking.getBookingId());
+        assertEquals(20, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+        assertEquals(20, persisted(event).availableSeats());
+    }
+
+    @Test
+    void namedSeats_CannotBeSoldTwice() {
+        Event event = createSeatedEvent("Named seats", "Floor:2x10");
+        bookingService.createBooking(event, "seat-user-2", 2, List.of("Floor-2-1", "Floor-2-2"));
+
+        assertThrows(IllegalStateException.class, () ->
+                bookingService.createBooking(event, "seat-user-3", 1, List.of("Floor-2-2")));
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.createBooking(event, "seat-user-3", 1, List.of("Floor-9-1")));
+
+        assertEquals(18, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+        assertEquals(18, eventService.getEventDetail(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void rolledBackBooking_ReleasesItsSeats() {
+        Event event = createSeatedEvent("Rollback", "Floor:1x10");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.createBooking(event, "seat-user-4", 4);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(10, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+        assertEquals(10, persisted(event).availableSeats());
+        assertEquals(List.of("Floor-1-4", "Floor-1-5", "Floor-1-6", "Floor-1-7"),
+                bookingService.createBooking(event, "seat-user-4", 4).getSeatLabels());
+    }
+
+    @Test
+    void batch_RejectsTakenSeatsPerItem() {
+        Event event = createSeatedEvent("Batch seats", "Floor:1x10");
+        bookingService.createBooking(event, "seat-user-5", 1, List.of("Floor-1-1"));
+
+        List<BatchBookingResult> results = bookingService.createBookings(List.of(
+                request(event, "seat-user-6", 1, List.of("Floor-1-1")),
+                request(event, "seat-user-7", 2, null)));
+
+        assertEquals(BatchBookingResult.Status.REJECTED, results.get(0).getStatus());
+        assertEquals(BatchBookingResult.Status.CREATED, results.get(1).getStatus());
+        assertEquals(7, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+        assertEquals(7, eventService.getEventDetail(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void seatMap_MustMatchCapacityAndFixesIt() {
+        Event event = createEvent("Capacity", 20);
+
+        assertThrows(IllegalArgumentException.class, () -> seatMapService.createSeatMap(event.getId(), "Floor:1x10"));
+        seatMapService.createSeatMap(event.getId(), "Floor:2x10");
+        assertThrows(IllegalStateException.class, () -> seatMapService.createSeatMap(event.getId(), "Floor:2x10"));
+
+        EventRequest resize = eventRequest("Capacity", 30);
+        assertThrows(IllegalStateException.class, () -> eventService.updateEvent(event.getId(), resize));
+    }
+
+    @Test
+    void seatsSoldByAnotherInstance_AreNotOverwritten() {
+        Event event = createSeatedEvent("Handover", "Floor:1x10");
+        // Another instance, still selling from its own copy, sells Floor-1-1
+        SeatMap theirs = persisted(event);
+        theirs.holdAll(new int[]{0});
+        transactionTemplate.executeWithoutResult(status -> assertEquals(1,
+                seatMapRepository.updateSold(event.getId(), theirs.toBytes(), 0)));
+
+        assertThrows(OptimisticLockingFailureException.class, () ->
+                bookingService.createBooking(event, "seat-user-10", 1, List.of("Floor-1-1")));
+        assertTrue(persisted(event).isSold(0));
+
+        // The next booking sees their sale
+        assertThrows(IllegalStateException.class, () ->
+                bookingService.createBooking(event, "seat-user-10", 1, List.of("Floor-1-1")));
+        bookingService.createBooking(event, "seat-user-10", 1, List.of("Floor-1-2"));
+        assertEquals(8, persisted(event).availableSeats());
+        assertEquals(8, seatMapService.getSeatMap(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void generalAdmission_RejectsNamedSeats() {
+        Event event = createEvent("Standing", 10);
+
+        assertNull(bookingService.createBooking(event, "seat-user-8", 2).getSeatLabels());
+        assertThrows(IllegalArgumentException.class, () ->
+                bookingService.createBooking(event, "seat-user-9", 1, List.of("Floor-1-1")));
+    }
+
+    private SeatMap persisted(Event event) {
+        return seatMapRepository.findById(event.getId())
+                .map(row -> SeatMap.of(row.getLayout(), row.getSold()))
+                .orElseThrow();
+    }
+
+    private Event createSeatedEvent(String name, String layout) {
+        Event event = createEvent(name, SeatMap.parse(layout).capacity());
+        seatMapService.createSeatMap(event.getId(), layout);
+        return event;
+    }
+
+    private Event createEvent(String name, int totalSeats) {
+        return eventService.createEvent(eventRequest(name, totalSeats));
+    }
+
+    private static EventRequest eventRequest(String name, int totalSeats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(7));
+        request.setLocation("Arena");
+        request.setTotalSeats(totalSeats);
+        return request;
+    }
+
+    private static BookingRequest request(Event event, String userId, int seats, List<String> seatLabels) {
+        BookingRequest request = new BookingRequest();
+        request.setEventId(event.getId());
+        request.setUserId(userId);
+        request.setSeats(seats);
+        request.setSeatLabels(seatLabels);
+        return request;
+    }
+}
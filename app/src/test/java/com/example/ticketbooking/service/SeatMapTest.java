@@ -0,0 +1,100 @@
+package com.example.ticketbooking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    @Test
+    void parse_NumbersSeatsSectionByRow() {
+        SeatMap seatMap = SeatMap.parse("Floor:2x10;Balcony:3x5");
+
+        assertEquals(35, seatMap.capacity());
+        assertEquals(35, seatMap.availableSeats());
+        assertEquals("Floor-1-1", seatMap.label(0));
+        assertEquals("Floor-2-10", seatMap.label(19));
+        assertEquals("Balcony-1-1", seatMap.label(20));
+        assertEquals(34, seatMap.seatNumber("Balcony-3-5"));
+        assertEquals("Floor:2x10;Balcony:3x5", seatMap.layout());
+    }
+
+    @Test
+    void parse_RejectsInvalidLayouts() {
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.parse("Floor:0x10"));
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.parse("Floor:2x10;Floor:1x1"));
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.parse("Floor-A:2x10"));
+        assertThrows(IllegalArgumentException.class, () -> SeatMap.parse("Stadium:1001x1000"));
+    }
+
+    @Test
+    void seatNumber_RejectsUnknownSeats() {
+        SeatMap seatMap = SeatMap.parse("Floor:2x10");
+
+        assertThrows(IllegalArgumentException.class, () -> seatMap.seatNumber("Floor-3-1"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.seatNumber("Floor-1-11"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.seatNumber("Balcony-1-1"));
+        assertThrows(IllegalArgumentException.class, () -> seatMap.seatNumber("Floor-x-1"));
+    }
+
+    @Test
+    void holdAll_IsAllOrNothing() {
+        SeatMap seatMap = SeatMap.parse("Floor:1x10");
+
+        assertTrue(seatMap.holdAll(new int[]{2, 3}));
+        assertFalse(seatMap.holdAll(new int[]{4, 3}));
+        assertFalse(seatMap.isSold(4));
+        assertFalse(seatMap.holdAll(new int[]{5, 5}));
+        assertFalse(seatMap.isSold(5));
+        assertEquals(8, seatMap.availableSeats());
+
+        seatMap.releaseAll(new int[]{2, 3});
+        assertEquals(10, seatMap.availableSeats());
+    }
+
+    @Test
+    void findBest_PrefersFrontRowsThenTheMiddle() {
+        SeatMap seatMap = SeatMap.parse("Floor:2x10");
+
+        assertEquals(List.of("Floor-1-5", "Floor-1-6"), seatMap.labels(seatMap.findBest(2)));
+        assertEquals(List.of("Floor-1-4", "Floor-1-5", "Floor-1-6"), seatMap.labels(seatMap.findBest(3)));
+
+        // Row 1 keeps only seats 2, 9 and 10 free, so a block of three moves back a row
+        seatMap.holdAll(new int[]{0, 2, 3, 4, 5, 6, 7});
+        assertEquals(List.of("Floor-1-9", "Floor-1-10"), seatMap.labels(seatMap.findBest(2)));
+        assertEquals(List.of("Floor-2-4", "Floor-2-5", "Floor-2-6"), seatMap.labels(seatMap.findBest(3)));
+        assertNull(seatMap.findBest(11));
+    }
+
+    @Test
+    void findBest_SearchesAcrossWordBoundaries() {
+        SeatMap seatMap = SeatMap.parse("Stadium:1000x100");
+        int[] firstRows = new int[150];
+        for (int i = 0; i < firstRows.length; i++) {
+            firstRows[i] = i;
+        }
+        seatMap.holdAll(firstRows);
+
+        // Row 2 has seats 51-100 free, spanning the first and second bitmap words
+        assertArrayEquals(new int[]{150, 151, 152, 153}, seatMap.findBest(4));
+        assertEquals(100_000 - 150, seatMap.availableSeats());
+    }
+
+    @Test
+    void toBytes_RoundTrips() {
+        SeatMap seatMap = SeatMap.parse("Floor:10x100");
+        seatMap.holdAll(new int[]{0, 63, 64, 999});
+
+        SeatMap restored = SeatMap.of(seatMap.layout(), seatMap.toBytes());
+
+        assertEquals(128, seatMap.toBytes().length);
+        assertEquals(996, restored.availableSeats());
+        assertTrue(restored.isSold(63));
+        assertTrue(restored.isSold(64));
+        assertTrue(restored.isSold(999));
+        assertFalse(restored.isSold(1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.config.LockProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedLockManagerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StripedLockManager lockManager;
+
+    @BeforeEach
+    void setUp() {
+        LockProperties properties = new LockProperties();
+        properties.setStripes(8);
+        properties.setTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new StripedLockManager(properties, meterRegistry);
+    }
+
+    @Test
+    void callLocked_ReturnsResultAndRecordsMetrics() {
+        assertEquals("done", lockManager.callLocked(1L, () -> "done"));
+
+        String stripe = String.valueOf(lockManager.stripeFor(1L));
+        assertEquals(1, meterRegistry.get("booking.lock.wait").tag("stripe", stripe).timer().count());
+        assertEquals(1, meterRegistry.get("booking.lock.hold").tag("stripe", stripe).timer().count());
+    }
+
+    @Test
+    void otherStripes_AreNotBlocked() throws Exception {
+        long busyEvent = 1L;
+        long otherEvent = 2L;
+        assertNotEquals(lockManager.stripeFor(busyEvent), lockManager.stripeFor(otherEvent));
+
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> lockManager.runLocked(busyEvent, () -> {
+            held.countDown();
+            await(release);
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        assertEquals("free", lockManager.callLocked(otherEvent, () -> "free"));
+        assertThrows(IllegalStateException.class, () -> lockManager.runLocked(busyEvent, () -> { }));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("free again", lockManager.callLocked(busyEvent, () -> "free again"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
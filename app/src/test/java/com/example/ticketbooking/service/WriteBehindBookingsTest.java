@@ -0,0 +1,206 @@
+package com.example.ticketbooking.service;
+
+import com.example.ticketbooking.dto.EventRequest;
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.ChangeType;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.exception.DuplicateBookingException;
+import com.example.ticketbooking.exception.SoldOutException;
+import com.example.ticketbooking.repository.BookingRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+// The scheduled flush is pushed out of the way so each test decides when bookings are written
+@SpringBootTest(properties = {"booking.write-behind.enabled=true", "booking.write-behind.flush-interval=1h",
+        "booking.write-behind.group-commit-interval=20ms"})
+class WriteBehindBookingsTest {
+
+    @Autowired
+    private WriteBehindBookings writeBehind;
+
+    @Autowired
+    private JournaledBookingWriter writer;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private SeatMapService seatMapService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private ChangeOutbox changeOutbox;
+
+    @Test
+    void bookingIsAnsweredFromTheJournalAndWrittenOnFlush() {
+        Event event = createEvent("Journaled", 10);
+        assertTrue(writeBehind.accepts(event, "wb-user-1", null));
+
+        Booking booking = writeBehind.createBooking(event, "wb-user-1", 3);
+
+        assertNotNull(booking.getBookingId());
+        assertEquals(BookingStatus.ACTIVE, booking.getStatus());
+        assertFalse(bookingRepository.existsById(booking.getBookingId()));
+        assertEquals(7, eventService.getAvailableSeats(event));
+        // Both paths see the booking before it reaches the database
+        assertThrows(DuplicateBookingException.class, () -> writeBehind.createBooking(event, "wb-user-1", 1));
+        assertThrows(DuplicateBookingException.class, () -> bookingService.placeHold(event, "wb-user-1", 1, null));
+        assertTrue(bookingService.hasActiveBooking(event, "wb-user-1"));
+
+        writeBehind.flush();
+
+        assertTrue(bookingRepository.existsById(booking.getBookingId()));
+        assertEquals(7, eventService.getEventDetail(event.getId()).getAvailableSeats());
+        assertThrows(DuplicateBookingException.class, () -> writeBehind.createBooking(event, "wb-user-1", 1));
+    }
+
+    @Test
+    void lookupAndCancelWriteTheBookingFirst() {
+        Event event = createEvent("Looked up", 10);
+        Booking booking = writeBehind.createBooking(event, "wb-user-2", 2);
+
+        assertEquals("wb-user-2", bookingService.getBooking(booking.getBookingId()).getUserId());
+
+        Booking second = writeBehind.createBooking(event, "wb-user-3", 2);
+        bookingService.cancelBooking(second.getBookingId());
+        assertEquals(BookingStatus.CANCELED, bookingRepository.findById(second.getBookingId()).orElseThrow().getStatus());
+        assertEquals(8, eventService.getAvailableSeats(event));
+    }
+
+    @Test
+    void concurrentBookingsShareGroupCommits() throws Exception {
+        Event event = createEvent("Group commit", 40);
+        DistributionSummary groupSizes = meterRegistry.get("booking.write-behind.group.size").summary();
+        long groupsBefore = groupSizes.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(25);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String userId = "wb-racer-" + i;
+            attempts.add(executor.submit(() -> {
+                try {
+                    writeBehind.createBooking(event, userId, 1);
+                    return true;
+                } catch (SoldOutException e) {
+                    return false;
+                }
+            }));
+        }
+        int created = 0;
+        for (Future<Boolean> attempt : attempts) {
+            created += attempt.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(40, created);
+        assertTrue(groupSizes.count() - groupsBefore < created, "Every booking was forced to disk on its own");
+        writeBehind.flush();
+        assertEquals(40, bookingRepository.sumSeatsBookedByEvent(event));
+        assertEquals(0, eventService.getEventDetail(event.getId()).getAvailableSeats());
+    }
+
+    @Test
+    void bookingTheDatabaseRejectsIsDroppedWithoutHoldingUpTheRest() {
+        Event event = createEvent("Rejected", 10);
+        Booking clashing = writeBehind.createBooking(event, "wb-user-6", 3);
+        Booking fine = writeBehind.createBooking(event, "wb-user-7", 2);
+        // Booked behind the journal's back, so the unique active-booking index fires on flush
+        jdbcTemplate.update("INSERT INTO booking (booking_id, event_id, user_id, seats_booked, status) VALUES (?, ?, ?, ?, ?)",
+                writer.nextBookingId(), event.getId(), "wb-user-6", 1, "ACTIVE");
+        double rejectedBefore = meterRegistry.get("booking.write-behind.rejected").counter().count();
+
+        writeBehind.flush();
+
+        assertFalse(bookingRepository.existsById(clashing.getBookingId()));
+        assertTrue(bookingRepository.existsById(fine.getBookingId()));
+        assertEquals(8, eventService.getAvailableSeats(event));
+        assertEquals(rejectedBefore + 1, meterRegistry.get("booking.write-behind.rejected").counter().count());
+        // Its caller was told it was booked; consumers hear it is not
+        verify(changeOutbox).bookingChanged(eq(ChangeType.BOOKING_CANCELED),
+                argThat(booking -> clashing.getBookingId().equals(booking.getBookingId())));
+        // Nothing left behind for the next flush to trip over
+        Booking next = writeBehind.createBooking(event, "wb-user-8", 1);
+        writeBehind.flush();
+        assertTrue(bookingRepository.existsById(next.getBookingId()));
+    }
+
+    @Test
+    void bookingTheEventRowHasNoSeatsForIsDropped() {
+        Event event = createEvent("Oversold", 10);
+        Booking booking = writeBehind.createBooking(event, "wb-user-9", 4);
+        // The table is the judge: here it has already given the seats away
+        jdbcTemplate.update("UPDATE event SET available_seats = 2 WHERE id = ?", event.getId());
+
+        writeBehind.flush();
+
+        assertFalse(bookingRepository.existsById(booking.getBookingId()));
+        assertEquals(10, eventService.getAvailableSeats(event));
+        assertFalse(bookingService.hasActiveBooking(event, "wb-user-9"));
+    }
+
+    @Test
+    void eventWithJournaledBookingsIsNotDeleted() {
+        Event event = createEvent("Not yet written", 10);
+        writeBehind.createBooking(event, "wb-user-11", 2);
+
+        assertThrows(IllegalStateException.class, () -> eventService.deleteEvent(event.getId()));
+        assertEquals(2, bookingRepository.sumSeatsBookedByEvent(event));
+    }
+
+    @Test
+    void replaySkipsBookingsAlreadyWritten() {
+        Event event = createEvent("Replayed", 10);
+        BookingJournal.Entry entry = new BookingJournal.Entry(1, writer.nextBookingId(), event.getId(), "wb-user-4", 2,
+                System.currentTimeMillis());
+
+        assertEquals(1, writer.replay(List.of(entry)));
+        assertEquals(0, writer.replay(List.of(entry)));
+        assertEquals(2, bookingRepository.sumSeatsBookedByEvent(event));
+    }
+
+    @Test
+    void reservedSeatingKeepsTheSynchronousPath() {
+        Event event = createEvent("Seated", 10);
+        seatMapService.createSeatMap(event.getId(), "Floor:1x10");
+
+        assertFalse(writeBehind.accepts(event, "wb-user-5", null));
+    }
+
+    private Event createEvent(String name, int totalSeats) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDate(LocalDateTime.now().plusDays(7));
+        request.setLocation("Hall");
+        request.setTotalSeats(totalSeats);
+        return eventService.createEvent(request);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.dto.BatchBookingResult;
+import com.example.ticketbooking.dto.BookingRequest;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-booking insert throughput of POST /api/bookings/batch against one request per booking.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+    private static final int BOOKINGS = 1_000;
+
+    private BookingService bookingService;
+    private EventService eventService;
+    private Long[] eventIds;
+    private long round;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        bookingService = application.bean(BookingService.class);
+        eventService = application.bean(EventService.class);
+        eventIds = application.bean(EventRepository.class).findAll().stream().map(Event::getId).toArray(Long[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public void singleRequests(Blackhole blackhole) {
+        String prefix = "single-" + round++ + "-";
+        for (int i = 0; i < BOOKINGS; i++) {
+            Event event = eventService.getEventWithAvailability(eventIds[i % eventIds.length]);
+            blackhole.consume(bookingService.createBooking(event, prefix + i, 1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BOOKINGS)
+    public List<BatchBookingResult> batchRequest() {
+        String prefix = "batch-" + round++ + "-";
+        List<BookingRequest> requests = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingRequest request = new BookingRequest();
+            request.setEventId(eventIds[i % eventIds.length]);
+            request.setUserId(prefix + i);
+            request.setSeats(1);
+            requests.add(request);
+        }
+        return bookingService.createBookings(requests);
+    }
+}
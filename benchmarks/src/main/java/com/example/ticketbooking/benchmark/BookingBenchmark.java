@@ -0,0 +1,67 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.entity.Booking;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking admission and availability reads, as called by BookingController and EventController.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingBenchmark {
+    private BookingService bookingService;
+    private EventService eventService;
+    private Event[] events;
+
+    @State(Scope.Thread)
+    public static class Users {
+        private long next;
+        private final String prefix = "bench-" + Thread.currentThread().getId() + "-" + System.nanoTime() + "-";
+
+        String nextUserId() {
+            return prefix + next++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        bookingService = application.bean(BookingService.class);
+        eventService = application.bean(EventService.class);
+        List<Event> loaded = application.bean(EventRepository.class).findAll();
+        events = loaded.toArray(Event[]::new);
+    }
+
+    @Benchmark
+    public Booking createBooking(Users users) {
+        Long eventId = events[ThreadLocalRandom.current().nextInt(events.length)].getId();
+        Event event = eventService.getEventWithAvailability(eventId);
+        return bookingService.createBooking(event, users.nextUserId(), 1);
+    }
+
+    @Benchmark
+    public int getAvailableSeats() {
+        return eventService.getAvailableSeats(events[ThreadLocalRandom.current().nextInt(events.length)]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.entity.BookingStatus;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.BookingRepository;
+import com.example.ticketbooking.repository.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The booking lookups behind duplicate checks, seat totals and user listings, at one million
+ * bookings, with the booking indexes in place and with them dropped. Listings read one page
+ * of the default size, as the API does.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingQueryBenchmark {
+    // Default page size plus the extra row that tells whether another page follows
+    private static final Limit PAGE = Limit.of(21);
+
+    @State(Scope.Benchmark)
+    public static class Dataset {
+        @Param("1000000")
+        public int rows;
+
+        @Param({"true", "false"})
+        public boolean indexed;
+
+        SeededApplication application;
+
+        @Setup(Level.Trial)
+        public void start() {
+            application = new SeededApplication();
+            application.events = 1000;
+            application.bookings = rows;
+            application.start();
+            if (!indexed) {
+                JdbcTemplate jdbcTemplate = application.bean(JdbcTemplate.class);
+                for (String index : List.of("uk_booking_active_user", "idx_booking_event_status",
+                        "idx_booking_event_user_status", "idx_booking_user")) {
+                    jdbcTemplate.execute("DROP INDEX " + index);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            application.stop();
+        }
+    }
+
+    private BookingRepository bookingRepository;
+    private Event[] events;
+    private int bookingsPerEvent;
+
+    @Setup(Level.Trial)
+    public void setUp(Dataset dataset) {
+        bookingRepository = dataset.application.bean(BookingRepository.class);
+        events = dataset.application.bean(EventRepository.class).findAll().toArray(Event[]::new);
+        bookingsPerEvent = dataset.rows / events.length;
+    }
+
+    @Benchmark
+    public boolean existsActiveBooking() {
+        Event event = randomEvent();
+        // Seed user ids run sequentially per event, so this picks an existing booking of the event
+        long bookingId = (event.getId() - 1) * bookingsPerEvent
+                + ThreadLocalRandom.current().nextInt(bookingsPerEvent) + 1;
+        return bookingRepository.existsByEventAndUserIdAndStatus(event, "seed-user-" + bookingId, BookingStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public int sumSeatsBookedByEvent() {
+        return bookingRepository.sumSeatsBookedByEvent(randomEvent());
+    }
+
+    @Benchmark
+    public Object findUserPage() {
+        int bookingId = ThreadLocalRandom.current().nextInt(events.length * bookingsPerEvent) + 1;
+        return bookingRepository.findPageByUserId("seed-user-" + bookingId, 0, PAGE);
+    }
+
+    @Benchmark
+    public Object findActiveByEvent() {
+        return bookingRepository.findByEventAndStatus(randomEvent(), BookingStatus.ACTIVE);
+    }
+
+    @Benchmark
+    public Object findActiveByEventPage() {
+        return bookingRepository.findPageByEventIdAndStatus(randomEvent().getId(), BookingStatus.ACTIVE, 0, PAGE);
+    }
+
+    private Event randomEvent() {
+        return events[ThreadLocalRandom.current().nextInt(events.length)];
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.dto.EventPage;
+import com.example.ticketbooking.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The event catalog page behind GET /api/events, for each sort mode, at the start of the
+ * listing and halfway through it.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventListingBenchmark {
+    @Param({"date", "location", "availability"})
+    public String sortBy;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private EventService eventService;
+    private String middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        eventService = application.bean(EventService.class);
+        EventPage page = eventService.getAllEvents(sortBy, null, pageSize);
+        for (int i = 1; i < application.events / pageSize / 2 && page.getNextCursor() != null; i++) {
+            page = eventService.getAllEvents(sortBy, page.getNextCursor(), pageSize);
+        }
+        middleCursor = page.getNextCursor();
+    }
+
+    @Benchmark
+    public EventPage firstPage() {
+        return eventService.getAllEvents(sortBy, null, pageSize);
+    }
+
+    @Benchmark
+    public EventPage middlePage() {
+        return eventService.getAllEvents(sortBy, middleCursor, pageSize);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.dto.EventDetail;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON rendering of an {@link Event} together with its {@code bookings} list, as the event endpoints used to
+ * return it, against the {@link EventDetail} projection they return now.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private Event event;
+    private EventDetail detail;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        objectMapper = application.bean(ObjectMapper.class);
+        EventRepository eventRepository = application.bean(EventRepository.class);
+        event = application.bean(TransactionTemplate.class).execute(status -> {
+            Event loaded = eventRepository.findById(1L).orElseThrow();
+            Hibernate.initialize(loaded.getBookings());
+            return loaded;
+        });
+        detail = eventRepository.findDetailById(1L).orElseThrow();
+    }
+
+    @Benchmark
+    public byte[] serializeEventWithBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] serializeEventDetail() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.ticketbooking.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.example.ticketbooking.entity.Event;
+import com.example.ticketbooking.repository.EventRepository;
+import com.example.ticketbooking.service.BookingService;
+import com.example.ticketbooking.service.EventService;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths that used to log a line per call, under three logging setups writing to a file:
+ * <ul>
+ *     <li>{@code before}: the old behaviour, every per-request line written synchronously as text</li>
+ *     <li>{@code async}: the same lines as JSON through the bounded async appender</li>
+ *     <li>{@code after}: the shipped setup, with per-request lines at DEBUG and the logger at INFO</li>
+ * </ul>
+ * The per-request lines are DEBUG now, so {@code before} enables DEBUG to produce them again.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+    @Param({"before", "async", "after"})
+    public String logging;
+
+    private SeededApplication application;
+    private EventService eventService;
+    private BookingService bookingService;
+    private Event[] events;
+    private Path logFile;
+    private Appender<ILoggingEvent> appender;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        application = new SeededApplication();
+        application.events = 1000;
+        application.bookings = 100_000;
+        application.start();
+        eventService = application.bean(EventService.class);
+        bookingService = application.bean(BookingService.class);
+        events = application.bean(EventRepository.class).findAll().toArray(Event[]::new);
+
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        appender = "before".equals(logging)
+                ? fileAppender(context, textEncoder(context))
+                : asyncAppender(context, fileAppender(context, jsonEncoder(context)));
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        context.getLogger("com.example.ticketbooking").setLevel("after".equals(logging) ? Level.INFO : Level.DEBUG);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws IOException {
+        appender.stop();
+        application.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public int availableSeats() {
+        return eventService.getAvailableSeats(randomEvent());
+    }
+
+    @Benchmark
+    public boolean hasActiveBooking() {
+        return bookingService.hasActiveBooking(randomEvent(), "seed-user-" + ThreadLocalRandom.current().nextInt(100_000));
+    }
+
+    private Event randomEvent() {
+        return events[ThreadLocalRandom.current().nextInt(events.length)];
+    }
+
+    private FileAppender<ILoggingEvent> fileAppender(LoggerContext context, Encoder<ILoggingEvent> encoder) {
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+        return file;
+    }
+
+    private static Appender<ILoggingEvent> asyncAppender(LoggerContext context, Appender<ILoggingEvent> delegate) {
+        // Same settings as logback-spring.xml
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(819);
+        async.setNeverBlock(true);
+        async.addAppender(delegate);
+        async.start();
+        return async;
+    }
+
+    private static Encoder<ILoggingEvent> textEncoder(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private static Encoder<ILoggingEvent> jsonEncoder(LoggerContext context) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setIncludeContext(false);
+        encoder.start();
+        return encoder;
+    }
+}
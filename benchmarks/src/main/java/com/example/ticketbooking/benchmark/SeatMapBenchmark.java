@@ -0,0 +1,69 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.service.SeatMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat operations on a 100,000-seat stadium map with {@code soldPercent} of its seats
+ * sold at random: a one-seat hold and release, the best-adjacent-seats search, and the
+ * bitmap snapshot written to the database per booking transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SeatMapBenchmark {
+    @Param({"50", "95"})
+    public int soldPercent;
+
+    @Param({"4"})
+    public int groupSize;
+
+    private SeatMap seatMap;
+    private int[] freeSeat;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        seatMap = SeatMap.parse("Lower:200x250;Upper:200x250");
+        SplittableRandom random = new SplittableRandom(42);
+        for (int seat = 0; seat < seatMap.capacity(); seat++) {
+            if (random.nextInt(100) < soldPercent) {
+                seatMap.holdAll(new int[]{seat});
+            }
+        }
+        freeSeat = seatMap.findBest(1);
+    }
+
+    @Benchmark
+    public boolean holdAndRelease() {
+        boolean held = seatMap.holdAll(freeSeat);
+        seatMap.releaseAll(freeSeat);
+        return held;
+    }
+
+    @Benchmark
+    public int[] findBest() {
+        return seatMap.findBest(groupSize);
+    }
+
+    @Benchmark
+    public byte[] snapshot() {
+        return seatMap.toBytes();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.ticketbooking.benchmark;
+
+import com.example.ticketbooking.TicketBookingApplication;
+import com.example.ticketbooking.service.SeatInventory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application without a web server against a fresh in-memory H2 database seeded with
+ * {@code events} events and {@code bookings} active one-seat bookings spread evenly across them.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+    private static final String[] LOCATIONS = {"Berlin", "Lisbon", "Madrid", "Oslo", "Paris", "Rome", "Vienna"};
+    private static final int BATCH_SIZE = 5_000;
+    static final int CAPACITY = 100_000_000;
+
+    @Param("1000")
+    public int events;
+
+    @Param("100000")
+    public int bookings;
+
+    ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TicketBookingApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        context.getBean(SeatInventory.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int perEvent = bookings / events;
+        LocalDateTime base = LocalDateTime.now().plusDays(30);
+
+        List<Object[]> eventRows = new ArrayList<>(events);
+        for (int i = 1; i <= events; i++) {
+            eventRows.add(new Object[]{i, "Event " + i, Timestamp.valueOf(base.plusHours(i % 5_000)),
+                    LOCATIONS[i % LOCATIONS.length], CAPACITY, perEvent, CAPACITY - perEvent});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO event (id, name, date, location, total_seats, booked_seats, available_seats) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", eventRows);
+        jdbcTemplate.execute("ALTER TABLE event ALTER COLUMN id RESTART WITH " + (events + 1));
+
+        List<Object[]> bookingRows = new ArrayList<>(BATCH_SIZE);
+        long bookingId = 1;
+        for (int event = 1; event <= events; event++) {
+            for (int i = 0; i < perEvent; i++) {
+                bookingRows.add(new Object[]{bookingId, event, "seed-user-" + bookingId, 1, "ACTIVE"});
+                bookingId++;
+                if (bookingRows.size() == BATCH_SIZE) {
+                    insertBookings(jdbcTemplate, bookingRows);
+                }
+            }
+        }
+        insertBookings(jdbcTemplate, bookingRows);
+        // Hibernate's pooled optimizer treats a sequence value as the top of a 50-id block
+        jdbcTemplate.execute("ALTER SEQUENCE booking_seq RESTART WITH " + (bookingId + 100));
+    }
+
+    private static void insertBookings(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO booking (booking_id, event_id, user_id, seats_booked, status) " +
+                "VALUES (?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
@@ -1,24 +0,0 @@
-package com.example.ticketbooking.entity;
-
-import jakarta.persistence.*;
-import lombok.Data;
-import com.fasterxml.jackson.annotation.JsonBackReference;
-
-@Entity
-@Data
-public class Booking {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long bookingId;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "event_id")
-    @JsonBackReference
-    private Event event;
-
-    private String userId;
-    private int seatsBooked;
-
-    @Enumerated(EnumType.STRING)
-    private BookingStatus status = BookingStatus.ACTIVE;
-}
\ No newline at end of file
@@ -1,6 +0,0 @@
-package com.example.ticketbooking.entity;
-
-public enum BookingStatus {
-        ACTIVE, CANCELED
-
-}